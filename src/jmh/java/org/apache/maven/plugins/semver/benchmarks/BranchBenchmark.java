@@ -0,0 +1,69 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugins.semver.providers.BranchConversionClient;
+import org.apache.maven.plugins.semver.providers.BranchProvider;
+import org.apache.maven.plugins.semver.providers.BranchProviderImpl;
+import org.apache.maven.plugins.semver.providers.RepositoryProvider;
+import org.apache.maven.plugins.semver.providers.RepositoryProviderImpl;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ *
+ * <h1>BranchBenchmark</h1>
+ *
+ * <p>Branch-version determination of {@link BranchProviderImpl} for the branch formats that do not
+ * need the conversion-service. The current branch is read from a {@link SyntheticRepository}.
+ *
+ * @author sido
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BranchBenchmark {
+
+  @Param({"6.4.0", "v6_4_0_hotfix"})
+  public String branch;
+
+  private SyntheticRepository repository;
+  private RepositoryProvider repositoryProvider;
+  private BranchProvider branchProvider;
+
+  @Setup
+  public void setUp() throws IOException, GitAPIException {
+    repository = SyntheticRepository.create(0, branch);
+    repositoryProvider = new RepositoryProviderImpl();
+    repositoryProvider.initialize(
+        repository.getLocalDir(), repository.getRemoteUrl(), "benchmark", "benchmark");
+    BranchConversionClient conversionClient = new BranchConversionClient();
+    branchProvider = new BranchProviderImpl(() -> repositoryProvider, () -> conversionClient);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    repositoryProvider.closeRepository();
+    repository.close();
+  }
+
+  @Benchmark
+  public String branchVersionFromGitBranch() {
+    return branchProvider.determineBranchVersionFromGitBranch(null, null, null);
+  }
+}
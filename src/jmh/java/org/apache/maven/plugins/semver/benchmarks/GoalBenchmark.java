@@ -0,0 +1,193 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.maven.plugins.semver.factories.FileWriterFactory;
+import org.eclipse.jgit.api.errors.GitAPIException;
+
+/**
+ *
+ *
+ * <h1>GoalBenchmark</h1>
+ *
+ * <p>End-to-end benchmark of the goals <i>patch</i>, <i>minor</i>, <i>major</i>,
+ * <i>rollback</i> and <i>cleanup-git-tags</i> on a {@link SyntheticRepository} with a
+ * <i>file://</i> remote. Everything runs offline.
+ *
+ * <p>Every iteration creates a fresh repository and runs the goals one after the other in it, each
+ * in a JVM of its own through {@link GoalRunner}. Before <i>rollback</i> the pom backup of a failed
+ * release is put in place; <i>cleanup-git-tags</i> deletes the oldest synthetic tag. Per goal the
+ * process time is recorded, and per phase the wall time, the allocation and the GIT-operations.
+ *
+ * <p>The goal JVM runs with <i>-verbose:class</i>: per goal the JVM uptime, the number of loaded
+ * classes and how many of them are JGit- and HttpClient-classes show what the startup costs.
+ *
+ * <p>Configured with system properties:
+ *
+ * <ul>
+ *   <li>goal.benchmark.commits, goal.benchmark.tags, goal.benchmark.modules and
+ *       goal.benchmark.files: the {@link RepositoryShape}
+ *   <li>goal.benchmark.iterations: number of fresh repositories (default 3)
+ *   <li>goal.benchmark.result: JSON result file (default target/goal-benchmark.json)
+ *   <li>goal.benchmark.atomicPush and goal.benchmark.statusCheckPaths: plugin configuration
+ *   <li>goal.benchmark.push and goal.benchmark.runMode: <i>false</i> and <i>RELEASE</i> run the
+ *       goals without the SCM-repository
+ * </ul>
+ *
+ * @author sido
+ */
+public final class GoalBenchmark {
+
+  private static final List<String> GOALS =
+      Arrays.asList("patch", "minor", "major", "rollback", "cleanup-git-tags");
+  private static final List<String> FORWARDED_PROPERTIES =
+      Arrays.asList(
+          "goal.benchmark.atomicPush",
+          "goal.benchmark.statusCheckPaths",
+          "goal.benchmark.push",
+          "goal.benchmark.runMode");
+
+  private GoalBenchmark() {}
+
+  public static void main(String[] args)
+      throws IOException, GitAPIException, InterruptedException {
+    RepositoryShape shape = RepositoryShape.fromSystemProperties();
+    int iterations = Integer.getInteger("goal.benchmark.iterations", 3);
+    File resultFile =
+        new File(System.getProperty("goal.benchmark.result", "target/goal-benchmark.json"));
+    File logDir = resultFile.getAbsoluteFile().getParentFile();
+    Files.createDirectories(logDir.toPath());
+
+    System.out.println("Goal benchmark                     : [ " + shape + " ]");
+    List<String> results = new ArrayList<>();
+    for (int iteration = 1; iteration <= iterations; iteration++) {
+      long setupStart = System.nanoTime();
+      try (SyntheticRepository repository = SyntheticRepository.create(shape, "master")) {
+        System.out.println(
+            "Repository created                 : [ iteration "
+                + iteration
+                + " ] [ "
+                + millis(System.nanoTime() - setupStart)
+                + " ms ]");
+        for (String goal : GOALS) {
+          results.add(runGoal(repository, shape, goal, iteration, logDir));
+        }
+      }
+    }
+
+    String json =
+        "{\"shape\":"
+            + shape.toJson()
+            + ",\"iterations\":"
+            + iterations
+            + ",\"results\":[\n"
+            + String.join(",\n", results)
+            + "\n]}\n";
+    Files.write(resultFile.toPath(), json.getBytes(UTF_8));
+    System.out.println("Goal benchmark results             : " + resultFile.getAbsolutePath());
+  }
+
+  private static String runGoal(
+      SyntheticRepository repository,
+      RepositoryShape shape,
+      String goal,
+      int iteration,
+      File logDir)
+      throws IOException, InterruptedException {
+    File localDir = repository.getLocalDir();
+    if ("rollback".equals(goal)) {
+      Files.copy(
+          new File(localDir, "pom.xml").toPath(),
+          new File(localDir, FileWriterFactory.SEMVER_BACKUP).toPath(),
+          REPLACE_EXISTING);
+    }
+    File goalResult = File.createTempFile("goal-benchmark", ".json");
+    File log = new File(logDir, "goal-benchmark-" + goal + "-" + iteration + ".log");
+
+    List<String> command = new ArrayList<>();
+    command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+    command.add("-verbose:class");
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    for (String property : FORWARDED_PROPERTIES) {
+      if (System.getProperty(property) != null) {
+        command.add("-D" + property + "=" + System.getProperty(property));
+      }
+    }
+    command.add(GoalRunner.class.getName());
+    command.add(goal);
+    command.add(goalResult.getAbsolutePath());
+    if ("cleanup-git-tags".equals(goal) && shape.getTags() > 0) {
+      command.add(SyntheticRepository.tagNames(1).get(0));
+    }
+
+    long start = System.nanoTime();
+    Process process =
+        new ProcessBuilder(command)
+            .directory(localDir)
+            .redirectErrorStream(true)
+            .redirectOutput(log)
+            .start();
+    int exitCode = process.waitFor();
+    long processNanos = System.nanoTime() - start;
+
+    String run = "null";
+    if (exitCode == 0 && goalResult.length() > 0) {
+      run = new String(Files.readAllBytes(goalResult.toPath()), UTF_8);
+    }
+    Files.deleteIfExists(goalResult.toPath());
+    List<String> logLines = Files.readAllLines(log.toPath(), UTF_8);
+    int jgitClasses = countLoadedClasses(logLines, "org.eclipse.jgit.");
+    int httpClasses = countLoadedClasses(logLines, "org.apache.http.");
+    System.out.println(
+        String.format(
+            "%-34s : [ iteration %d ] [ exit %d ] [ %d ms ] [ jgit %d ] [ http %d classes ]",
+            "Goal " + goal,
+            iteration,
+            exitCode,
+            millis(processNanos),
+            jgitClasses,
+            httpClasses));
+    return "{\"goal\":\""
+        + goal
+        + "\",\"iteration\":"
+        + iteration
+        + ",\"exitCode\":"
+        + exitCode
+        + ",\"processMillis\":"
+        + millis(processNanos)
+        + ",\"jgitClasses\":"
+        + jgitClasses
+        + ",\"httpClasses\":"
+        + httpClasses
+        + ",\"run\":"
+        + run
+        + "}";
+  }
+
+  /**
+   * Count the classes of a package in the <i>-verbose:class</i> output: <i>[Loaded name from
+   * ...]</i> on Java 8, <i>[...][class,load] name source: ...</i> on later versions.
+   */
+  private static int countLoadedClasses(List<String> logLines, String packagePrefix) {
+    int count = 0;
+    for (String line : logLines) {
+      if (line.startsWith("[Loaded " + packagePrefix)
+          || line.contains("[class,load] " + packagePrefix)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static long millis(long nanos) {
+    return nanos / 1_000_000;
+  }
+}
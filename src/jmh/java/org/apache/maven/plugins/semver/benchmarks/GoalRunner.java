@@ -0,0 +1,257 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import javax.inject.Provider;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.semver.SemverMavenPlugin;
+import org.apache.maven.plugins.semver.goals.SemverMavenPluginGoalCleanupGitTags;
+import org.apache.maven.plugins.semver.goals.SemverMavenPluginGoalMajor;
+import org.apache.maven.plugins.semver.goals.SemverMavenPluginGoalMinor;
+import org.apache.maven.plugins.semver.goals.SemverMavenPluginGoalPatch;
+import org.apache.maven.plugins.semver.goals.SemverMavenPluginGoalRollback;
+import org.apache.maven.plugins.semver.providers.BranchConversionClient;
+import org.apache.maven.plugins.semver.providers.BranchProvider;
+import org.apache.maven.plugins.semver.providers.BranchProviderImpl;
+import org.apache.maven.plugins.semver.benchmarks.PhaseRecorder.Phase;
+import org.apache.maven.plugins.semver.providers.GitOperationListener.GIT_OPERATION;
+import org.apache.maven.plugins.semver.providers.PomProvider;
+import org.apache.maven.plugins.semver.providers.PomProviderImpl;
+import org.apache.maven.plugins.semver.providers.RepositoryProvider;
+import org.apache.maven.plugins.semver.providers.RepositoryProviderImpl;
+import org.apache.maven.plugins.semver.providers.SnapshotDependencyGate;
+import org.apache.maven.plugins.semver.providers.VersionProvider;
+import org.apache.maven.plugins.semver.providers.VersionProviderImpl;
+import org.apache.maven.plugins.semver.runmodes.RunMode;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+/**
+ *
+ *
+ * <h1>GoalRunner</h1>
+ *
+ * <p>Runs one goal of the plugin in the current directory, the way Maven would run it for the
+ * reactor found there, and writes the phases recorded by a {@link PhaseRecorder} as JSON.
+ *
+ * <p>Started by {@link GoalBenchmark} in a JVM of its own, so every goal starts cold like it does
+ * in a release pipeline. The goal runs in run-mode NATIVE with an in-memory release, so no other
+ * plugin has to be resolved and nothing leaves the machine. With <i>goal.benchmark.push=false</i>
+ * and <i>goal.benchmark.runMode=RELEASE</i> the goal only writes a release.properties and never
+ * touches the SCM-repository.
+ *
+ * <p>The providers are created on first use, the way the container creates its singletons, so the
+ * JVM uptime and the number of loaded classes at the end of the goal show its startup cost.
+ *
+ * <p>Arguments: <i>goal result-file [tag]</i>
+ *
+ * @author sido
+ */
+public final class GoalRunner {
+
+  private GoalRunner() {}
+
+  public static void main(String[] args) throws Exception {
+    String goal = args[0];
+    File resultFile = new File(args[1]);
+    String tag = args.length > 2 ? args[2] : null;
+
+    File baseDir = new File("").getAbsoluteFile();
+    List<MavenProject> projects = new ArrayList<>();
+    readReactor(new File(baseDir, "pom.xml"), projects);
+    MavenProject project = projects.get(0);
+
+    MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+    Properties userProperties = new Properties();
+    userProperties.setProperty("push", System.getProperty("goal.benchmark.push", "true"));
+    userProperties.setProperty("inMemoryRelease", "true");
+    userProperties.setProperty("username", "benchmark");
+    userProperties.setProperty("password", "benchmark");
+    userProperties.setProperty(
+        "atomicPush", String.valueOf(Boolean.getBoolean("goal.benchmark.atomicPush")));
+    userProperties.setProperty(
+        "statusCheckPaths", System.getProperty("goal.benchmark.statusCheckPaths", "pom.xml"));
+    request.setUserProperties(userProperties);
+    MavenSession session =
+        new MavenSession(null, null, request, new DefaultMavenExecutionResult());
+    session.setProjects(projects);
+    session.setCurrentProject(project);
+
+    // the gate results stay next to the synthetic repository and not in the user home
+    Path gateDir = baseDir.toPath().resolveSibling("semver");
+    PhaseRecorder recorder = new PhaseRecorder(lastPhase(goal));
+    // lambdas and not constructor references: those would load the classes right here
+    Provider<RepositoryProvider> repositoryProvider =
+        new SingletonProvider<>(
+            () -> {
+              RepositoryProviderImpl provider = new RepositoryProviderImpl();
+              provider.setGitOperationListener(recorder);
+              return recorder.record(RepositoryProvider.class, provider);
+            });
+    Provider<VersionProvider> versionProvider =
+        new SingletonProvider<>(
+            () -> recorder.record(VersionProvider.class, new VersionProviderImpl()));
+    Provider<BranchConversionClient> conversionClient =
+        new SingletonProvider<>(() -> new BranchConversionClient());
+    Provider<BranchProvider> branchProvider =
+        new SingletonProvider<>(
+            () ->
+                recorder.record(
+                    BranchProvider.class,
+                    new BranchProviderImpl(repositoryProvider, conversionClient)));
+    Provider<PomProvider> pomProvider =
+        new SingletonProvider<>(
+            () ->
+                recorder.record(
+                    PomProvider.class,
+                    new PomProviderImpl(
+                        () -> project,
+                        () -> session,
+                        repositoryProvider,
+                        new SnapshotDependencyGate(gateDir))));
+
+    SemverMavenPlugin mojo =
+        createGoal(goal, versionProvider, pomProvider, repositoryProvider, branchProvider);
+    mojo.setRunMode(
+        RunMode.RUN_MODE.valueOf(System.getProperty("goal.benchmark.runMode", "NATIVE")));
+    inject(mojo, "mavenProject", project);
+    inject(mojo, "session", session);
+    inject(mojo, "preparedReleaseTag", tag);
+
+    long start = System.nanoTime();
+    try {
+      mojo.execute();
+    } catch (MojoFailureException err) {
+      System.err.println("Goal failed: " + err.getMessage());
+      System.exit(1);
+    }
+    long wallNanos = System.nanoTime() - start;
+    long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+    int loadedClasses = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+    List<Phase> phases = recorder.finish();
+
+    String json = toJson(goal, wallNanos, uptimeMillis, loadedClasses, phases);
+    Files.write(resultFile.toPath(), json.getBytes(UTF_8));
+  }
+
+  private static void readReactor(File pomFile, List<MavenProject> projects)
+      throws IOException, XmlPullParserException {
+    Model model;
+    try (Reader reader = Files.newBufferedReader(pomFile.toPath(), UTF_8)) {
+      model = new MavenXpp3Reader().read(reader);
+    }
+    MavenProject project = new MavenProject(model);
+    project.setFile(pomFile);
+    projects.add(project);
+    for (String module : model.getModules()) {
+      readReactor(new File(pomFile.getParentFile(), module + "/pom.xml"), projects);
+    }
+  }
+
+  /** Name of the phase in which the goal changes the repository. */
+  private static String lastPhase(String goal) {
+    switch (goal) {
+      case "rollback":
+        return "rollback";
+      case "cleanup-git-tags":
+        return "cleanup";
+      default:
+        return "release";
+    }
+  }
+
+  private static SemverMavenPlugin createGoal(
+      String goal,
+      Provider<VersionProvider> versionProvider,
+      Provider<PomProvider> pomProvider,
+      Provider<RepositoryProvider> repositoryProvider,
+      Provider<BranchProvider> branchProvider) {
+    switch (goal) {
+      case "major":
+        return new SemverMavenPluginGoalMajor(
+            versionProvider, pomProvider, repositoryProvider, branchProvider);
+      case "minor":
+        return new SemverMavenPluginGoalMinor(
+            versionProvider, pomProvider, repositoryProvider, branchProvider);
+      case "patch":
+        return new SemverMavenPluginGoalPatch(
+            versionProvider, pomProvider, repositoryProvider, branchProvider);
+      case "rollback":
+        return new SemverMavenPluginGoalRollback(
+            versionProvider, pomProvider, repositoryProvider, branchProvider);
+      case "cleanup-git-tags":
+        return new SemverMavenPluginGoalCleanupGitTags(
+            versionProvider, pomProvider, repositoryProvider, branchProvider);
+      default:
+        throw new IllegalArgumentException("Unknown goal: " + goal);
+    }
+  }
+
+  /** Set a mojo parameter the way Maven does. */
+  private static void inject(SemverMavenPlugin mojo, String name, Object value)
+      throws ReflectiveOperationException {
+    Field field = SemverMavenPlugin.class.getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(mojo, value);
+  }
+
+  private static String toJson(
+      String goal, long wallNanos, long uptimeMillis, int loadedClasses, List<Phase> phases) {
+    StringBuilder json = new StringBuilder();
+    json.append("{\"goal\":\"").append(goal).append("\",\"wallMillis\":");
+    json.append(wallNanos / 1_000_000.0);
+    json.append(",\"uptimeMillis\":").append(uptimeMillis);
+    json.append(",\"loadedClasses\":").append(loadedClasses).append(",\"phases\":[");
+    for (int i = 0; i < phases.size(); i++) {
+      Phase phase = phases.get(i);
+      json.append(i > 0 ? "," : "");
+      json.append("{\"name\":\"").append(phase.getName()).append("\"");
+      json.append(",\"wallMillis\":").append(phase.getWallNanos() / 1_000_000.0);
+      json.append(",\"allocatedBytes\":").append(phase.getAllocatedBytes());
+      json.append(",\"operations\":{");
+      boolean first = true;
+      for (Map.Entry<GIT_OPERATION, Integer> operation : phase.getOperations().entrySet()) {
+        json.append(first ? "" : ",");
+        json.append('"').append(operation.getKey()).append("\":").append(operation.getValue());
+        first = false;
+      }
+      json.append("}}");
+    }
+    return json.append("]}").toString();
+  }
+
+  /** Creates the instance on the first lookup and keeps it, like a singleton of the container. */
+  private static final class SingletonProvider<T> implements Provider<T> {
+    private final Provider<T> factory;
+    private T instance;
+
+    private SingletonProvider(Provider<T> factory) {
+      this.factory = factory;
+    }
+
+    @Override
+    public synchronized T get() {
+      if (instance == null) {
+        instance = factory.get();
+      }
+      return instance;
+    }
+  }
+}
@@ -0,0 +1,205 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.maven.plugins.semver.providers.BranchProvider;
+import org.apache.maven.plugins.semver.providers.GitOperationListener;
+import org.apache.maven.plugins.semver.providers.PomProvider;
+import org.apache.maven.plugins.semver.providers.VersionProvider;
+
+/**
+ *
+ *
+ * <h1>PhaseRecorder</h1>
+ *
+ * <p>Records the wall time, the allocated bytes and the GIT-operations of each phase of one goal.
+ *
+ * <p>The goal itself knows nothing about phases. The providers the goal gets are wrapped by {@link
+ * #record(Class, Object)}, and the first call of the goal's thread that belongs to a later phase
+ * ends the current phase. The phases are <i>initialize</i>, <i>determine-version</i>,
+ * <i>check-repository</i> and a last phase named after the goal, for example <i>release</i>. A
+ * phase only moves forward, so a version lookup during the repository check stays in that check.
+ *
+ * <p>The allocated bytes are those of the goal's thread; work that is handed to other threads,
+ * like the parallel status walk, is only counted in the wall time.
+ *
+ * @author sido
+ */
+final class PhaseRecorder implements GitOperationListener {
+
+  static final String INITIALIZE = "initialize";
+  static final String DETERMINE_VERSION = "determine-version";
+  static final String CHECK_REPOSITORY = "check-repository";
+
+  private static final int NO_PHASE = -1;
+  private static final Set<String> CHECKS =
+      new HashSet<>(
+          Arrays.asList(
+              "pull",
+              "getLocalTags",
+              "getLocalTagIndex",
+              "iterateLocalTags",
+              "findLocalTags",
+              "getRemoteTags",
+              "isChanged",
+              "isLocalVersionCorrupt",
+              "isRemoteVersionCorrupt",
+              "hasSnapshotDependencies"));
+  private static final Set<String> CHANGES =
+      new HashSet<>(
+          Arrays.asList(
+              "createTag",
+              "deleteTag",
+              "commit",
+              "commitInMemory",
+              "push",
+              "pushTag",
+              "pushRelease",
+              "pushTagMutations"));
+
+  private final List<String> names;
+  private final Thread goalThread = Thread.currentThread();
+  private final List<Phase> phases = new ArrayList<>();
+  private Phase current;
+  private int currentIndex;
+
+  /**
+   * Start recording in the <i>initialize</i> phase on the calling thread.
+   *
+   * @param lastPhase name of the phase that changes the repository
+   */
+  PhaseRecorder(String lastPhase) {
+    names = Arrays.asList(INITIALIZE, DETERMINE_VERSION, CHECK_REPOSITORY, lastPhase);
+    current = new Phase(INITIALIZE, allocatedBytes());
+  }
+
+  /**
+   * Wrap a provider so its calls move the recording to their phase.
+   *
+   * @param type provider interface
+   * @param target provider
+   * @param <T> provider type
+   * @return wrapped provider
+   */
+  <T> T record(Class<T> type, T target) {
+    Object proxy =
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (self, method, args) -> {
+              enter(phaseOf(method));
+              try {
+                return method.invoke(target, args);
+              } catch (InvocationTargetException err) {
+                throw err.getCause();
+              }
+            });
+    return type.cast(proxy);
+  }
+
+  @Override
+  public synchronized void operation(GIT_OPERATION operation) {
+    current.operations.merge(operation, 1, Integer::sum);
+  }
+
+  /**
+   * End the current phase and hand over all recorded phases.
+   *
+   * @return phases in the order they were started
+   */
+  synchronized List<Phase> finish() {
+    current.end(allocatedBytes());
+    phases.add(current);
+    return new ArrayList<>(phases);
+  }
+
+  private synchronized void enter(int index) {
+    if (index > currentIndex && Thread.currentThread() == goalThread) {
+      long bytes = allocatedBytes();
+      current.end(bytes);
+      phases.add(current);
+      current = new Phase(names.get(index), bytes);
+      currentIndex = index;
+    }
+  }
+
+  private static int phaseOf(Method method) {
+    Class<?> type = method.getDeclaringClass();
+    String name = method.getName();
+    if (CHECKS.contains(name)) {
+      return 2;
+    } else if (CHANGES.contains(name) || type == PomProvider.class && name.startsWith("create")) {
+      return 3;
+    } else if (type == VersionProvider.class
+        || type == BranchProvider.class && name.startsWith("determine")) {
+      return 1;
+    }
+    return NO_PHASE;
+  }
+
+  private long allocatedBytes() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (threads instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) threads)
+          .getThreadAllocatedBytes(goalThread.getId());
+    }
+    return -1;
+  }
+
+  /** Wall time, allocation and GIT-operations of one phase. */
+  static final class Phase {
+
+    private final String name;
+    private final long startNanos;
+    private final long startAllocatedBytes;
+    private final Map<GIT_OPERATION, Integer> operations = new EnumMap<>(GIT_OPERATION.class);
+    private long wallNanos;
+    private long allocatedBytes;
+
+    private Phase(String name, long startAllocatedBytes) {
+      this.name = name;
+      this.startNanos = System.nanoTime();
+      this.startAllocatedBytes = startAllocatedBytes;
+    }
+
+    private void end(long endAllocatedBytes) {
+      wallNanos = System.nanoTime() - startNanos;
+      allocatedBytes =
+          startAllocatedBytes < 0 || endAllocatedBytes < 0
+              ? -1
+              : endAllocatedBytes - startAllocatedBytes;
+    }
+
+    String getName() {
+      return name;
+    }
+
+    long getWallNanos() {
+      return wallNanos;
+    }
+
+    /**
+     * Bytes allocated by the goal's thread during the phase.
+     *
+     * @return bytes, or -1 when the JVM does not measure thread allocation
+     */
+    long getAllocatedBytes() {
+      return allocatedBytes;
+    }
+
+    Map<GIT_OPERATION, Integer> getOperations() {
+      return Collections.unmodifiableMap(operations);
+    }
+  }
+}
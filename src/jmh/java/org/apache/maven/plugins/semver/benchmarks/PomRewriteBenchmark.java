@@ -0,0 +1,115 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugins.semver.providers.PomVersionRewriter;
+import org.apache.maven.plugins.semver.providers.ReactorPomIndex;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ *
+ * <h1>PomRewriteBenchmark</h1>
+ *
+ * <p>The version update of all pom.xml's of a {@link SyntheticRepository} with 200 modules, the
+ * work <i>versions-maven-plugin:set</i> used to do for every release.
+ *
+ * <p>{@link #rewriteReactor} reads the pom.xml's from disk, rewrites them one after the other with
+ * the {@link PomVersionRewriter} and writes them back. {@link #updateIndex} does the same update
+ * through a {@link ReactorPomIndex} that is scanned once in the setup. The versions alternate
+ * between the development and the release version, so every invocation changes all files.
+ *
+ * @author sido
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PomRewriteBenchmark {
+
+  private static final String GROUP_ID = "org.apache.maven.plugins.semver.benchmarks";
+
+  @Param({"200"})
+  public int modules;
+
+  private SyntheticRepository repository;
+  private List<Path> pomFiles;
+  private Set<String> reactorKeys;
+  private ReactorPomIndex index;
+  private String developmentVersion;
+  private String releaseVersion;
+  private boolean released;
+
+  @Setup
+  public void setUp() throws IOException, GitAPIException {
+    repository = SyntheticRepository.create(new RepositoryShape(1, 0, modules, 0), "master");
+    File localDir = repository.getLocalDir();
+    pomFiles = new ArrayList<>();
+    reactorKeys = new HashSet<>();
+    pomFiles.add(new File(localDir, "pom.xml").toPath());
+    reactorKeys.add(GROUP_ID + ":root");
+    for (int i = 0; i < modules; i++) {
+      pomFiles.add(new File(localDir, "module-" + i + "/pom.xml").toPath());
+      reactorKeys.add(GROUP_ID + ":module-" + i);
+    }
+    developmentVersion = SyntheticRepository.projectVersion(0);
+    releaseVersion = developmentVersion.replace("-SNAPSHOT", "");
+    index = ReactorPomIndex.scan(ForkJoinPool.commonPool(), pomFiles, reactorKeys);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    repository.close();
+  }
+
+  @Benchmark
+  public int rewriteReactor() throws IOException {
+    String oldVersion = released ? releaseVersion : developmentVersion;
+    String newVersion = released ? developmentVersion : releaseVersion;
+    released = !released;
+    int updated = 0;
+    for (Path pomFile : pomFiles) {
+      String pom = new String(Files.readAllBytes(pomFile), ISO_8859_1);
+      String updatedPom = PomVersionRewriter.rewrite(pom, oldVersion, newVersion, reactorKeys);
+      if (!updatedPom.equals(pom)) {
+        Files.write(pomFile, updatedPom.getBytes(ISO_8859_1));
+        updated++;
+      }
+    }
+    return updated;
+  }
+
+  @Benchmark
+  public int updateIndex() throws IOException {
+    if (!index.isCurrent(pomFiles)) {
+      index = ReactorPomIndex.scan(ForkJoinPool.commonPool(), pomFiles, reactorKeys);
+    }
+    String newVersion = released ? developmentVersion : releaseVersion;
+    released = !released;
+    return index.update(index.getVersion(), newVersion).size();
+  }
+}
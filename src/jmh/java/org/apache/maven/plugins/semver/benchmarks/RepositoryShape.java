@@ -0,0 +1,89 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+/**
+ *
+ *
+ * <h1>RepositoryShape</h1>
+ *
+ * <p>Size of a {@link SyntheticRepository}: commits on <i>master</i>, tags, reactor modules and
+ * committed working-tree files besides the poms.
+ *
+ * @author sido
+ */
+public final class RepositoryShape {
+
+  private final int commits;
+  private final int tags;
+  private final int modules;
+  private final int files;
+
+  /**
+   * Describe a repository.
+   *
+   * @param commits commits on master, at least 1
+   * @param tags tags, spread over the commits
+   * @param modules modules below the root pom, 0 for a single project
+   * @param files working-tree files, spread over the modules
+   */
+  public RepositoryShape(int commits, int tags, int modules, int files) {
+    if (commits < 1 || tags < 0 || modules < 0 || files < 0) {
+      throw new IllegalArgumentException(
+          "Invalid repository shape: " + commits + "/" + tags + "/" + modules + "/" + files);
+    }
+    this.commits = commits;
+    this.tags = tags;
+    this.modules = modules;
+    this.files = files;
+  }
+
+  /**
+   * Read the shape from system properties, for example <i>-Dgoal.benchmark.tags=100000</i>.
+   *
+   * @return {@link RepositoryShape}
+   */
+  public static RepositoryShape fromSystemProperties() {
+    return new RepositoryShape(
+        Integer.getInteger("goal.benchmark.commits", 1000),
+        Integer.getInteger("goal.benchmark.tags", 10000),
+        Integer.getInteger("goal.benchmark.modules", 10),
+        Integer.getInteger("goal.benchmark.files", 2000));
+  }
+
+  public int getCommits() {
+    return commits;
+  }
+
+  public int getTags() {
+    return tags;
+  }
+
+  public int getModules() {
+    return modules;
+  }
+
+  public int getFiles() {
+    return files;
+  }
+
+  /**
+   * The shape as JSON object.
+   *
+   * @return JSON
+   */
+  public String toJson() {
+    return "{\"commits\":"
+        + commits
+        + ",\"tags\":"
+        + tags
+        + ",\"modules\":"
+        + modules
+        + ",\"files\":"
+        + files
+        + "}";
+  }
+
+  @Override
+  public String toString() {
+    return commits + " commits, " + tags + " tags, " + modules + " modules, " + files + " files";
+  }
+}
@@ -0,0 +1,87 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugins.semver.providers.SemanticVersion;
+import org.apache.maven.plugins.semver.providers.VersionProvider;
+import org.apache.maven.plugins.semver.providers.VersionProviderImpl;
+import org.apache.maven.plugins.semver.runmodes.RunMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ *
+ * <h1>SemanticVersionBenchmark</h1>
+ *
+ * <p>Parsing, comparing and formatting of {@link SemanticVersion}, next to the string handling it
+ * replaced.
+ *
+ * @author sido
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SemanticVersionBenchmark {
+
+  private VersionProvider versionProvider;
+  private SemanticVersion version;
+  private SemanticVersion otherVersion;
+  private String pomVersion;
+
+  @Setup
+  public void setUp() {
+    versionProvider = new VersionProviderImpl();
+    pomVersion = "12.34.56-SNAPSHOT";
+    version = SemanticVersion.parse(pomVersion).nextMinor();
+    otherVersion = SemanticVersion.parse("12.34.56-rc.2");
+  }
+
+  @Benchmark
+  public SemanticVersion parse() {
+    return SemanticVersion.parse(pomVersion);
+  }
+
+  @Benchmark
+  public int compare() {
+    return version.compareTo(otherVersion);
+  }
+
+  @Benchmark
+  public String nextDevelopmentVersion() {
+    return SemanticVersion.parse(pomVersion).nextPatch().withPreRelease("SNAPSHOT").toString();
+  }
+
+  /** The string pipeline that was used before {@link SemanticVersion}. */
+  @Benchmark
+  public String nextDevelopmentVersionFromStrings() {
+    String[] rawVersion = pomVersion.split("\\.");
+    int major = Integer.parseInt(rawVersion[0]);
+    int minor = Integer.parseInt(rawVersion[1]);
+    int patch = Integer.parseInt(rawVersion[2].substring(0, rawVersion[2].lastIndexOf('-')));
+    return major + "." + minor + "." + (patch + 1) + "-SNAPSHOT";
+  }
+
+  @Benchmark
+  public String rpmTag() {
+    return versionProvider.determineReleaseTag(RunMode.RUN_MODE.RELEASE_BRANCH_RPM, version);
+  }
+
+  /** The RPM-tag formatting that was used before {@link SemanticVersion}. */
+  @Benchmark
+  public String rpmTagFromStrings() {
+    return String.format("%03d", version.getMajor())
+        + String.format("%03d", version.getMinor())
+        + String.format("%03d", version.getPatch());
+  }
+}
@@ -0,0 +1,252 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.jgit.lib.Constants.PACKED_REFS;
+import static org.eclipse.jgit.lib.Constants.R_HEADS;
+import static org.eclipse.jgit.lib.Constants.R_TAGS;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.revwalk.RevCommit;
+
+/**
+ *
+ *
+ * <h1>SyntheticRepository</h1>
+ *
+ * <p>A local clone and its bare remote of a given {@link RepositoryShape}, for the benchmarks.
+ *
+ * <p>The working tree is a reactor with a root pom, the modules and the files. The history is one
+ * real commit with the whole tree, followed by commits that reuse the same tree. Tag <i>i</i> is
+ * version <i>(i / 10000).(i / 100 % 100).(i % 100)</i>, so 100k tags run from <i>0.0.0</i> to
+ * <i>9.99.99</i>; the project version is the next major above the tags. The tags are spread over
+ * the commits and are written straight into a sorted packed-refs file of both repositories, as git
+ * gc would leave them.
+ *
+ * @author sido
+ */
+public final class SyntheticRepository implements AutoCloseable {
+
+  private static final String PACKED_REFS_HEADER =
+      "# pack-refs with: peeled fully-peeled sorted \n";
+  private static final String GROUP_ID = "org.apache.maven.plugins.semver.benchmarks";
+  private static final String MASTER = "master";
+
+  private final Path root;
+  private final File localDir;
+  private final File remoteDir;
+
+  private SyntheticRepository(Path root) {
+    this.root = root;
+    this.localDir = root.resolve("local").toFile();
+    this.remoteDir = root.resolve("remote.git").toFile();
+  }
+
+  /**
+   * Create a single project with one commit in a temporary directory.
+   *
+   * @param tagCount number of tags in the local and the remote repository
+   * @param branch branch that is checked out in the local repository
+   * @return {@link SyntheticRepository}
+   * @throws IOException when the repositories can not be written
+   * @throws GitAPIException when the initial commit can not be pushed
+   */
+  public static SyntheticRepository create(int tagCount, String branch)
+      throws IOException, GitAPIException {
+    return create(new RepositoryShape(1, tagCount, 0, 0), branch);
+  }
+
+  /**
+   * Create the repositories in a temporary directory.
+   *
+   * @param shape size of the repositories
+   * @param branch branch that is checked out in the local repository
+   * @return {@link SyntheticRepository}
+   * @throws IOException when the repositories can not be written
+   * @throws GitAPIException when the history can not be pushed
+   */
+  public static SyntheticRepository create(RepositoryShape shape, String branch)
+      throws IOException, GitAPIException {
+    SyntheticRepository repository =
+        new SyntheticRepository(Files.createTempDirectory("semver-benchmark"));
+    try (Git remote = Git.init().setBare(true).setDirectory(repository.remoteDir).call();
+        Git local =
+            Git.cloneRepository()
+                .setURI(repository.getRemoteUrl())
+                .setDirectory(repository.localDir)
+                .call()) {
+      repository.writeWorkingTree(shape);
+      local.add().addFilepattern(".").call();
+      RevCommit initial = local.commit().setMessage("initial").call();
+      List<ObjectId> commits = appendHistory(local.getRepository(), initial, shape.getCommits());
+
+      StoredConfig config = local.getRepository().getConfig();
+      config.setString("branch", MASTER, "remote", "origin");
+      config.setString("branch", MASTER, "merge", R_HEADS + MASTER);
+      config.save();
+      local.push().call();
+      if (!MASTER.equals(branch)) {
+        local.checkout().setCreateBranch(true).setName(branch).call();
+      }
+
+      TreeMap<String, ObjectId> tags = new TreeMap<>();
+      List<String> tagNames = tagNames(shape.getTags());
+      for (int i = 0; i < tagNames.size(); i++) {
+        tags.put(R_TAGS + tagNames.get(i), commits.get(i % commits.size()));
+      }
+      writePackedRefs(local.getRepository().getDirectory(), tags);
+      writePackedRefs(remote.getRepository().getDirectory(), tags);
+    }
+    return repository;
+  }
+
+  /**
+   * Names of the synthetic tags.
+   *
+   * @param tagCount number of tags
+   * @return tag names in creation order
+   */
+  public static List<String> tagNames(int tagCount) {
+    List<String> tags = new ArrayList<>(tagCount);
+    for (int i = 0; i < tagCount; i++) {
+      tags.add((i / 10000) + "." + (i / 100 % 100) + "." + (i % 100));
+    }
+    return tags;
+  }
+
+  /**
+   * Project version of a repository: the next major above the synthetic tags.
+   *
+   * @param tagCount number of tags
+   * @return development version
+   */
+  public static String projectVersion(int tagCount) {
+    return (tagCount / 10000 + 1) + ".0.0-SNAPSHOT";
+  }
+
+  private void writeWorkingTree(RepositoryShape shape) throws IOException {
+    String version = projectVersion(shape.getTags());
+    StringBuilder modules = new StringBuilder();
+    for (int i = 0; i < shape.getModules(); i++) {
+      modules.append("    <module>module-").append(i).append("</module>\n");
+    }
+    write(
+        new File(localDir, "pom.xml"),
+        "<project>\n"
+            + "  <modelVersion>4.0.0</modelVersion>\n"
+            + ("  <groupId>" + GROUP_ID + "</groupId>\n")
+            + "  <artifactId>root</artifactId>\n"
+            + ("  <version>" + version + "</version>\n")
+            + ("  <packaging>" + (shape.getModules() > 0 ? "pom" : "jar") + "</packaging>\n")
+            + ("  <modules>\n" + modules + "  </modules>\n")
+            + "  <scm>\n"
+            + ("    <connection>scm:git:" + getRemoteUrl() + "</connection>\n")
+            + "  </scm>\n"
+            + "</project>\n");
+    for (int i = 0; i < shape.getModules(); i++) {
+      write(
+          new File(localDir, "module-" + i + "/pom.xml"),
+          "<project>\n"
+              + "  <modelVersion>4.0.0</modelVersion>\n"
+              + "  <parent>\n"
+              + ("    <groupId>" + GROUP_ID + "</groupId>\n")
+              + "    <artifactId>root</artifactId>\n"
+              + ("    <version>" + version + "</version>\n")
+              + "  </parent>\n"
+              + ("  <artifactId>module-" + i + "</artifactId>\n")
+              + "</project>\n");
+    }
+    for (int i = 0; i < shape.getFiles(); i++) {
+      String module = shape.getModules() > 0 ? "module-" + (i % shape.getModules()) + "/" : "";
+      write(
+          new File(localDir, module + "src/main/resources/file-" + i + ".txt"),
+          "synthetic file " + i + "\n");
+    }
+  }
+
+  private static void write(File file, String content) throws IOException {
+    Files.createDirectories(file.getParentFile().toPath());
+    Files.write(file.toPath(), content.getBytes(UTF_8));
+  }
+
+  /**
+   * Add commits with the tree of the initial commit on top of it and move the branch.
+   *
+   * @return ids of all commits, oldest first
+   */
+  private static List<ObjectId> appendHistory(Repository repo, RevCommit initial, int commits)
+      throws IOException {
+    List<ObjectId> ids = new ArrayList<>(commits);
+    ids.add(initial);
+    PersonIdent person = new PersonIdent("benchmark", "benchmark@localhost");
+    try (ObjectInserter inserter = repo.newObjectInserter()) {
+      ObjectId parent = initial;
+      for (int i = 1; i < commits; i++) {
+        CommitBuilder commit = new CommitBuilder();
+        commit.setTreeId(initial.getTree());
+        commit.setParentId(parent);
+        commit.setAuthor(person);
+        commit.setCommitter(person);
+        commit.setMessage("commit " + i);
+        parent = inserter.insert(commit);
+        ids.add(parent);
+      }
+      inserter.flush();
+      RefUpdate refUpdate = repo.updateRef(R_HEADS + MASTER);
+      refUpdate.setNewObjectId(parent);
+      refUpdate.setForceUpdate(true);
+      refUpdate.update();
+    }
+    return ids;
+  }
+
+  /** Add the refs to the packed-refs file, keeping the refs that are already packed. */
+  private static void writePackedRefs(File gitDir, TreeMap<String, ObjectId> newRefs)
+      throws IOException {
+    TreeMap<String, String> refs = new TreeMap<>();
+    Path packedRefs = new File(gitDir, PACKED_REFS).toPath();
+    if (Files.exists(packedRefs)) {
+      for (String line : Files.readAllLines(packedRefs, UTF_8)) {
+        if (!line.startsWith("#") && !line.startsWith("^") && line.length() > 41) {
+          refs.put(line.substring(41), line.substring(0, 40));
+        }
+      }
+    }
+    newRefs.forEach((name, id) -> refs.put(name, id.name()));
+    StringBuilder content = new StringBuilder(PACKED_REFS_HEADER);
+    refs.forEach((name, id) -> content.append(id).append(' ').append(name).append('\n'));
+    Files.write(packedRefs, content.toString().getBytes(UTF_8));
+  }
+
+  public File getLocalDir() {
+    return localDir;
+  }
+
+  public String getRemoteUrl() {
+    return remoteDir.toURI().toString();
+  }
+
+  /** Delete the repositories. */
+  @Override
+  public void close() throws IOException {
+    try (Stream<Path> paths = Files.walk(root)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugins.semver.exceptions.SemverException;
+import org.apache.maven.plugins.semver.providers.RepositoryProvider;
+import org.apache.maven.plugins.semver.providers.RepositoryProviderImpl;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ *
+ * <h1>TagScanBenchmark</h1>
+ *
+ * <p>The corrupt-version checks of {@link RepositoryProviderImpl} over a {@link
+ * SyntheticRepository} with 1k, 10k and 100k tags.
+ *
+ * <p>The local check looks for a version that is not tagged, so nothing is deleted or pushed. The
+ * remote advertisement is read once by the provider and cached, the remote check measures the
+ * lookup in that cache.
+ *
+ * @author sido
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagScanBenchmark {
+
+  private static final String UNTAGGED_VERSION = "4.50.100";
+  private static final String DEVELOPMENT_VERSION = "0.5.0-SNAPSHOT";
+
+  @Param({"1000", "10000", "100000"})
+  public int tagCount;
+
+  private SyntheticRepository repository;
+  private RepositoryProvider repositoryProvider;
+
+  @Setup
+  public void setUp() throws IOException, GitAPIException {
+    repository = SyntheticRepository.create(tagCount, "master");
+    repositoryProvider = new RepositoryProviderImpl();
+    repositoryProvider.initialize(
+        repository.getLocalDir(), repository.getRemoteUrl(), "benchmark", "benchmark");
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    repositoryProvider.closeRepository();
+    repository.close();
+  }
+
+  @Benchmark
+  public void localVersionCorrupt() throws SemverException, IOException, GitAPIException {
+    repositoryProvider.isLocalVersionCorrupt(UNTAGGED_VERSION, false);
+  }
+
+  @Benchmark
+  public boolean remoteVersionCorrupt() {
+    return repositoryProvider.isRemoteVersionCorrupt(DEVELOPMENT_VERSION);
+  }
+}
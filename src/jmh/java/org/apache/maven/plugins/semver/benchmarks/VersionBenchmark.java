@@ -0,0 +1,67 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugins.semver.providers.SemanticVersion;
+import org.apache.maven.plugins.semver.providers.VersionProvider;
+import org.apache.maven.plugins.semver.providers.VersionProviderImpl;
+import org.apache.maven.plugins.semver.runmodes.RunMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ *
+ * <h1>VersionBenchmark</h1>
+ *
+ * <p>Version computation of {@link VersionProviderImpl} for the run-modes with a different tag
+ * format.
+ *
+ * @author sido
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionBenchmark {
+
+  private static final String BRANCH_VERSION = "6.4.0";
+  private static final String META_DATA = "build.42";
+
+  @Param({"RELEASE", "RELEASE_BRANCH_RPM", "NATIVE_BRANCH"})
+  public RunMode.RUN_MODE runMode;
+
+  private VersionProvider versionProvider;
+  private SemanticVersion version;
+
+  @Setup
+  public void setUp() {
+    versionProvider = new VersionProviderImpl();
+    version = SemanticVersion.parse("12.34.56-SNAPSHOT").nextMinor();
+  }
+
+  @Benchmark
+  public String releaseTag() {
+    return versionProvider.determineReleaseTag(runMode, version);
+  }
+
+  @Benchmark
+  public String releaseBranchTag() {
+    return versionProvider.determineReleaseBranchTag(runMode, BRANCH_VERSION, version);
+  }
+
+  @Benchmark
+  public String buildMetaData() {
+    return versionProvider.determineBuildMetaData(runMode, META_DATA, version);
+  }
+}
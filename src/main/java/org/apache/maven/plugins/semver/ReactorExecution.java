@@ -0,0 +1,69 @@
+package org.apache.maven.plugins.semver;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ *
+ *
+ * <h1>ReactorExecution</h1>
+ *
+ * <p>The goals of the plugin release the whole reactor at once: the version is determined, the
+ * repository is checked and all pom.xml's are rewritten by one execution. The goals are
+ * aggregators, so MAVEN executes them once; when a goal is bound to a phase it is still executed
+ * for every module.
+ *
+ * <p>The first execution of a goal claims it in the session data of the build, the other modules
+ * find the claim and do no GIT- or network-work.
+ *
+ * @author sido
+ */
+public final class ReactorExecution {
+
+  private static final String KEY_PREFIX = ReactorExecution.class.getName() + ".";
+
+  private final String goal;
+  private final String projectId;
+
+  private ReactorExecution(String goal, String projectId) {
+    this.goal = goal;
+    this.projectId = projectId;
+  }
+
+  /**
+   * Claim the execution of a goal for the reactor.
+   *
+   * @param session session of the build
+   * @param goal name of the goal
+   * @param project project that executes the goal
+   * @return null when the project claimed the execution, otherwise the execution that claimed it
+   *     first
+   */
+  public static ReactorExecution claim(MavenSession session, String goal, MavenProject project) {
+    RepositorySystemSession repositorySession = session.getRepositorySession();
+    if (repositorySession == null) {
+      // no build session to share the execution with (embedded or test sessions)
+      return null;
+    }
+    String key = KEY_PREFIX + goal;
+    ReactorExecution execution = new ReactorExecution(goal, project.getId());
+    if (repositorySession.getData().set(key, null, execution)) {
+      return null;
+    }
+    return (ReactorExecution) repositorySession.getData().get(key);
+  }
+
+  public String getGoal() {
+    return goal;
+  }
+
+  /**
+   * Project that executes the goal for the reactor.
+   *
+   * @return <i>groupId:artifactId:packaging:version</i>
+   */
+  public String getProjectId() {
+    return projectId;
+  }
+}
@@ -1,10 +1,18 @@
 package org.apache.maven.plugins.semver;
 
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.inject.Inject;
+import javax.inject.Provider;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.semver.configuration.SemverConfiguration;
+import org.apache.maven.plugins.semver.exceptions.SemverFailureException;
 import org.apache.maven.plugins.semver.providers.BranchProvider;
 import org.apache.maven.plugins.semver.providers.PomProvider;
 import org.apache.maven.plugins.semver.providers.RepositoryProvider;
@@ -49,10 +57,54 @@ import org.slf4j.LoggerFactory;
  * </ul>
  *
  * <ul>
+ *   Timeouts in milliseconds and cache TTL in seconds of the branch-conversion service
+ *   <li>branchConversionConnectTimeout = 5000
+ *   <li>branchConversionReadTimeout = 10000
+ *   <li>branchConversionCacheTtl = 3600
+ * </ul>
+ *
+ * <ul>
+ *   Circuit breaker of the branch-conversion service, with a branch=version fallback mapping
+ *   <li>branchConversionFailureThreshold = 3
+ *   <li>branchConversionCoolDown = 300
+ *   <li>branchConversionFallbackFile = ~/.semver-maven-plugin/branch-conversion-fallback.properties
+ * </ul>
+ *
+ * <ul>
+ *   Extra GIT-branch formats with named version groups, tried before the default formats
+ *   <li>branchPatterns = release/(?&lt;major&gt;\d+)\.(?&lt;minor&gt;\d+)
+ * </ul>
+ *
+ * <ul>
  *   Add metaData to the GIT-version
  *   <li>metaData = beta
  * </ul>
  *
+ * <ul>
+ *   Push the release commit, tag and next development commit in one atomic push
+ *   <li>atomicPush = true
+ * </ul>
+ *
+ * <ul>
+ *   Commit the release and next development pom without scanning the working tree
+ *   <li>inMemoryRelease = true
+ * </ul>
+ *
+ * <ul>
+ *   Paths that have to be clean before a release (default all pom.xml files, * for everything)
+ *   <li>statusCheckPaths = pom.xml,src/main
+ * </ul>
+ *
+ * <ul>
+ *   Fetch only tags and the current branch tip on build agents
+ *   <li>ciMode = true
+ * </ul>
+ *
+ * <ul>
+ *   Delete SCM-tags of the release version that are already on the remote
+ *   <li>deleteRemoteTags = true
+ * </ul>
+ *
  * @author sido
  */
 public abstract class SemverMavenPlugin extends AbstractMojo {
@@ -88,34 +140,89 @@ public abstract class SemverMavenPlugin extends AbstractMojo {
   @Parameter(property = "branchConversionUrl")
   private String branchConversionUrl;
 
+  @Parameter(property = "branchPatterns")
+  private List<String> branchPatterns;
+
+  @Parameter(property = "branchConversionConnectTimeout", defaultValue = "5000")
+  private Integer branchConversionConnectTimeout;
+
+  @Parameter(property = "branchConversionReadTimeout", defaultValue = "10000")
+  private Integer branchConversionReadTimeout;
+
+  @Parameter(property = "branchConversionCacheTtl", defaultValue = "3600")
+  private Long branchConversionCacheTtl;
+
+  @Parameter(property = "branchConversionFailureThreshold", defaultValue = "3")
+  private Integer branchConversionFailureThreshold;
+
+  @Parameter(property = "branchConversionCoolDown", defaultValue = "300")
+  private Long branchConversionCoolDown;
+
+  @Parameter(property = "branchConversionFallbackFile")
+  private File branchConversionFallbackFile;
+
   @Parameter(property = "metaData")
   private String metaData;
 
   @Parameter(property = "checkRemoteRepository", defaultValue = "false")
   private Boolean checkRemoteVersionTags;
 
+  @Parameter(property = "checkSnapshotDependencies", defaultValue = "true")
+  private Boolean checkSnapshotDependencies;
+
   @Parameter(property = "pushTags", defaultValue = "true")
   private Boolean pushTags;
 
+  @Parameter(property = "atomicPush", defaultValue = "false")
+  private Boolean atomicPush;
+
+  @Parameter(property = "inMemoryRelease", defaultValue = "false")
+  private Boolean inMemoryRelease;
+
+  @Parameter(property = "statusCheckPaths")
+  private List<String> statusCheckPaths;
+
+  @Parameter(property = "ciMode", defaultValue = "false")
+  private Boolean ciMode;
+
+  @Parameter(property = "deleteRemoteTags", defaultValue = "false")
+  private Boolean deleteRemoteTags;
+
   private SemverConfiguration configuration;
 
-  private final VersionProvider versionProvider;
-  private final PomProvider pomProvider;
-  private final RepositoryProvider repositoryProvider;
-  private final BranchProvider branchProvider;
+  private final Provider<VersionProvider> versionProviderLookup;
+  private final Provider<PomProvider> pomProviderLookup;
+  private final Provider<RepositoryProvider> repositoryProviderLookup;
+  private final Provider<BranchProvider> branchProviderLookup;
+
+  private VersionProvider versionProvider;
+  private PomProvider pomProvider;
+  private RepositoryProvider repositoryProvider;
+  /** Looked up on the branchVersion thread and read by {@link #closeBuild}. */
+  private volatile BranchProvider branchProvider;
 
   protected RunMode runModeImpl;
+  private boolean branchVersionRequired;
 
+  /**
+   * The providers are looked up on first use: a goal that does not use the SCM-repository or the
+   * branch-conversion service does not load JGit or HttpClient.
+   *
+   * @param versionProvider lookup of the {@link VersionProvider}
+   * @param pomProvider lookup of the {@link PomProvider}
+   * @param repositoryProvider lookup of the {@link RepositoryProvider}
+   * @param branchProvider lookup of the {@link BranchProvider}
+   */
   @Inject
   public SemverMavenPlugin(
-      VersionProvider versionProvider,
-      PomProvider pomProvider,
-      RepositoryProvider repositoryProvider,
-      BranchProvider branchProvider) {
-    this.versionProvider = versionProvider;
-    this.pomProvider = pomProvider;
-    this.repositoryProvider = repositoryProvider;
-    this.branchProvider = branchProvider;
+      Provider<VersionProvider> versionProvider,
+      Provider<PomProvider> pomProvider,
+      Provider<RepositoryProvider> repositoryProvider,
+      Provider<BranchProvider> branchProvider) {
+    this.versionProviderLookup = versionProvider;
+    this.pomProviderLookup = pomProvider;
+    this.repositoryProviderLookup = repositoryProvider;
+    this.branchProviderLookup = branchProvider;
   }
 
   /**
@@ -155,11 +262,31 @@ public abstract class SemverMavenPlugin extends AbstractMojo {
   }
 
   protected VersionProvider getVersionProvider() {
-    return this.versionProvider;
+    if (versionProvider == null) {
+      versionProvider = versionProviderLookup.get();
+    }
+    return versionProvider;
+  }
+
+  protected PomProvider getPomProvider() {
+    if (pomProvider == null) {
+      pomProvider = pomProviderLookup.get();
+    }
+    return pomProvider;
   }
 
   protected RepositoryProvider getRepositoryProvider() {
-    return this.repositoryProvider;
+    if (repositoryProvider == null) {
+      repositoryProvider = repositoryProviderLookup.get();
+    }
+    return repositoryProvider;
+  }
+
+  protected BranchProvider getBranchProvider() {
+    if (branchProvider == null) {
+      branchProvider = branchProviderLookup.get();
+    }
+    return branchProvider;
   }
 
   /**
@@ -174,8 +301,21 @@ public abstract class SemverMavenPlugin extends AbstractMojo {
       configuration.setScmPassword(scmPassword);
       configuration.setRunMode(runMode);
       configuration.setBranchConversionUrl(branchConversionUrl);
+      configuration.setBranchPatterns(branchPatterns);
+      configuration.setBranchConversionConnectTimeout(branchConversionConnectTimeout);
+      configuration.setBranchConversionReadTimeout(branchConversionReadTimeout);
+      configuration.setBranchConversionCacheTtl(branchConversionCacheTtl);
+      configuration.setBranchConversionFailureThreshold(branchConversionFailureThreshold);
+      configuration.setBranchConversionCoolDown(branchConversionCoolDown);
+      configuration.setBranchConversionFallbackFile(branchConversionFallbackFile);
       configuration.setMetaData(metaData);
       configuration.setCheckRemoteVersionTags(checkRemoteVersionTags);
+      configuration.setCheckSnapshotDependencies(checkSnapshotDependencies);
+      configuration.setAtomicPush(atomicPush);
+      configuration.setInMemoryRelease(inMemoryRelease);
+      configuration.setStatusCheckPaths(statusCheckPaths);
+      configuration.setCiMode(ciMode);
+      configuration.setDeleteRemoteTags(deleteRemoteTags);
       initializeRunMode(runMode);
     }
     return configuration;
@@ -189,17 +329,19 @@ public abstract class SemverMavenPlugin extends AbstractMojo {
    * @param runMode configured RUN_MODE
    */
   private void initializeRunMode(RUN_MODE runMode) {
+    Provider<RepositoryProvider> repositoryProvider = this::getRepositoryProvider;
+    VersionProvider versionProvider = getVersionProvider();
     switch (runMode) {
       case NATIVE:
         logger.info("Initialize NATIVE-runmode implementation");
-        this.runModeImpl = new RunModeNative(pomProvider, versionProvider, repositoryProvider);
+        this.runModeImpl = new RunModeNative(getPomProvider(), versionProvider, repositoryProvider);
         break;
       case NATIVE_BRANCH_RPM:
       case NATIVE_BRANCH:
         logger.info("Initialize NATIVE_BRANCH-runmode implementation");
         this.runModeImpl =
-            new RunModeNativeBranch(pomProvider, versionProvider, repositoryProvider);
-        initializeBranchVersion();
+            new RunModeNativeBranch(getPomProvider(), versionProvider, repositoryProvider);
+        this.branchVersionRequired = true;
         break;
       case RELEASE:
         logger.info("Initialize RELEASE-runmode implementation");
@@ -210,15 +352,115 @@ public abstract class SemverMavenPlugin extends AbstractMojo {
         logger.info("Initialize RELEASE_BRANCH-runmode implementation");
         this.runModeImpl =
             new RunModeReleaseBranch(mavenProject, versionProvider, repositoryProvider);
-        initializeBranchVersion();
+        this.branchVersionRequired = true;
         break;
       default:
         logger.info("Initialize DEFAULT-runmode implementation");
-        this.runModeImpl = new RunModeNative(pomProvider, versionProvider, repositoryProvider);
+        this.runModeImpl = new RunModeNative(getPomProvider(), versionProvider, repositoryProvider);
         break;
     }
   }
 
+  /**
+   *
+   *
+   * <h1>Claim the goal for the reactor</h1>
+   *
+   * <p>The goal is executed once per build: the first module claims it in the {@link
+   * MavenSession}, the other modules of the reactor skip it without touching the repository.
+   *
+   * @param goal name of the goal
+   * @return is the goal already executed by another module?
+   */
+  protected boolean isExecutedByReactor(String goal) {
+    ReactorExecution execution = ReactorExecution.claim(session, goal, mavenProject);
+    if (execution != null) {
+      logger.info(
+          "Semver-goal {} is executed for the reactor by [ {} ]", goal, execution.getProjectId());
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   *
+   *
+   * <h1>Initialize SCM-repository and branchVersion</h1>
+   *
+   * <p>Opens the SCM-repository and then overlaps the network round trips of the initialization:
+   * the branchVersion, which may ask the branch-conversion service, is determined on a thread of
+   * its own while the credentials are validated against the remote (which also reads its ref
+   * advertisement). Both are done before the goal continues.
+   *
+   * <p>Without SCM-information (<i>push</i> is not set) only the branchVersion is determined.
+   *
+   * @param scmRoot root of the SCM-repository, null when the repository is not used
+   * @param scmConnection SCM-connection from the pom.xml, null when the repository is not used
+   */
+  protected void initializeRepository(File scmRoot, String scmConnection) {
+    SemverConfiguration config = getConfiguration();
+    if (scmRoot == null) {
+      if (branchVersionRequired) {
+        initializeBranchVersion();
+      }
+      return;
+    }
+    RepositoryProvider repositoryProvider = getRepositoryProvider();
+    repositoryProvider.openRepository(scmRoot);
+    repositoryProvider.setCiMode(config.ciMode());
+    ExecutorService executor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "semver-branch-version");
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      Future<?> branchVersionFuture =
+          branchVersionRequired ? executor.submit(this::initializeBranchVersion) : null;
+      repositoryProvider.initializeCredentials(
+          scmConnection, config.getScmUsername(), config.getScmPassword());
+      if (branchVersionFuture != null) {
+        branchVersionFuture.get();
+      }
+    } catch (InterruptedException err) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Initialization of the branchVersion is interrupted", err);
+    } catch (ExecutionException err) {
+      if (err.getCause() instanceof SemverFailureException) {
+        throw (SemverFailureException) err.getCause();
+      }
+      throw new IllegalStateException("Initialization of the branchVersion failed", err.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   *
+   *
+   * <h1>Close build</h1>
+   *
+   * <p>Releases what the goal has opened, also when it has failed: the SCM-repository that is
+   * opened by {@link #initializeRepository} (closed when no parallel build uses it anymore), the
+   * connections to the branch-conversion service and the index of the reactor. Providers that the
+   * goal has not looked up are left alone. The providers are singletons that a MAVEN daemon keeps
+   * for the next build; only the caches on disk stay warm.
+   *
+   * @param scmRoot root of the SCM-repository, null when the repository is not used
+   */
+  protected void closeBuild(File scmRoot) {
+    if (scmRoot != null && repositoryProvider != null) {
+      repositoryProvider.closeRepository();
+    }
+    if (branchProvider != null) {
+      branchProvider.closeConversionService();
+    }
+    if (pomProvider != null) {
+      pomProvider.closeReactor();
+    }
+  }
+
   /**
    *
    *
@@ -228,11 +470,17 @@ public abstract class SemverMavenPlugin extends AbstractMojo {
    * determined.
    */
   private void initializeBranchVersion() {
-    if (branchProvider != null) {
-      configuration.setBranchVersion(
-          branchProvider.determineBranchVersionFromGitBranch(branchVersion, branchConversionUrl));
-    } else {
-      configuration.setBranchVersion(branchVersion);
-    }
+    BranchProvider branchProvider = getBranchProvider();
+    branchProvider.configureConversionService(
+        configuration.getBranchConversionConnectTimeout(),
+        configuration.getBranchConversionReadTimeout(),
+        configuration.getBranchConversionCacheTtl());
+    branchProvider.configureConversionFallback(
+        configuration.getBranchConversionFailureThreshold(),
+        configuration.getBranchConversionCoolDown(),
+        configuration.getBranchConversionFallbackFile());
+    configuration.setBranchVersion(
+        branchProvider.determineBranchVersionFromGitBranch(
+            branchVersion, branchConversionUrl, configuration.getBranchPatterns()));
   }
 }
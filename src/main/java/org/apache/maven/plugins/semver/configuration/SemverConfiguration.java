@@ -2,8 +2,13 @@ package org.apache.maven.plugins.semver.configuration;
 
 import static java.lang.Boolean.valueOf;
 
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import javax.inject.Inject;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugins.semver.providers.BranchConversionClient;
 import org.apache.maven.plugins.semver.runmodes.RunMode.RUN_MODE;
 
 /**
@@ -20,15 +25,29 @@ import org.apache.maven.plugins.semver.runmodes.RunMode.RUN_MODE;
 public class SemverConfiguration {
 
   private static final String BRANCH_CONVERSION_URL = "";
+  private static final List<String> STATUS_CHECK_PATHS = Collections.singletonList("pom.xml");
 
   private RUN_MODE runMode;
   private String branchVersion;
   private String scmUsername;
   private String scmPassword;
   private String branchConversionUrl;
+  private List<String> branchPatterns;
+  private Integer branchConversionConnectTimeout;
+  private Integer branchConversionReadTimeout;
+  private Long branchConversionCacheTtl;
+  private Integer branchConversionFailureThreshold;
+  private Long branchConversionCoolDown;
+  private File branchConversionFallbackFile;
   private String metaData;
   private Boolean checkRemoteVersionTags;
+  private Boolean checkSnapshotDependencies;
   private Boolean pushTags;
+  private Boolean atomicPush;
+  private Boolean inMemoryRelease;
+  private List<String> statusCheckPaths;
+  private Boolean ciMode;
+  private Boolean deleteRemoteTags;
 
   private final MavenSession session;
 
@@ -52,7 +71,13 @@ public class SemverConfiguration {
     String userBranchConversionUrl = "";
     String userMetaData = "";
     Boolean userCheckRemoteVersionTags = false;
+    String userCheckSnapshotDependencies = null;
     Boolean userPushTags = false;
+    Boolean userAtomicPush = false;
+    Boolean userInMemoryRelease = false;
+    String userStatusCheckPaths = "";
+    Boolean userCiMode = false;
+    Boolean userDeleteRemoteTags = false;
     if (session != null) {
       userRunMode = session.getUserProperties().getProperty("runMode");
       userBranchVersion = session.getUserProperties().getProperty("branchVersion");
@@ -63,6 +88,13 @@ public class SemverConfiguration {
       userPushTags = valueOf(session.getUserProperties().getProperty("push"));
       userCheckRemoteVersionTags =
           valueOf(session.getUserProperties().getProperty("checkRemoteRepository"));
+      userCheckSnapshotDependencies =
+          session.getUserProperties().getProperty("checkSnapshotDependencies");
+      userAtomicPush = valueOf(session.getUserProperties().getProperty("atomicPush"));
+      userInMemoryRelease = valueOf(session.getUserProperties().getProperty("inMemoryRelease"));
+      userStatusCheckPaths = session.getUserProperties().getProperty("statusCheckPaths");
+      userCiMode = valueOf(session.getUserProperties().getProperty("ciMode"));
+      userDeleteRemoteTags = valueOf(session.getUserProperties().getProperty("deleteRemoteTags"));
     }
 
     if (userRunMode != null && !userRunMode.isEmpty()) {
@@ -104,6 +136,26 @@ public class SemverConfiguration {
       }
     }
 
+    if (branchPatterns == null) {
+      branchPatterns = Collections.emptyList();
+    }
+
+    if (branchConversionConnectTimeout == null) {
+      branchConversionConnectTimeout = BranchConversionClient.DEFAULT_CONNECT_TIMEOUT;
+    }
+    if (branchConversionReadTimeout == null) {
+      branchConversionReadTimeout = BranchConversionClient.DEFAULT_READ_TIMEOUT;
+    }
+    if (branchConversionCacheTtl == null) {
+      branchConversionCacheTtl = BranchConversionClient.DEFAULT_CACHE_TTL;
+    }
+    if (branchConversionFailureThreshold == null) {
+      branchConversionFailureThreshold = BranchConversionClient.DEFAULT_FAILURE_THRESHOLD;
+    }
+    if (branchConversionCoolDown == null) {
+      branchConversionCoolDown = BranchConversionClient.DEFAULT_COOL_DOWN;
+    }
+
     if (metaData == null || metaData.isEmpty()) {
       if (userMetaData != null && !userMetaData.isEmpty()) {
         metaData = userMetaData;
@@ -119,12 +171,36 @@ public class SemverConfiguration {
         checkRemoteVersionTags = false;
       }
     }
-    if (pushTags == null || !pushTags) {
-      if (userPushTags != null) {
-        pushTags = userPushTags;
+    if (checkSnapshotDependencies == null) {
+      checkSnapshotDependencies =
+          userCheckSnapshotDependencies == null || valueOf(userCheckSnapshotDependencies);
+    }
+    if ((pushTags == null || !pushTags) && userPushTags != null) {
+      pushTags = userPushTags;
+    }
+
+    if (atomicPush == null || !atomicPush) {
+      atomicPush = userAtomicPush;
+    }
+
+    if (inMemoryRelease == null || !inMemoryRelease) {
+      inMemoryRelease = userInMemoryRelease;
+    }
+
+    if (statusCheckPaths == null || statusCheckPaths.isEmpty()) {
+      if (userStatusCheckPaths != null && !userStatusCheckPaths.isEmpty()) {
+        statusCheckPaths = Arrays.asList(userStatusCheckPaths.trim().split("\\s*,\\s*"));
+      } else {
+        statusCheckPaths = STATUS_CHECK_PATHS;
       }
-    } else {
-      pushTags = false;
+    }
+
+    if (ciMode == null || !ciMode) {
+      ciMode = userCiMode;
+    }
+
+    if (deleteRemoteTags == null || !deleteRemoteTags) {
+      deleteRemoteTags = userDeleteRemoteTags;
     }
   }
 
@@ -219,6 +295,137 @@ public class SemverConfiguration {
     mergeConfiguration();
   }
 
+  /**
+   *
+   *
+   * <h1>Branch patterns</h1>
+   *
+   * <p>Extra GIT-branch formats from which the branchVersion is determined, for example
+   * <i>release/(?&lt;major&gt;\d+)\.(?&lt;minor&gt;\d+)</i>. They are tried before the default
+   * formats.
+   *
+   * @return branch patterns
+   */
+  public List<String> getBranchPatterns() {
+    return this.branchPatterns;
+  }
+
+  public void setBranchPatterns(List<String> branchPatterns) {
+    this.branchPatterns = branchPatterns;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   *
+   * <h1>Branch-conversion timeouts</h1>
+   *
+   * <p>Milliseconds to connect to the branch-conversion service (default 5000).
+   *
+   * @return connect timeout
+   */
+  public int getBranchConversionConnectTimeout() {
+    return this.branchConversionConnectTimeout;
+  }
+
+  public void setBranchConversionConnectTimeout(Integer branchConversionConnectTimeout) {
+    this.branchConversionConnectTimeout = branchConversionConnectTimeout;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   *
+   * <h1>Branch-conversion timeouts</h1>
+   *
+   * <p>Milliseconds to wait for the response of the branch-conversion service (default 10000).
+   *
+   * @return read timeout
+   */
+  public int getBranchConversionReadTimeout() {
+    return this.branchConversionReadTimeout;
+  }
+
+  public void setBranchConversionReadTimeout(Integer branchConversionReadTimeout) {
+    this.branchConversionReadTimeout = branchConversionReadTimeout;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   *
+   * <h1>Branch-conversion cache</h1>
+   *
+   * <p>Seconds a conversion is taken from the on-disk cache without asking the service (default
+   * 3600). A shorter <i>max-age</i> of the service wins; 0 revalidates every conversion.
+   *
+   * @return cache TTL
+   */
+  public long getBranchConversionCacheTtl() {
+    return this.branchConversionCacheTtl;
+  }
+
+  public void setBranchConversionCacheTtl(Long branchConversionCacheTtl) {
+    this.branchConversionCacheTtl = branchConversionCacheTtl;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   *
+   * <h1>Branch-conversion circuit breaker</h1>
+   *
+   * <p>Consecutive failures of the branch-conversion service after which it is not called for the
+   * cool-down window (default 3).
+   *
+   * @return failure threshold
+   */
+  public int getBranchConversionFailureThreshold() {
+    return this.branchConversionFailureThreshold;
+  }
+
+  public void setBranchConversionFailureThreshold(Integer branchConversionFailureThreshold) {
+    this.branchConversionFailureThreshold = branchConversionFailureThreshold;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   *
+   * <h1>Branch-conversion circuit breaker</h1>
+   *
+   * <p>Seconds the branch-conversion service is not called after it failed (default 300).
+   *
+   * @return cool-down window
+   */
+  public long getBranchConversionCoolDown() {
+    return this.branchConversionCoolDown;
+  }
+
+  public void setBranchConversionCoolDown(Long branchConversionCoolDown) {
+    this.branchConversionCoolDown = branchConversionCoolDown;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   *
+   * <h1>Branch-conversion fallback</h1>
+   *
+   * <p>Mapping of branch to version that is used while the branch-conversion service is
+   * unavailable. Every answer of the service is added to it.
+   *
+   * @return fallback file, null for the default in <i>~/.semver-maven-plugin</i>
+   */
+  public File getBranchConversionFallbackFile() {
+    return this.branchConversionFallbackFile;
+  }
+
+  public void setBranchConversionFallbackFile(File branchConversionFallbackFile) {
+    this.branchConversionFallbackFile = branchConversionFallbackFile;
+    mergeConfiguration();
+  }
+
   /**
    * Version-metaData is used to describe the version that is tagged.
    *
@@ -268,7 +475,174 @@ public class SemverConfiguration {
     return this.checkRemoteVersionTags;
   }
 
+  /**
+   *
+   *
+   * <h1>Check SNAPSHOT-dependencies</h1>
+   *
+   * <p>
+   *
+   * @param checkSnapshotDependencies set the check on SNAPSHOT-dependencies flag
+   */
+  public void setCheckSnapshotDependencies(Boolean checkSnapshotDependencies) {
+    this.checkSnapshotDependencies = checkSnapshotDependencies;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   *
+   * <h1>Check SNAPSHOT-dependencies</h1>
+   *
+   * <p>Flag to determine if the release fails when the reactor depends on SNAPSHOT-versions.
+   *
+   * @return is flag set?
+   */
+  public boolean checkSnapshotDependencies() {
+    return this.checkSnapshotDependencies;
+  }
+
   public boolean pushTags() {
     return this.pushTags;
   }
+
+  /**
+   *
+   *
+   * <h1>Atomic push</h1>
+   *
+   * <p>Push the release commit, the SCM-tag and the next development commit in one atomic push.
+   *
+   * @param atomicPush set the atomic push flag
+   */
+  public void setAtomicPush(Boolean atomicPush) {
+    this.atomicPush = atomicPush;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   *
+   * <h1>Atomic push</h1>
+   *
+   * <p>Flag to determine if the release is sent to the remote in one atomic push. Otherwise each
+   * commit and the SCM-tag are pushed separately.
+   *
+   * @return is flag set?
+   */
+  public boolean atomicPush() {
+    return this.atomicPush;
+  }
+
+  /**
+   *
+   *
+   * <h1>In-memory release</h1>
+   *
+   * <p>Build the release commit and the next development commit directly in the object database.
+   *
+   * @param inMemoryRelease set the in-memory release flag
+   */
+  public void setInMemoryRelease(Boolean inMemoryRelease) {
+    this.inMemoryRelease = inMemoryRelease;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   *
+   * <h1>In-memory release</h1>
+   *
+   * <p>Flag to determine if the pom.xml's are rewritten in memory and committed without scanning
+   * the working tree. Otherwise they are rewritten on disk and committed one after the other.
+   *
+   * @return is flag set?
+   */
+  public boolean inMemoryRelease() {
+    return this.inMemoryRelease;
+  }
+
+  /**
+   *
+   *
+   * <h1>Status check paths</h1>
+   *
+   * <p>File names or paths of the working tree that have to be clean before a release.
+   *
+   * @param statusCheckPaths paths to check
+   */
+  public void setStatusCheckPaths(List<String> statusCheckPaths) {
+    this.statusCheckPaths = statusCheckPaths;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   *
+   * <h1>Status check paths</h1>
+   *
+   * <p>File names (<i>pom.xml</i>) or paths (<i>src/main</i>) that are checked for local changes.
+   * Defaults to all pom.xml files; <i>*</i> checks the complete working tree.
+   *
+   * @return paths to check
+   */
+  public List<String> getStatusCheckPaths() {
+    return this.statusCheckPaths;
+  }
+
+  /**
+   *
+   *
+   * <h1>CI-mode</h1>
+   *
+   * <p>Fetch only the tags and the current branch tip from the remote.
+   *
+   * @param ciMode set the CI-mode flag
+   */
+  public void setCiMode(Boolean ciMode) {
+    this.ciMode = ciMode;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   *
+   * <h1>CI-mode</h1>
+   *
+   * <p>Flag to determine if the plugin runs on a build agent with a shallow single-branch clone.
+   * Only the tags and the tip of the current branch are fetched and compared with the remote.
+   *
+   * @return is flag set?
+   */
+  public boolean ciMode() {
+    return this.ciMode;
+  }
+
+  /**
+   *
+   *
+   * <h1>Delete remote tags</h1>
+   *
+   * <p>Delete the SCM-tags of the release version that are already on the remote.
+   *
+   * @param deleteRemoteTags set the delete remote tags flag
+   */
+  public void setDeleteRemoteTags(Boolean deleteRemoteTags) {
+    this.deleteRemoteTags = deleteRemoteTags;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   *
+   * <h1>Delete remote tags</h1>
+   *
+   * <p>Flag to determine if SCM-tags of the release version that are already on the remote are
+   * deleted before the release. Otherwise the release fails on them.
+   *
+   * @return is flag set?
+   */
+  public boolean deleteRemoteTags() {
+    return this.deleteRemoteTags;
+  }
 }
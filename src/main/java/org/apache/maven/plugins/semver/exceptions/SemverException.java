@@ -10,6 +10,8 @@ import org.apache.commons.logging.LogFactory;
  */
 public class SemverException extends Exception {
 
+  private static final long serialVersionUID = 1L;
+
   private static final Log logger = LogFactory.getLog(SemverException.class);
 
   /**
@@ -19,6 +21,7 @@ public class SemverException extends Exception {
    * @param message body of the error-message
    */
   public SemverException(String header, String message) {
+    super(header + ": " + message);
     logger.error(header);
     logger.error(message);
   }
@@ -0,0 +1,36 @@
+package org.apache.maven.plugins.semver.exceptions;
+
+/**
+ *
+ *
+ * <h1>SemverFailureException</h1>
+ *
+ * <p>Ends the semver-goal. The cause is logged where the failure is detected; the goal turns the
+ * exception into a {@link org.apache.maven.plugin.MojoFailureException}, so MAVEN fails the build
+ * and the JVM keeps running (for example a MAVEN daemon).
+ *
+ * @author sido
+ */
+public class SemverFailureException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructor to initialize SemverFailureException
+   *
+   * @param message reason the goal has failed
+   */
+  public SemverFailureException(String message) {
+    super(message);
+  }
+
+  /**
+   * Constructor to initialize SemverFailureException
+   *
+   * @param message reason the goal has failed
+   * @param cause exception that made the goal fail
+   */
+  public SemverFailureException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -9,6 +9,7 @@ import static org.apache.maven.plugins.semver.SemverMavenPlugin.MOJO_LINE_BREAK;
 
 import java.io.*;
 import java.util.Map;
+import org.apache.maven.plugins.semver.exceptions.SemverFailureException;
 import org.apache.maven.plugins.semver.providers.VersionProvider.FINAL_VERSION;
 import org.apache.maven.project.MavenProject;
 import org.slf4j.Logger;
@@ -79,7 +80,7 @@ public class FileWriterFactory {
     } catch (IOException err) {
       logger.error("semver-maven-plugin is terminating");
       logger.error("Error when creating new pom.xml.semverBackup", err);
-      Runtime.getRuntime().exit(1);
+      throw new SemverFailureException("Could not create pom.xml.semverBackup", err);
     }
     logger.info(FUNCTION_LINE_BREAK);
   }
@@ -117,7 +118,7 @@ public class FileWriterFactory {
         delete(pomXmlSemverBackup.toPath());
       } catch (IOException e) {
         logger.error(format(" * File could not be removed: [ %s ]", e.getMessage()));
-        Runtime.getRuntime().exit(1);
+        throw new SemverFailureException("Could not remove pom.xml.semverBackup", e);
       }
     }
     logger.info(FUNCTION_LINE_BREAK);
@@ -163,7 +164,7 @@ public class FileWriterFactory {
       } catch (IOException err) {
         logger.error("semver-maven-plugin is terminating");
         logger.error(format("Error when creating file [ %s ]", err));
-        Runtime.getRuntime().exit(1);
+        throw new SemverFailureException("Could not create " + fileName, err);
       }
     }
   }
@@ -1,17 +1,18 @@
 package org.apache.maven.plugins.semver.goals;
 
-import static java.text.MessageFormat.format;
-
 import java.io.File;
 import java.util.List;
 import javax.inject.Inject;
+import javax.inject.Provider;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.semver.SemverMavenPlugin;
+import org.apache.maven.plugins.semver.exceptions.SemverFailureException;
 import org.apache.maven.plugins.semver.providers.BranchProvider;
 import org.apache.maven.plugins.semver.providers.PomProvider;
 import org.apache.maven.plugins.semver.providers.RepositoryProvider;
+import org.apache.maven.plugins.semver.providers.TagMutationBatch;
 import org.apache.maven.plugins.semver.providers.VersionProvider;
-import org.eclipse.jgit.lib.Ref;
 
 /**
  * used to be a goal that was used before a build on a BUILD-server (HUDSON).
@@ -22,33 +23,42 @@ import org.eclipse.jgit.lib.Ref;
  * @deprecated
  */
 @Deprecated
-@Mojo(name = "cleanup-git-tags")
+@Mojo(name = "cleanup-git-tags", aggregator = true)
 public class SemverMavenPluginGoalCleanupGitTags extends SemverMavenPlugin {
 
   @Inject
   public SemverMavenPluginGoalCleanupGitTags(
-      VersionProvider versionProvider,
-      PomProvider pomProvider,
-      RepositoryProvider repositoryProvider,
-      BranchProvider branchProvider) {
+      Provider<VersionProvider> versionProvider,
+      Provider<PomProvider> pomProvider,
+      Provider<RepositoryProvider> repositoryProvider,
+      Provider<BranchProvider> branchProvider) {
     super(versionProvider, pomProvider, repositoryProvider, branchProvider);
   }
 
   @Override
-  public void execute() {
-
+  public void execute() throws MojoFailureException {
+    if (isExecutedByReactor("CLEANUP-GIT-TAGS")) {
+      return;
+    }
     String version = mavenProject.getVersion();
     String scmConnection = mavenProject.getScm().getConnection();
     File scmRoot = mavenProject.getBasedir();
+    try {
+      initializeRepository(scmRoot, scmConnection);
 
-    logger.info("Semver-goal                       : CLEANUP-GIT-TAGS");
-    logger.info(format("Run-mode                          : {}", getConfiguration().getRunMode()));
-    logger.info(format("Version from POM                  : {}", version));
-    logger.info(format("SCM-connection                    : {}", scmConnection));
-    logger.info(format("SCM-root                          : {}", scmRoot));
-    logger.info(FUNCTION_LINE_BREAK);
+      logger.info("Semver-goal                       : CLEANUP-GIT-TAGS");
+      logger.info("Run-mode                          : {}", getConfiguration().getRunMode());
+      logger.info("Version from POM                  : {}", version);
+      logger.info("SCM-connection                    : {}", scmConnection);
+      logger.info("SCM-root                          : {}", scmRoot);
+      logger.info(FUNCTION_LINE_BREAK);
 
-    cleanupGitRemoteTags();
+      cleanupGitRemoteTags();
+    } catch (SemverFailureException err) {
+      throw new MojoFailureException(err.getMessage(), err);
+    } finally {
+      closeBuild(scmRoot);
+    }
   }
 
   /** Cleanup lost GIT-tags before making a release on BUILD-server (for example HUDSON) */
@@ -56,28 +66,18 @@ public class SemverMavenPluginGoalCleanupGitTags extends SemverMavenPlugin {
     logger.info("Determine local and remote SCM-tags for SCM-repo");
     logger.info(MOJO_LINE_BREAK);
     getRepositoryProvider().pull();
-    List<Ref> refs = getRepositoryProvider().getLocalTags();
-    if (!refs.isEmpty()) {
-      boolean found = false;
-      for (Ref ref : refs) {
-        if (ref.getName().contains(preparedReleaseTag)) {
-          found = true;
-          logger.info(
-              format("Delete local SCM-tag                 : {}", ref.getName().substring(10)));
-          getRepositoryProvider().deleteTag(ref.getName());
-          logger.info(
-              format("Delete remote SCM-tag                : {}", ref.getName().substring(10)));
-          getRepositoryProvider().pushTag();
-        }
-      }
-      if (!found) {
-        logger.info("No local or remote prepared SCM-tags found");
+    List<String> tags = getRepositoryProvider().findLocalTags(preparedReleaseTag);
+    if (!tags.isEmpty()) {
+      TagMutationBatch batch = new TagMutationBatch();
+      for (String tag : tags) {
+        logger.info("Delete local and remote SCM-tag      : {}", tag);
+        batch.delete(tag);
       }
+      getRepositoryProvider().pushTagMutations(batch);
     } else {
       logger.info("No local or remote prepared SCM-tags found");
     }
 
-    getRepositoryProvider().closeRepository();
     logger.info(MOJO_LINE_BREAK);
   }
 }
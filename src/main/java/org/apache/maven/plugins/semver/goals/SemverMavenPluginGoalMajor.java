@@ -4,10 +4,13 @@ import static org.apache.maven.plugins.semver.goals.SemverGoal.SEMVER_GOAL.MAJOR
 
 import java.io.File;
 import javax.inject.Inject;
+import javax.inject.Provider;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Execute;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.semver.SemverMavenPlugin;
+import org.apache.maven.plugins.semver.exceptions.SemverFailureException;
 import org.apache.maven.plugins.semver.providers.BranchProvider;
 import org.apache.maven.plugins.semver.providers.PomProvider;
 import org.apache.maven.plugins.semver.providers.RepositoryProvider;
@@ -32,53 +35,53 @@ import org.apache.maven.plugins.semver.providers.VersionProvider;
  *
  * @author sido
  */
-@Mojo(name = "major")
+@Mojo(name = "major", aggregator = true)
 @Execute(phase = LifecyclePhase.TEST)
 public class SemverMavenPluginGoalMajor extends SemverMavenPlugin {
 
   @Inject
   public SemverMavenPluginGoalMajor(
-      VersionProvider versionProvider,
-      PomProvider pomProvider,
-      RepositoryProvider repositoryProvider,
-      BranchProvider branchProvider) {
+      Provider<VersionProvider> versionProvider,
+      Provider<PomProvider> pomProvider,
+      Provider<RepositoryProvider> repositoryProvider,
+      Provider<BranchProvider> branchProvider) {
     super(versionProvider, pomProvider, repositoryProvider, branchProvider);
   }
 
   @Override
-  public void execute() {
+  public void execute() throws MojoFailureException {
+    if (isExecutedByReactor(MAJOR.getDescription())) {
+      return;
+    }
     String pomVersion = mavenProject.getVersion();
     String scmConnection = null;
     File scmRoot = null;
     if (getConfiguration().pushTags() && mavenProject.getScm() != null) {
       scmConnection = mavenProject.getScm().getConnection();
       scmRoot = mavenProject.getBasedir();
-      getRepositoryProvider()
-          .initialize(
-              scmRoot,
-              scmConnection,
-              getConfiguration().getScmUsername(),
-              getConfiguration().getScmPassword());
     } else if (getConfiguration().pushTags()) {
       logger.error(" * No SCM information supplied");
       logger.error(" * Please described the scm block in the pom.xml");
-      Runtime.getRuntime().exit(1);
+      throw new MojoFailureException("No SCM information supplied");
     }
+    try {
+      initializeRepository(scmRoot, scmConnection);
 
-    logger.info(FUNCTION_LINE_BREAK);
-    logger.info("Semver-goal                        : {}", MAJOR.getDescription());
-    logger.info("Run-mode                           : {}", getConfiguration().getRunMode());
-    logger.info("Version from POM                   : [ {} ]", pomVersion);
-    if (getConfiguration().pushTags()) {
-      logger.info("SCM-connection                     : {}", scmConnection);
-      logger.info("SCM-root                           : {}", scmRoot);
-    }
-    logger.info(FUNCTION_LINE_BREAK);
+      logger.info(FUNCTION_LINE_BREAK);
+      logger.info("Semver-goal                        : {}", MAJOR.getDescription());
+      logger.info("Run-mode                           : {}", getConfiguration().getRunMode());
+      logger.info("Version from POM                   : [ {} ]", pomVersion);
+      if (getConfiguration().pushTags()) {
+        logger.info("SCM-connection                     : {}", scmConnection);
+        logger.info("SCM-root                           : {}", scmRoot);
+      }
+      logger.info(FUNCTION_LINE_BREAK);
 
-    try {
       runModeImpl.execute(MAJOR, getConfiguration(), pomVersion);
-    } catch (Exception e) {
-      logger.error(e.getMessage());
+    } catch (SemverFailureException err) {
+      throw new MojoFailureException(err.getMessage(), err);
+    } finally {
+      closeBuild(scmRoot);
     }
   }
 }
@@ -5,13 +5,18 @@ import static org.apache.maven.plugins.semver.goals.SemverGoal.SEMVER_GOAL.ROLLB
 import static org.apache.maven.plugins.semver.runmodes.RunMode.RUN_MODE.*;
 
 import java.io.File;
+import java.util.Collections;
 import javax.inject.Inject;
+import javax.inject.Provider;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.semver.SemverMavenPlugin;
+import org.apache.maven.plugins.semver.exceptions.SemverFailureException;
 import org.apache.maven.plugins.semver.factories.FileWriterFactory;
 import org.apache.maven.plugins.semver.providers.BranchProvider;
 import org.apache.maven.plugins.semver.providers.PomProvider;
 import org.apache.maven.plugins.semver.providers.RepositoryProvider;
+import org.apache.maven.plugins.semver.providers.TagMutationBatch;
 import org.apache.maven.plugins.semver.providers.VersionProvider;
 
 /**
@@ -21,75 +26,81 @@ import org.apache.maven.plugins.semver.providers.VersionProvider;
  *
  * @author sido
  */
-@Mojo(name = "rollback")
+@Mojo(name = "rollback", aggregator = true)
 public class SemverMavenPluginGoalRollback extends SemverMavenPlugin {
 
   @Inject
   public SemverMavenPluginGoalRollback(
-      VersionProvider versionProvider,
-      PomProvider pomProvider,
-      RepositoryProvider repositoryProvider,
-      BranchProvider branchProvider) {
+      Provider<VersionProvider> versionProvider,
+      Provider<PomProvider> pomProvider,
+      Provider<RepositoryProvider> repositoryProvider,
+      Provider<BranchProvider> branchProvider) {
     super(versionProvider, pomProvider, repositoryProvider, branchProvider);
   }
 
   @Override
-  public void execute() {
+  public void execute() throws MojoFailureException {
+    if (isExecutedByReactor(ROLLBACK.getDescription())) {
+      return;
+    }
     String version = mavenProject.getVersion();
     String scmConnection = mavenProject.getScm().getConnection();
     File scmRoot = mavenProject.getBasedir();
-    getRepositoryProvider()
-        .initialize(
-            scmRoot,
-            scmConnection,
-            getConfiguration().getScmUsername(),
-            getConfiguration().getScmPassword());
+    try {
+      initializeRepository(scmRoot, scmConnection);
 
-    logger.info(FUNCTION_LINE_BREAK);
-    logger.info("Semver-goal                        : {}", ROLLBACK.getDescription());
-    logger.info("Run-mode                           : {}", getConfiguration().getRunMode());
-    logger.info("Version from POM                   : [ {} ]", version);
-    logger.info("SCM-connection                     : {}", scmConnection);
-    logger.info("SCM-root                           : {}", scmRoot);
-    logger.info(FUNCTION_LINE_BREAK);
+      logger.info(FUNCTION_LINE_BREAK);
+      logger.info("Semver-goal                        : {}", ROLLBACK.getDescription());
+      logger.info("Run-mode                           : {}", getConfiguration().getRunMode());
+      logger.info("Version from POM                   : [ {} ]", version);
+      logger.info("SCM-connection                     : {}", scmConnection);
+      logger.info("SCM-root                           : {}", scmRoot);
+      logger.info(FUNCTION_LINE_BREAK);
 
-    if (getConfiguration().getRunMode() == NATIVE
-        || getConfiguration().getRunMode() == NATIVE_BRANCH
-        || getConfiguration().getRunMode() == NATIVE_BRANCH_RPM) {
+      if (getConfiguration().getRunMode() == NATIVE
+          || getConfiguration().getRunMode() == NATIVE_BRANCH
+          || getConfiguration().getRunMode() == NATIVE_BRANCH_RPM) {
 
-      logger.info("Perform a rollback for version     : [ {} ]", version);
-      logger.info(MOJO_LINE_BREAK);
-      if (FileWriterFactory.canRollBack()) {
-        if (getConfiguration().checkRemoteVersionTags()) {
-          if (!getRepositoryProvider().isRemoteVersionCorrupt(version)) {
-            executeRollback(version);
+        logger.info("Perform a rollback for version     : [ {} ]", version);
+        logger.info(MOJO_LINE_BREAK);
+        if (FileWriterFactory.canRollBack()) {
+          if (getConfiguration().checkRemoteVersionTags()) {
+            if (!getRepositoryProvider().isRemoteVersionCorrupt(version)) {
+              executeRollback(version);
+            } else {
+              logger.error("");
+              logger.error("Please check your repository state");
+              throw new MojoFailureException("The remote is ahead of version " + version);
+            }
           } else {
-            logger.error("");
-            logger.error("Please check your repository state");
-            Runtime.getRuntime().exit(1);
+            executeRollback(version);
           }
-        } else {
-          executeRollback(version);
         }
+      } else {
+        logger.error("");
+        logger.error(
+            format(
+                "Ÿou have configured a wrong RUN_MODE ( %s )", getConfiguration().getRunMode()));
+        logger.error("Ÿou have to use release:rollback to revert the version update");
       }
-    } else {
-      logger.error("");
-      logger.error(
-          format("Ÿou have configured a wrong RUN_MODE ( %s )", getConfiguration().getRunMode()));
-      logger.error("Ÿou have to use release:rollback to revert the version update");
+    } catch (SemverFailureException err) {
+      throw new MojoFailureException(err.getMessage(), err);
+    } finally {
+      closeBuild(scmRoot);
     }
   }
 
   private void executeRollback(String version) {
     FileWriterFactory.rollbackPom();
     logger.info(" * Commit old pom.xml");
-    getRepositoryProvider().commit("[semver-maven-plugin] rollback version  : [ " + version + " ]");
+    getRepositoryProvider()
+        .commit(
+            "[semver-maven-plugin] rollback version  : [ " + version + " ]",
+            Collections.singletonList(mavenProject.getFile()));
     logger.info(" * Push old pom.xml");
     getRepositoryProvider().push();
-    logger.info(" * Delete SCM-tag                  : [ {} ]", version);
-    getRepositoryProvider().deleteTag(version);
-    logger.info(" * Delete remote SCM-tag           : [ {} ]", version);
-    getRepositoryProvider().pushTag();
+    logger.info(" * Delete local and remote SCM-tag : [ {} ]", version);
+    getRepositoryProvider().pushTagMutations(new TagMutationBatch().delete(version));
     logger.info(MOJO_LINE_BREAK);
     FileWriterFactory.removeBackupSemverPom();
   }
@@ -0,0 +1,322 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.maven.plugins.semver.providers.ConversionCircuitBreaker.readProperties;
+import static org.apache.maven.plugins.semver.providers.ConversionCircuitBreaker.writeProperties;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ *
+ *
+ * <h1>BranchConversionClient</h1>
+ *
+ * <p>Client of the branch-conversion service. All requests share one pooled HTTP-client with
+ * connect- and read-timeouts, so a slow service fails the release instead of hanging it.
+ *
+ * <p>Responses are cached on disk in <i>~/.semver-maven-plugin/branch-conversion</i>, keyed by the
+ * url and the branch. An entry is fresh for the configured TTL, or shorter when the service sends a
+ * <i>Cache-Control: max-age</i>; <i>no-cache</i> and <i>no-store</i> are honoured. A stale entry
+ * with an <i>ETag</i> is revalidated with <i>If-None-Match</i>.
+ *
+ * <p>The calls go through a {@link ConversionCircuitBreaker}. While the circuit is open, and when a
+ * call fails, the version is taken from a fallback mapping file (<i>branch=version</i>) that is
+ * refreshed with every answer of the service.
+ *
+ * @author sido
+ */
+@Named
+@Singleton
+public class BranchConversionClient {
+
+  public static final int DEFAULT_CONNECT_TIMEOUT = 5000;
+  public static final int DEFAULT_READ_TIMEOUT = 10000;
+  public static final long DEFAULT_CACHE_TTL = 3600;
+  public static final int DEFAULT_FAILURE_THRESHOLD = 3;
+  public static final long DEFAULT_COOL_DOWN = 300;
+
+  private static final Pattern MAX_AGE = Pattern.compile("max-age\\s*=\\s*(\\d+)");
+  private static final String NO_CACHE = "no-cache";
+  private static final String NO_STORE = "no-store";
+  private static final String URL = "url";
+  private static final String ETAG = "etag";
+  private static final String EXPIRES = "expires";
+  private static final String BODY = "body";
+
+  private final Logger logger = LoggerFactory.getLogger(BranchConversionClient.class);
+
+  private final Path baseDir;
+  private final Path cacheDir;
+  private final ConversionCircuitBreaker circuitBreaker;
+  private Path fallbackFile;
+  private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+  private int readTimeout = DEFAULT_READ_TIMEOUT;
+  private long cacheTtl = DEFAULT_CACHE_TTL;
+  private CloseableHttpClient httpClient;
+  private int lookups;
+  private int hits;
+
+  @Inject
+  public BranchConversionClient() {
+    this(Paths.get(System.getProperty("user.home"), ".semver-maven-plugin"));
+  }
+
+  BranchConversionClient(Path baseDir) {
+    this.baseDir = baseDir;
+    this.cacheDir = baseDir.resolve("branch-conversion");
+    this.circuitBreaker =
+        new ConversionCircuitBreaker(baseDir.resolve("branch-conversion-circuit.properties"));
+    this.fallbackFile = baseDir.resolve("branch-conversion-fallback.properties");
+  }
+
+  /**
+   * Set the timeouts and the cache TTL.
+   *
+   * @param connectTimeout timeout in milliseconds to connect and to get a pooled connection
+   * @param readTimeout timeout in milliseconds between two packets of the response
+   * @param cacheTtl seconds a response is fresh, 0 revalidates every response
+   */
+  public synchronized void configure(int connectTimeout, int readTimeout, long cacheTtl) {
+    this.connectTimeout = connectTimeout;
+    this.readTimeout = readTimeout;
+    this.cacheTtl = cacheTtl;
+  }
+
+  /**
+   * Set the circuit breaker and the fallback mapping.
+   *
+   * @param failureThreshold consecutive failures that open the circuit
+   * @param coolDown seconds the circuit stays open
+   * @param fallbackFile fallback mapping file, null for the default in the plugin directory
+   */
+  public synchronized void configureFallback(
+      int failureThreshold, long coolDown, File fallbackFile) {
+    circuitBreaker.configure(failureThreshold, coolDown);
+    this.fallbackFile =
+        fallbackFile == null
+            ? baseDir.resolve("branch-conversion-fallback.properties")
+            : fallbackFile.toPath();
+  }
+
+  /**
+   * Release the pooled connections at the end of a build. The response cache, the fallback mapping
+   * and the circuit state are files and stay warm for the next build in the same JVM.
+   */
+  public synchronized void close() {
+    if (httpClient != null) {
+      try {
+        httpClient.close();
+      } catch (IOException err) {
+        logger.debug("Conversion-service client is not closed: {}", err.getMessage());
+      }
+      httpClient = null;
+    }
+    lookups = 0;
+    hits = 0;
+  }
+
+  /**
+   * Ask the conversion service for the version of a branch, or take it from the cache. When the
+   * service can not be reached, or the circuit is open, the fallback mapping is used.
+   *
+   * @param branchConversionUrl url of the service, the branch is appended
+   * @param branch branch to convert
+   * @return response of the service
+   * @throws IOException when the service can not be reached in time and there is no fallback
+   */
+  public synchronized String convert(String branchConversionUrl, String branch)
+      throws IOException {
+    String url = branchConversionUrl + branch;
+    long start = System.nanoTime();
+    lookups++;
+    Path cacheFile = cacheDir.resolve(sha256(url));
+    Properties cached = readCache(cacheFile, url);
+    long now = System.currentTimeMillis();
+
+    String value;
+    String cacheResult;
+    if (cached != null && now < Long.parseLong(cached.getProperty(EXPIRES))) {
+      hits++;
+      cacheResult = "hit";
+      value = cached.getProperty(BODY);
+    } else {
+      long openUntil = circuitBreaker.openUntil(now);
+      if (openUntil > 0) {
+        logger.warn("Conversion-service circuit        : [ open until {} ]", new Date(openUntil));
+        return fallback(branch, new IOException("Conversion-service circuit is open"));
+      }
+      boolean converted;
+      try (CloseableHttpResponse response = getHttpClient().execute(newRequest(url, cached))) {
+        logger.info("Conversion-service status         : [ {} ]", response.getStatusLine());
+        int status = response.getStatusLine().getStatusCode();
+        if (status >= HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+          throw new IOException("Conversion-service failed: " + response.getStatusLine());
+        }
+        String cacheControl = headerValue(response, HttpHeaders.CACHE_CONTROL);
+        if (status == HttpStatus.SC_NOT_MODIFIED && cached != null) {
+          hits++;
+          cacheResult = "revalidated";
+          value = cached.getProperty(BODY);
+          writeCache(cacheFile, url, cached.getProperty(ETAG), cacheControl, value, now);
+          converted = true;
+        } else {
+          cacheResult = "miss";
+          HttpEntity entity = response.getEntity();
+          value = entity == null ? "" : EntityUtils.toString(entity, UTF_8);
+          converted = status == HttpStatus.SC_OK;
+          if (converted) {
+            writeCache(
+                cacheFile, url, headerValue(response, HttpHeaders.ETAG), cacheControl, value, now);
+          }
+        }
+      } catch (IOException err) {
+        openUntil = circuitBreaker.recordFailure(now);
+        if (openUntil > 0) {
+          logger.warn(
+              "Conversion-service circuit        : [ opened until {} ]", new Date(openUntil));
+        }
+        return fallback(branch, err);
+      }
+      circuitBreaker.recordSuccess();
+      if (converted) {
+        updateFallback(branch, value);
+      }
+    }
+    logger.info(
+        "Conversion-service cache          : [ {} ] [ {}/{} hits ]", cacheResult, hits, lookups);
+    logger.info(
+        "Conversion-service latency        : [ {} ms ]",
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    return value;
+  }
+
+  private HttpGet newRequest(String url, Properties cached) {
+    HttpGet httpGet = new HttpGet(url);
+    httpGet.addHeader(HttpHeaders.CONTENT_TYPE, "application/json");
+    httpGet.setConfig(
+        RequestConfig.custom()
+            .setConnectTimeout(connectTimeout)
+            .setConnectionRequestTimeout(connectTimeout)
+            .setSocketTimeout(readTimeout)
+            .build());
+    if (cached != null && cached.getProperty(ETAG) != null) {
+      httpGet.addHeader(HttpHeaders.IF_NONE_MATCH, cached.getProperty(ETAG));
+    }
+    return httpGet;
+  }
+
+  /** Take the version from the fallback mapping, or give up with the failure of the service. */
+  private String fallback(String branch, IOException err) throws IOException {
+    String version = readProperties(fallbackFile).getProperty(branch);
+    if (version == null) {
+      throw err;
+    }
+    logger.warn("Conversion-service fallback       : [ {} ] [ {} ]", branch, version);
+    return version;
+  }
+
+  private void updateFallback(String branch, String version) {
+    Properties mapping = readProperties(fallbackFile);
+    if (!version.equals(mapping.getProperty(branch))) {
+      mapping.setProperty(branch, version);
+      try {
+        writeProperties(fallbackFile, mapping);
+      } catch (IOException err) {
+        logger.warn("Conversion-service fallback is not updated: {}", err.getMessage());
+      }
+    }
+  }
+
+  private CloseableHttpClient getHttpClient() {
+    if (httpClient == null) {
+      PoolingHttpClientConnectionManager connectionManager =
+          new PoolingHttpClientConnectionManager();
+      connectionManager.setMaxTotal(4);
+      connectionManager.setDefaultMaxPerRoute(4);
+      httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
+    }
+    return httpClient;
+  }
+
+  private Properties readCache(Path cacheFile, String url) {
+    Properties cached = readProperties(cacheFile);
+    if (!url.equals(cached.getProperty(URL))
+        || cached.getProperty(BODY) == null
+        || !cached.getProperty(EXPIRES, "").matches("\\d+")) {
+      return null;
+    }
+    return cached;
+  }
+
+  private void writeCache(
+      Path cacheFile, String url, String etag, String cacheControl, String body, long now) {
+    if (cacheControl != null && cacheControl.contains(NO_STORE)) {
+      return;
+    }
+    long freshness = cacheTtl;
+    if (cacheControl != null && cacheControl.contains(NO_CACHE)) {
+      freshness = 0;
+    } else if (cacheControl != null) {
+      Matcher maxAge = MAX_AGE.matcher(cacheControl);
+      if (maxAge.find()) {
+        freshness = Math.min(freshness, Long.parseLong(maxAge.group(1)));
+      }
+    }
+    Properties entry = new Properties();
+    entry.setProperty(URL, url);
+    entry.setProperty(EXPIRES, String.valueOf(now + TimeUnit.SECONDS.toMillis(freshness)));
+    entry.setProperty(BODY, body);
+    if (etag != null) {
+      entry.setProperty(ETAG, etag);
+    }
+    try {
+      writeProperties(cacheFile, entry);
+    } catch (IOException err) {
+      logger.warn("Conversion-service response is not cached: {}", err.getMessage());
+    }
+  }
+
+  private static String headerValue(CloseableHttpResponse response, String name) {
+    Header header = response.getFirstHeader(name);
+    return header == null ? null : header.getValue();
+  }
+
+  private static String sha256(String value) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(UTF_8));
+      StringBuilder hex = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException err) {
+      throw new IllegalStateException("SHA-256 is not available", err);
+    }
+  }
+}
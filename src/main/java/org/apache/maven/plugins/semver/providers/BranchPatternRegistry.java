@@ -0,0 +1,211 @@
+package org.apache.maven.plugins.semver.providers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ *
+ *
+ * <h1>BranchPatternRegistry</h1>
+ *
+ * <p>The GIT-branch formats from which a branch version can be determined. The patterns are tried
+ * in order: first the configured patterns, then the default patterns and at last the pattern of a
+ * detached test checkout (md5-hash).
+ *
+ * <p>The version is taken from the named groups of the pattern that matches:
+ *
+ * <ul>
+ *   <li><i>version</i>: the group is the version, for example <i>(?&lt;version&gt;\d+\.\d+)</i>
+ *   <li><i>major</i>, <i>minor</i> and <i>patch</i>: the groups are joined with dots, a missing
+ *       minor or patch is 0, for example <i>release/(?&lt;major&gt;\d+)\.(?&lt;minor&gt;\d+)</i>
+ *   <li>no version groups: the version is determined by the branch-conversion service, like for
+ *       <i>master</i> or <i>hotfix/.*</i>
+ * </ul>
+ *
+ * <p>All patterns are compiled once per JVM into one alternation, so a branch is matched in a
+ * single pass.
+ *
+ * @author sido
+ */
+public final class BranchPatternRegistry {
+
+  /** Branch formats that are known without configuration. */
+  public static final List<String> DEFAULT_PATTERNS =
+      Collections.unmodifiableList(
+          Arrays.asList(
+              "(?<version>\\d+\\.\\d+\\.\\d+.*)",
+              "v(?<major>\\d+)_(?<minor>\\d+)_(?<patch>\\d+).*",
+              "master"));
+
+  /** Branch of a detached test checkout, it has no version. */
+  public static final String TEST_BRANCH_PATTERN = "[a-z0-9]*";
+
+  private static final String VERSION = "version";
+  private static final String MAJOR = "major";
+  private static final String MINOR = "minor";
+  private static final String PATCH = "patch";
+  private static final Pattern NAMED_GROUP =
+      Pattern.compile("(?<!\\\\)(\\(\\?<|\\\\k<)([a-zA-Z][a-zA-Z0-9]*)>");
+  private static final Map<List<String>, BranchPatternRegistry> REGISTRIES =
+      new ConcurrentHashMap<>();
+
+  private final List<String> patterns;
+  private final List<Set<String>> groupNames;
+  private final Pattern combined;
+
+  private BranchPatternRegistry(List<String> configuredPatterns) {
+    List<String> allPatterns = new ArrayList<>(configuredPatterns);
+    allPatterns.addAll(DEFAULT_PATTERNS);
+    allPatterns.add(TEST_BRANCH_PATTERN);
+    this.patterns = Collections.unmodifiableList(allPatterns);
+    this.groupNames = new ArrayList<>(allPatterns.size());
+    StringBuilder alternation = new StringBuilder();
+    for (int i = 0; i < allPatterns.size(); i++) {
+      Set<String> names = new LinkedHashSet<>();
+      String alternative = prefixGroupNames(allPatterns.get(i), i, names);
+      groupNames.add(names);
+      alternation.append(i > 0 ? "|" : "");
+      alternation.append("(?<").append(alternativeName(i)).append('>');
+      alternation.append(alternative).append(')');
+    }
+    this.combined = Pattern.compile(alternation.toString());
+  }
+
+  /**
+   * The registry of the configured patterns; it is compiled the first time it is asked for.
+   *
+   * @param configuredPatterns patterns from the plugin configuration, may be null
+   * @return {@link BranchPatternRegistry}
+   * @throws java.util.regex.PatternSyntaxException when a configured pattern is invalid
+   */
+  public static BranchPatternRegistry forPatterns(List<String> configuredPatterns) {
+    List<String> key =
+        configuredPatterns == null
+            ? Collections.emptyList()
+            : Collections.unmodifiableList(new ArrayList<>(configuredPatterns));
+    return REGISTRIES.computeIfAbsent(key, BranchPatternRegistry::new);
+  }
+
+  /**
+   * Match a branch against all patterns.
+   *
+   * @param branch name of the GIT-branch
+   * @return {@link BranchMatch} of the first pattern that matches, or null when none matches
+   */
+  public BranchMatch match(String branch) {
+    Matcher matcher = combined.matcher(branch);
+    if (!matcher.matches()) {
+      return null;
+    }
+    for (int i = 0; i < patterns.size(); i++) {
+      if (matcher.group(alternativeName(i)) != null) {
+        return new BranchMatch(patterns.get(i), extractVersion(matcher, i), isTestBranch(i));
+      }
+    }
+    return null;
+  }
+
+  /**
+   * All patterns in the order they are tried.
+   *
+   * @return patterns
+   */
+  public List<String> getPatterns() {
+    return patterns;
+  }
+
+  private boolean isTestBranch(int index) {
+    return index == patterns.size() - 1;
+  }
+
+  private String extractVersion(Matcher matcher, int index) {
+    Set<String> names = groupNames.get(index);
+    if (names.contains(VERSION)) {
+      return matcher.group(groupName(index, VERSION));
+    }
+    if (names.contains(MAJOR)) {
+      return matcher.group(groupName(index, MAJOR))
+          + "."
+          + group(matcher, index, names, MINOR)
+          + "."
+          + group(matcher, index, names, PATCH);
+    }
+    return null;
+  }
+
+  private static String group(Matcher matcher, int index, Set<String> names, String name) {
+    String value = names.contains(name) ? matcher.group(groupName(index, name)) : null;
+    return value == null || value.isEmpty() ? "0" : value;
+  }
+
+  /**
+   * Named groups have to be unique in the alternation, so the groups (and back-references) of
+   * pattern <i>i</i> are renamed to <i>b{i}{name}</i>.
+   */
+  private static String prefixGroupNames(String pattern, int index, Set<String> names) {
+    Matcher matcher = NAMED_GROUP.matcher(pattern);
+    StringBuffer prefixed = new StringBuffer();
+    while (matcher.find()) {
+      String name = matcher.group(2);
+      if (matcher.group(1).startsWith("(")) {
+        names.add(name);
+      }
+      matcher.appendReplacement(
+          prefixed, Matcher.quoteReplacement(matcher.group(1) + groupName(index, name) + ">"));
+    }
+    matcher.appendTail(prefixed);
+    return prefixed.toString();
+  }
+
+  private static String alternativeName(int index) {
+    return "b" + index;
+  }
+
+  private static String groupName(int index, String name) {
+    return alternativeName(index) + name;
+  }
+
+  /** The pattern a branch matches and the version it carries. */
+  public static final class BranchMatch {
+
+    private final String pattern;
+    private final String version;
+    private final boolean testBranch;
+
+    private BranchMatch(String pattern, String version, boolean testBranch) {
+      this.pattern = pattern;
+      this.version = version;
+      this.testBranch = testBranch;
+    }
+
+    public String getPattern() {
+      return pattern;
+    }
+
+    /**
+     * Version from the named groups of the pattern.
+     *
+     * @return version, or null when the pattern has no version groups
+     */
+    public String getVersion() {
+      return version;
+    }
+
+    /**
+     * The branch is a detached test checkout (md5-hash) without version.
+     *
+     * @return is test branch?
+     */
+    public boolean isTestBranch() {
+      return testBranch;
+    }
+  }
+}
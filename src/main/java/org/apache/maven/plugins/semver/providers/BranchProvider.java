@@ -1,5 +1,8 @@
 package org.apache.maven.plugins.semver.providers;
 
+import java.io.File;
+import java.util.List;
+
 /**
  * <h>BranchProvider</h>
  *
@@ -10,11 +13,36 @@ package org.apache.maven.plugins.semver.providers;
  */
 public interface BranchProvider {
 
+  /**
+   * Set the timeouts and the cache TTL of the branch-conversion service.
+   *
+   * @param connectTimeout connect timeout in milliseconds
+   * @param readTimeout read timeout in milliseconds
+   * @param cacheTtl seconds a cached conversion is used without asking the service
+   */
+  void configureConversionService(int connectTimeout, int readTimeout, long cacheTtl);
+
+  /**
+   * Set the circuit breaker and the fallback mapping of the branch-conversion service.
+   *
+   * @param failureThreshold consecutive failures that open the circuit
+   * @param coolDown seconds the circuit stays open
+   * @param fallbackFile branch=version mapping that is used while the service is unavailable, null
+   *     for <i>~/.semver-maven-plugin/branch-conversion-fallback.properties</i>
+   */
+  void configureConversionFallback(int failureThreshold, long coolDown, File fallbackFile);
+
+  /** Release the connections to the branch-conversion service when the build is finished. */
+  void closeConversionService();
+
   /**
    * Determine branchVersion from GIT-branch
    *
    * @param branchVersion branch version for the GIT-tag
+   * @param branchConversionUrl url of the service that converts a branch to a version
+   * @param branchPatterns configured branch patterns, see {@link BranchPatternRegistry}
    * @return branchVersion
    */
-  String determineBranchVersionFromGitBranch(String branchVersion, String branchConversionUrl);
+  String determineBranchVersionFromGitBranch(
+      String branchVersion, String branchConversionUrl, List<String> branchPatterns);
 }
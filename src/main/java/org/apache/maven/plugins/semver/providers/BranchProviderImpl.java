@@ -1,19 +1,19 @@
 package org.apache.maven.plugins.semver.providers;
 
 import static java.util.Objects.requireNonNull;
-import static org.apache.commons.lang.StringUtils.ordinalIndexOf;
 import static org.apache.maven.plugins.semver.SemverMavenPlugin.MOJO_LINE_BREAK;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.PatternSyntaxException;
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
-import org.apache.http.HttpEntity;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.util.EntityUtils;
+import org.apache.maven.plugins.semver.exceptions.SemverFailureException;
+import org.apache.maven.plugins.semver.providers.BranchPatternRegistry.BranchMatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,53 +23,109 @@ public class BranchProviderImpl implements BranchProvider {
 
   private final Logger logger = LoggerFactory.getLogger(BranchProviderImpl.class);
 
-  private final RepositoryProvider repositoryProvider;
+  private final Provider<RepositoryProvider> repositoryProvider;
+  private final Provider<BranchConversionClient> conversionClientLookup;
+
+  /** Resolved on the first conversion, so HttpClient is only loaded when a service is asked. */
+  private BranchConversionClient conversionClient;
+
+  private Consumer<BranchConversionClient> serviceConfiguration;
+  private Consumer<BranchConversionClient> fallbackConfiguration;
 
   @Inject
-  public BranchProviderImpl(RepositoryProvider repositoryProvider) {
+  public BranchProviderImpl(
+      Provider<RepositoryProvider> repositoryProvider,
+      Provider<BranchConversionClient> conversionClientLookup) {
     this.repositoryProvider = requireNonNull(repositoryProvider);
+    this.conversionClientLookup = requireNonNull(conversionClientLookup);
+  }
+
+  @Override
+  public synchronized void configureConversionService(
+      int connectTimeout, int readTimeout, long cacheTtl) {
+    serviceConfiguration = client -> client.configure(connectTimeout, readTimeout, cacheTtl);
+    if (conversionClient != null) {
+      serviceConfiguration.accept(conversionClient);
+    }
+  }
+
+  @Override
+  public synchronized void configureConversionFallback(
+      int failureThreshold, long coolDown, File fallbackFile) {
+    fallbackConfiguration =
+        client -> client.configureFallback(failureThreshold, coolDown, fallbackFile);
+    if (conversionClient != null) {
+      fallbackConfiguration.accept(conversionClient);
+    }
+  }
+
+  @Override
+  public synchronized void closeConversionService() {
+    if (conversionClient != null) {
+      conversionClient.close();
+    }
+  }
+
+  private synchronized BranchConversionClient getConversionClient() {
+    if (conversionClient == null) {
+      conversionClient = conversionClientLookup.get();
+      if (serviceConfiguration != null) {
+        serviceConfiguration.accept(conversionClient);
+      }
+      if (fallbackConfiguration != null) {
+        fallbackConfiguration.accept(conversionClient);
+      }
+    }
+    return conversionClient;
   }
 
   @Override
   public String determineBranchVersionFromGitBranch(
-      String branchVersion, String branchConversionUrl) {
+      String branchVersion, String branchConversionUrl, List<String> branchPatterns) {
     String value = null;
     if (branchVersion == null || branchVersion.isEmpty()) {
       logger.info(MOJO_LINE_BREAK);
       logger.info("Determine current branchVersion from GIT-repository");
+      BranchPatternRegistry registry;
+      try {
+        registry = BranchPatternRegistry.forPatterns(branchPatterns);
+      } catch (PatternSyntaxException err) {
+        logger.error("Branch pattern is not valid      : [ {} ]", err.getPattern());
+        logger.error("Branch is not set, semantic versioning for RPM is terminated");
+        throw new SemverFailureException("Branch pattern is not valid: " + err.getPattern(), err);
+      }
       try {
         String branch = "master";
-        if (repositoryProvider != null && repositoryProvider.isInitialized()) {
-          branch = repositoryProvider.getCurrentBranch();
+        if (repositoryProvider.get().isInitialized()) {
+          branch = repositoryProvider.get().getCurrentBranch();
         }
         logger.info("Current branch                    : [ {} ]", branch);
         if (branch != null && !branch.isEmpty()) {
-          if (branch.matches("\\d+.\\d+.\\d+.*")) {
-            logger.info("Current branch matches            : \\d+.\\d+.\\d+.*");
-            value = branch;
-          } else if (branch.matches("v\\d+_\\d+_\\d+.*")) {
-            logger.info("Current branch matches            : v\\d+_\\d+_\\d+.*");
-            String rawBranch = branch.replace("v", "").replace("_", ".");
-            value = rawBranch.substring(0, ordinalIndexOf(rawBranch, ".", 3));
-          } else if (branch.equals("master")) {
-            logger.info("Current branch matches            : [ master ]");
-            value = determineVersionFromMasterBranch(branch, branchConversionUrl);
-          } else if (branch.matches("^[a-z0-9]*")) {
-            logger.warn("Current branch matches md5-hash   : ^[a-z0-9]");
-            logger.warn("Application is running tests");
-          } else {
+          BranchMatch match = registry.match(branch);
+          if (match == null) {
             logger.error("Current branch does not match any known formats");
-            logger.error(" * Branch does not match         : [ digit.digit.digit ]");
-            logger.error(" * Branch does not match         : [ v+digit.digit.digit+* ]");
-            logger.error(" * Branch does is not            : [ master ]");
+            for (String pattern : registry.getPatterns()) {
+              logger.error(" * Branch does not match         : [ {} ]", pattern);
+            }
             logger.error("Branch is not set, semantic versioning for RPM is terminated");
-            Runtime.getRuntime().exit(1);
+            throw new SemverFailureException("Branch " + branch + " does not match any format");
+          } else if (match.isTestBranch()) {
+            logger.warn("Current branch matches md5-hash   : [ {} ]", match.getPattern());
+            logger.warn("Application is running tests");
+          } else if (match.getVersion() != null) {
+            logger.info("Current branch matches            : [ {} ]", match.getPattern());
+            value = match.getVersion();
+          } else {
+            logger.info("Current branch matches            : [ {} ]", match.getPattern());
+            value = determineVersionFromMasterBranch(branch, branchConversionUrl);
           }
         } else {
           logger.error("Current branch is empty or null");
           logger.error("Branch is not set, semantic versioning for RPM is terminated");
-          Runtime.getRuntime().exit(1);
+          throw new SemverFailureException("Current branch is empty");
         }
+      } catch (SemverFailureException err) {
+        throw err;
       } catch (Exception err) {
         logger.error("An error occured while trying to reach GIT-repo: ", err);
       }
@@ -84,7 +140,8 @@ public class BranchProviderImpl implements BranchProvider {
    * <h>Master branch version detemination</h>
    *
    * <p>Which new version is to be determined from the master-branch. This is done by an external
-   * service defined in the configuration of the plugin.
+   * service defined in the configuration of the plugin, through the {@link
+   * BranchConversionClient}.
    *
    * <p>It determines the new version based upon the old version: 1.0.0 --> 2.0.0 dependant on what
    * service you are using.
@@ -103,15 +160,8 @@ public class BranchProviderImpl implements BranchProvider {
   private String determineVersionFromMasterBranch(String branch, String branchConversionUrl) {
     String branchVersion = "";
     logger.info("Setup connection to               : {}{}", branchConversionUrl, branch);
-    CloseableHttpClient httpClient = HttpClientBuilder.create().build();
-    CloseableHttpResponse response = null;
     try {
-      HttpGet httpGet = new HttpGet(branchConversionUrl + branch);
-      httpGet.addHeader("Content-Type", "application/json");
-      response = httpClient.execute(httpGet);
-      logger.info("Conversion-service status         : [ {} ]", response.getStatusLine());
-      HttpEntity entity = response.getEntity();
-      branchVersion = EntityUtils.toString(entity);
+      branchVersion = getConversionClient().convert(branchConversionUrl, branch);
       if (branchVersion != null) {
         logger.info("Conversion-service branch         : [ {} ]", branchVersion);
       } else {
@@ -119,17 +169,6 @@ public class BranchProviderImpl implements BranchProvider {
       }
     } catch (IOException err) {
       logger.error("Could not make request to conversion-service", err);
-    } finally {
-      try {
-        if (response != null) {
-          response.close();
-        }
-        if (httpClient != null) {
-          httpClient.close();
-        }
-      } catch (IOException err) {
-        logger.error("Could not close request to conversion-service", err);
-      }
     }
     return branchVersion;
   }
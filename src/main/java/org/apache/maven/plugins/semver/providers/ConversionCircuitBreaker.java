@@ -0,0 +1,138 @@
+package org.apache.maven.plugins.semver.providers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ *
+ * <h1>ConversionCircuitBreaker</h1>
+ *
+ * <p>Circuit breaker around the branch-conversion service. After a number of consecutive failures
+ * the circuit opens for a cool-down window in which the service is not called at all. The first
+ * call after the window is a trial: a success closes the circuit, a failure opens it again.
+ *
+ * <p>The state is kept in a properties file, so consecutive MAVEN-invocations on the same build
+ * agent share it and do not each wait for the timeouts of a service that is down. Keeping the state
+ * is best effort: when it can not be written the circuit simply stays closed.
+ *
+ * @author sido
+ */
+final class ConversionCircuitBreaker {
+
+  private static final String FAILURES = "failures";
+  private static final String OPEN_UNTIL = "openUntil";
+
+  private final Path stateFile;
+  private int failureThreshold = BranchConversionClient.DEFAULT_FAILURE_THRESHOLD;
+  private long coolDownMillis = TimeUnit.SECONDS.toMillis(BranchConversionClient.DEFAULT_COOL_DOWN);
+
+  ConversionCircuitBreaker(Path stateFile) {
+    this.stateFile = stateFile;
+  }
+
+  /**
+   * Set when the circuit opens and for how long.
+   *
+   * @param failureThreshold consecutive failures that open the circuit
+   * @param coolDown seconds the circuit stays open
+   */
+  void configure(int failureThreshold, long coolDown) {
+    this.failureThreshold = Math.max(1, failureThreshold);
+    this.coolDownMillis = TimeUnit.SECONDS.toMillis(coolDown);
+  }
+
+  /**
+   * Moment until which the service is not called.
+   *
+   * @param now current time in milliseconds
+   * @return end of the cool-down window, or 0 when the circuit is closed
+   */
+  long openUntil(long now) {
+    long openUntil = parse(readProperties(stateFile).getProperty(OPEN_UNTIL));
+    return openUntil > now ? openUntil : 0;
+  }
+
+  /** The service answered: close the circuit. */
+  void recordSuccess() {
+    Properties state = readProperties(stateFile);
+    if (parse(state.getProperty(FAILURES)) > 0 || parse(state.getProperty(OPEN_UNTIL)) > 0) {
+      writeState(new Properties());
+    }
+  }
+
+  /**
+   * The service failed: count the failure and open the circuit at the threshold.
+   *
+   * @param now current time in milliseconds
+   * @return end of the cool-down window when the circuit opened, otherwise 0
+   */
+  long recordFailure(long now) {
+    long failures = parse(readProperties(stateFile).getProperty(FAILURES)) + 1;
+    long openUntil = failures >= failureThreshold ? now + coolDownMillis : 0;
+    Properties state = new Properties();
+    state.setProperty(FAILURES, String.valueOf(failures));
+    state.setProperty(OPEN_UNTIL, String.valueOf(openUntil));
+    writeState(state);
+    return openUntil;
+  }
+
+  private void writeState(Properties state) {
+    try {
+      writeProperties(stateFile, state);
+    } catch (IOException err) {
+      // the circuit stays closed, the next build tries the service again
+    }
+  }
+
+  private static long parse(String value) {
+    return value == null || !value.matches("\\d+") ? 0 : Long.parseLong(value);
+  }
+
+  /**
+   * Read a properties file of the plugin.
+   *
+   * @param file properties file
+   * @return properties, empty when the file does not exist or can not be read
+   */
+  static Properties readProperties(Path file) {
+    Properties properties = new Properties();
+    if (Files.isRegularFile(file)) {
+      try (InputStream in = Files.newInputStream(file)) {
+        properties.load(in);
+      } catch (IOException | IllegalArgumentException err) {
+        return new Properties();
+      }
+    }
+    return properties;
+  }
+
+  /**
+   * Replace a properties file of the plugin atomically, so a concurrent build never reads half of
+   * it.
+   *
+   * @param file properties file
+   * @param properties content
+   * @throws IOException when the file can not be written
+   */
+  static void writeProperties(Path file, Properties properties) throws IOException {
+    Path dir = file.toAbsolutePath().getParent();
+    Files.createDirectories(dir);
+    Path tempFile = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+    try {
+      try (OutputStream out = Files.newOutputStream(tempFile)) {
+        properties.store(out, null);
+      }
+      Files.move(
+          tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package org.apache.maven.plugins.semver.providers;
+
+/**
+ *
+ *
+ * <h1>GitOperationListener</h1>
+ *
+ * <p>Is told about every GIT-operation the {@link RepositoryProviderImpl} performs. The plugin
+ * itself installs no listener; the goal benchmark installs one to count the operations per phase.
+ *
+ * @author sido
+ */
+@FunctionalInterface
+public interface GitOperationListener {
+
+  /** Listener that ignores all operations. */
+  GitOperationListener NONE = operation -> {};
+
+  /** GIT-operations that are reported. */
+  enum GIT_OPERATION {
+    LS_REMOTE,
+    FETCH,
+    PUSH,
+    MERGE,
+    COMMIT,
+    TAG,
+    TAG_DELETE,
+    TAG_SCAN,
+    STATUS
+  }
+
+  /**
+   * A GIT-operation is performed.
+   *
+   * @param operation {@link GIT_OPERATION}
+   */
+  void operation(GIT_OPERATION operation);
+}
@@ -0,0 +1,258 @@
+package org.apache.maven.plugins.semver.providers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.errors.RepositoryNotFoundException;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.CredentialsProvider;
+
+/**
+ *
+ *
+ * <h1>GitSessionRegistry</h1>
+ *
+ * <p>Registry of the opened SCM-repositories, keyed by their GIT-directory. Parallel module builds
+ * (<i>mvn -T</i>) that open the same repository share one {@link Git} instance. Every {@link
+ * #acquire} is counted and the repository is only closed by the {@link #release} of the last user.
+ *
+ * <p>Reads of a {@link GitSession} need no lock, JGit reads the refs from a consistent snapshot.
+ * Operations that change refs lock the stripes of those refs first, so two builds do not update
+ * the same ref at the same time while operations on unrelated refs still run in parallel.
+ *
+ * <p>The state of the remote (credentials, CI-mode, transport and ref advertisement) is kept in
+ * the session as well, so builds of different repositories never see each other's remote.
+ *
+ * @author sido
+ */
+final class GitSessionRegistry {
+
+  private static final int STRIPES = 16;
+
+  private static final ConcurrentMap<File, GitSession> SESSIONS = new ConcurrentHashMap<>();
+
+  private GitSessionRegistry() {}
+
+  /**
+   * Open the repository of a directory, or share the session that is already open.
+   *
+   * @param baseDir root-directory of the SCM-repository
+   * @return {@link GitSession}
+   * @throws IOException when there is no repository or it can not be opened
+   */
+  static GitSession acquire(File baseDir) throws IOException {
+    FileRepositoryBuilder repoBuilder = new FileRepositoryBuilder();
+    repoBuilder.addCeilingDirectory(baseDir);
+    repoBuilder.findGitDir(baseDir);
+    if (repoBuilder.getGitDir() == null) {
+      throw new RepositoryNotFoundException(baseDir);
+    }
+    try {
+      return SESSIONS.compute(
+          repoBuilder.getGitDir().getCanonicalFile(),
+          (gitDir, session) -> {
+            GitSession current = session;
+            if (current == null) {
+              try {
+                current = new GitSession(gitDir, new Git(repoBuilder.build()));
+              } catch (IOException err) {
+                throw new UncheckedIOException(err);
+              }
+            }
+            current.references++;
+            return current;
+          });
+    } catch (UncheckedIOException err) {
+      throw err.getCause();
+    }
+  }
+
+  /**
+   * Release a session; the repository is closed when this was the last user.
+   *
+   * @param session session from {@link #acquire}
+   * @return is the repository closed
+   */
+  static boolean release(GitSession session) {
+    boolean[] isClosed = new boolean[1];
+    SESSIONS.computeIfPresent(
+        session.getGitDir(),
+        (gitDir, current) -> {
+          if (current != session || --current.references > 0) {
+            return current;
+          }
+          current.close();
+          isClosed[0] = true;
+          return null;
+        });
+    return isClosed[0];
+  }
+
+  /** An opened repository with its reference count, ref locks and the state of its remote. */
+  static final class GitSession {
+    private final File gitDir;
+    private final Git git;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    /** Only changed inside the compute functions of the registry. */
+    private volatile int references = 0;
+
+    private volatile CredentialsProvider credentialsProvider;
+    private volatile boolean ciMode = false;
+    private volatile RemoteRefSnapshot remoteRefSnapshot;
+    private final AtomicInteger remoteRefHits = new AtomicInteger();
+    private final AtomicInteger remoteRefMisses = new AtomicInteger();
+    private TransportSession transportSession;
+
+    private GitSession(File gitDir, Git git) {
+      this.gitDir = gitDir;
+      this.git = git;
+      for (int i = 0; i < STRIPES; i++) {
+        stripes[i] = new ReentrantLock();
+      }
+    }
+
+    File getGitDir() {
+      return gitDir;
+    }
+
+    Git getGit() {
+      return git;
+    }
+
+    int getReferences() {
+      return references;
+    }
+
+    boolean isCiMode() {
+      return ciMode;
+    }
+
+    void setCiMode(boolean ciMode) {
+      this.ciMode = ciMode;
+    }
+
+    RemoteRefSnapshot getRemoteRefSnapshot() {
+      return remoteRefSnapshot;
+    }
+
+    void setRemoteRefSnapshot(RemoteRefSnapshot remoteRefSnapshot) {
+      this.remoteRefSnapshot = remoteRefSnapshot;
+    }
+
+    AtomicInteger getRemoteRefHits() {
+      return remoteRefHits;
+    }
+
+    AtomicInteger getRemoteRefMisses() {
+      return remoteRefMisses;
+    }
+
+    /**
+     * Use validated credentials for the remote, together with the transport they were validated
+     * on. The transport that was used before is closed.
+     *
+     * @param provider credentials for the remote
+     * @param transport transport that is opened with these credentials
+     */
+    synchronized void useCredentials(CredentialsProvider provider, TransportSession transport) {
+      if (transportSession != null && transportSession != transport) {
+        transportSession.close();
+      }
+      credentialsProvider = provider;
+      transportSession = transport;
+    }
+
+    /**
+     * Get the transport to the remote, it is opened with the credentials of the session on first
+     * use.
+     *
+     * @param remote name of the remote, for example <i>origin</i>
+     * @return {@link TransportSession}
+     */
+    synchronized TransportSession getTransportSession(String remote) {
+      if (transportSession == null) {
+        transportSession = new TransportSession(git.getRepository(), remote, credentialsProvider);
+      }
+      return transportSession;
+    }
+
+    /**
+     * The transport that is used by the session, to report its usage.
+     *
+     * @return {@link TransportSession} or null when the remote has not been used
+     */
+    synchronized TransportSession getUsedTransportSession() {
+      return transportSession;
+    }
+
+    /** Close the transport and the repository; called by the release of the last user. */
+    private synchronized void close() {
+      if (transportSession != null) {
+        transportSession.close();
+      }
+      git.close();
+    }
+
+    /**
+     * Lock the stripes of refs before changing them. The stripes are always locked in the same
+     * order, so two operations that lock more than one ref can not deadlock.
+     *
+     * @param refNames full names of the refs, for example <i>refs/tags/1.0.0</i> or <i>HEAD</i>
+     * @return lock that has to be unlocked when the refs are updated
+     */
+    RefLock lock(String... refNames) {
+      return lock(Arrays.asList(refNames));
+    }
+
+    RefLock lock(Collection<String> refNames) {
+      boolean[] locked = new boolean[STRIPES];
+      for (String refName : refNames) {
+        locked[(refName.hashCode() & Integer.MAX_VALUE) % STRIPES] = true;
+      }
+      return new RefLock(stripes, locked);
+    }
+
+    /**
+     * Lock all refs, for operations that change refs which are not known up front (fetch, merge).
+     *
+     * @return lock that has to be unlocked when the refs are updated
+     */
+    RefLock lockAll() {
+      boolean[] locked = new boolean[STRIPES];
+      Arrays.fill(locked, true);
+      return new RefLock(stripes, locked);
+    }
+  }
+
+  /** Locked stripes of a {@link GitSession}, unlocked in a finally-block. */
+  static final class RefLock {
+    private final ReentrantLock[] stripes;
+    private final boolean[] locked;
+
+    private RefLock(ReentrantLock[] stripes, boolean[] locked) {
+      this.stripes = stripes;
+      this.locked = locked;
+      for (int i = 0; i < STRIPES; i++) {
+        if (locked[i]) {
+          stripes[i].lock();
+        }
+      }
+    }
+
+    void unlock() {
+      for (int i = STRIPES - 1; i >= 0; i--) {
+        if (locked[i]) {
+          stripes[i].unlock();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package org.apache.maven.plugins.semver.providers;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ *
+ *
+ * <h1>InMemoryRelease</h1>
+ *
+ * <p>Describes a release that is committed directly into the object database: the files of the
+ * release commit, the SCM-tag on that commit and the files of the next development commit.
+ *
+ * @author sido
+ */
+public class InMemoryRelease {
+
+  private final String tag;
+  private final String releaseMessage;
+  private final String developmentMessage;
+  private final Map<File, byte[]> releaseFiles = new LinkedHashMap<>();
+  private final Map<File, byte[]> developmentFiles = new LinkedHashMap<>();
+
+  /**
+   * Create a release description.
+   *
+   * @param tag SCM-tag of the release commit
+   * @param releaseMessage commit message of the release commit
+   * @param developmentMessage commit message of the next development commit
+   */
+  public InMemoryRelease(String tag, String releaseMessage, String developmentMessage) {
+    this.tag = tag;
+    this.releaseMessage = releaseMessage;
+    this.developmentMessage = developmentMessage;
+  }
+
+  /**
+   * Add a file to the release commit.
+   *
+   * @param file file in the working tree
+   * @param content new content
+   */
+  public void addReleaseFile(File file, byte[] content) {
+    releaseFiles.put(file, content);
+  }
+
+  /**
+   * Add a file to the next development commit.
+   *
+   * @param file file in the working tree
+   * @param content new content
+   */
+  public void addDevelopmentFile(File file, byte[] content) {
+    developmentFiles.put(file, content);
+  }
+
+  public String getTag() {
+    return tag;
+  }
+
+  public String getReleaseMessage() {
+    return releaseMessage;
+  }
+
+  public String getDevelopmentMessage() {
+    return developmentMessage;
+  }
+
+  public Map<File, byte[]> getReleaseFiles() {
+    return Collections.unmodifiableMap(releaseFiles);
+  }
+
+  public Map<File, byte[]> getDevelopmentFiles() {
+    return Collections.unmodifiableMap(developmentFiles);
+  }
+}
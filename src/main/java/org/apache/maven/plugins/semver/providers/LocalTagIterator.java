@@ -0,0 +1,253 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.jgit.lib.Constants.PACKED_REFS;
+import static org.eclipse.jgit.lib.Constants.R_TAGS;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+
+/**
+ *
+ *
+ * <h1>LocalTagIterator</h1>
+ *
+ * <p>Streams the names of the local tags that start with a prefix, in name order, without loading
+ * all tags of the repository.
+ *
+ * <p>The packed-refs file is memory-mapped. When it is sorted, which is the case for every file
+ * written by git or JGit, the first matching line is found with a binary search and the scan stops
+ * as soon as the prefix range is passed. Loose tags are read from the matching part of the
+ * <i>refs/tags</i> directory only and take precedence over packed tags with the same name.
+ *
+ * @author sido
+ */
+public final class LocalTagIterator implements Iterator<String>, AutoCloseable {
+
+  private static final String LOCK_SUFFIX = ".lock";
+  private static final String SORTED_TRAIT = " sorted";
+  private static final int ID_LENGTH = 40;
+
+  private final byte[] prefix;
+  private final boolean isSorted;
+  private final Iterator<String> looseTags;
+
+  private MappedByteBuffer packedRefs;
+  private int position;
+  private String nextPacked;
+  private String nextLoose;
+  private String next;
+
+  private LocalTagIterator(
+      byte[] prefix,
+      MappedByteBuffer packedRefs,
+      int position,
+      boolean isSorted,
+      TreeSet<String> loose) {
+    this.prefix = prefix;
+    this.packedRefs = packedRefs;
+    this.position = position;
+    this.isSorted = isSorted;
+    this.looseTags = loose.iterator();
+    this.nextPacked = readPacked();
+    this.nextLoose = looseTags.hasNext() ? looseTags.next() : null;
+    this.next = advance();
+  }
+
+  /**
+   * Open an iterator on the tags of a repository.
+   *
+   * @param gitDir the <i>.git</i> directory
+   * @param tagPrefix prefix of the tag names, without <i>refs/tags/</i>
+   * @return iterator over the tag names without <i>refs/tags/</i>
+   * @throws IOException when the packed-refs file or the tag directory can not be read
+   */
+  public static LocalTagIterator open(File gitDir, String tagPrefix) throws IOException {
+    byte[] prefix = (R_TAGS + tagPrefix).getBytes(UTF_8);
+    TreeSet<String> loose = new TreeSet<>();
+    collectLoose(new File(gitDir, R_TAGS), "", tagPrefix, loose);
+
+    MappedByteBuffer packedRefs = null;
+    int position = 0;
+    boolean isSorted = false;
+    try (FileChannel channel =
+        FileChannel.open(new File(gitDir, PACKED_REFS).toPath(), StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("packed-refs is too large to map: " + channel.size());
+      }
+      packedRefs = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } catch (NoSuchFileException err) {
+      // all refs are loose
+    }
+    if (packedRefs != null) {
+      while (position < packedRefs.limit() && packedRefs.get(position) == '#') {
+        int end = lineEnd(packedRefs, position);
+        isSorted |= new String(bytes(packedRefs, position, end), UTF_8).contains(SORTED_TRAIT);
+        position = nextLine(packedRefs, position);
+      }
+      if (isSorted) {
+        position = lowerBound(packedRefs, position, prefix);
+      }
+    }
+    return new LocalTagIterator(prefix, packedRefs, position, isSorted, loose);
+  }
+
+  private static void collectLoose(File dir, String path, String tagPrefix, TreeSet<String> tags) {
+    File[] entries = dir.listFiles();
+    if (entries == null) {
+      return;
+    }
+    for (File entry : entries) {
+      String name = path + entry.getName();
+      if (entry.isDirectory()) {
+        if (name.startsWith(tagPrefix) || tagPrefix.startsWith(name + "/")) {
+          collectLoose(entry, name + "/", tagPrefix, tags);
+        }
+      } else if (name.startsWith(tagPrefix) && !name.endsWith(LOCK_SUFFIX)) {
+        tags.add(name);
+      }
+    }
+  }
+
+  /** First ref line whose name is equal or higher than the prefix. */
+  private static int lowerBound(MappedByteBuffer buffer, int from, byte[] prefix) {
+    int low = from;
+    int high = buffer.limit();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      int start = lineStart(buffer, middle);
+      if (buffer.get(start) == '^') {
+        start = lineStart(buffer, start - 1);
+      }
+      if (compareName(buffer, start, prefix) < 0) {
+        low = nextLine(buffer, start);
+      } else {
+        high = start;
+      }
+    }
+    return low;
+  }
+
+  private static int compareName(MappedByteBuffer buffer, int lineStart, byte[] prefix) {
+    int offset = lineStart + ID_LENGTH + 1;
+    int end = lineEnd(buffer, lineStart);
+    for (int i = 0; i < prefix.length; i++) {
+      if (offset + i >= end) {
+        return -1;
+      }
+      int difference = (buffer.get(offset + i) & 0xff) - (prefix[i] & 0xff);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return 0;
+  }
+
+  private static int lineStart(MappedByteBuffer buffer, int position) {
+    int start = position;
+    while (start > 0 && buffer.get(start - 1) != '\n') {
+      start--;
+    }
+    return start;
+  }
+
+  private static int lineEnd(MappedByteBuffer buffer, int position) {
+    int end = position;
+    while (end < buffer.limit() && buffer.get(end) != '\n') {
+      end++;
+    }
+    return end;
+  }
+
+  /** Start of the next ref line, peeled lines are skipped. */
+  private static int nextLine(MappedByteBuffer buffer, int position) {
+    int next = Math.min(lineEnd(buffer, position) + 1, buffer.limit());
+    while (next < buffer.limit() && buffer.get(next) == '^') {
+      next = Math.min(lineEnd(buffer, next) + 1, buffer.limit());
+    }
+    return next;
+  }
+
+  private static byte[] bytes(MappedByteBuffer buffer, int from, int to) {
+    byte[] bytes = new byte[to - from];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = buffer.get(from + i);
+    }
+    return bytes;
+  }
+
+  /** Read the next packed tag within the prefix range. */
+  private String readPacked() {
+    while (packedRefs != null && position < packedRefs.limit()) {
+      int start = position;
+      position = nextLine(packedRefs, start);
+      if (packedRefs.get(start) == '#') {
+        continue;
+      }
+      int comparison = compareName(packedRefs, start, prefix);
+      if (comparison == 0) {
+        int nameStart = start + ID_LENGTH + 1 + R_TAGS.length();
+        int nameEnd = lineEnd(packedRefs, start);
+        if (packedRefs.get(nameEnd - 1) == '\r') {
+          nameEnd--;
+        }
+        return new String(bytes(packedRefs, nameStart, nameEnd), UTF_8);
+      }
+      if (comparison > 0 && isSorted) {
+        break;
+      }
+    }
+    packedRefs = null;
+    return null;
+  }
+
+  /** Merge packed and loose tags; a loose tag hides the packed tag with the same name. */
+  private String advance() {
+    if (nextPacked == null && nextLoose == null) {
+      return null;
+    }
+    String result;
+    int comparison =
+        nextPacked == null ? 1 : nextLoose == null ? -1 : nextPacked.compareTo(nextLoose);
+    if (comparison < 0) {
+      result = nextPacked;
+      nextPacked = readPacked();
+    } else {
+      result = nextLoose;
+      nextLoose = looseTags.hasNext() ? looseTags.next() : null;
+      if (comparison == 0) {
+        nextPacked = readPacked();
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return next != null;
+  }
+
+  @Override
+  public String next() {
+    if (next == null) {
+      throw new NoSuchElementException();
+    }
+    String current = next;
+    next = advance();
+    return current;
+  }
+
+  /** Release the mapped packed-refs file. */
+  @Override
+  public void close() {
+    packedRefs = null;
+    next = null;
+  }
+}
@@ -28,4 +28,44 @@ public interface PomProvider {
    * @param developmentVersion developmentVersion
    */
   void createNextDevelopmentPom(String developmentVersion);
+
+  /**
+   * <h>Create atomic release</h>
+   *
+   * <p>Create the release-pom, the SCM-tag and the next development-pom locally and send all of
+   * them to the remote in one atomic push.
+   *
+   * @param finalVersions final versions from the plugin-goals
+   */
+  void createAtomicRelease(Map<VersionProvider.FINAL_VERSION, String> finalVersions);
+
+  /**
+   * <h>Create in-memory release</h>
+   *
+   * <p>Rewrite the pom.xml's of the reactor in memory and commit the release-pom, the SCM-tag and
+   * the next development-pom directly in the object database. The working tree is updated once, to
+   * the next development-pom.
+   *
+   * @param finalVersions final versions from the plugin-goals
+   * @param atomicPush push the release in one atomic push
+   */
+  void createInMemoryRelease(
+      Map<VersionProvider.FINAL_VERSION, String> finalVersions, boolean atomicPush);
+
+  /**
+   * <h>Check SNAPSHOT-dependencies</h>
+   *
+   * <p>Check that no module of the reactor depends on a SNAPSHOT-version before anything is
+   * committed or tagged. All SNAPSHOT-versions are reported.
+   *
+   * @return are there SNAPSHOT-dependencies?
+   */
+  boolean hasSnapshotDependencies();
+
+  /**
+   * <h>Close reactor</h>
+   *
+   * <p>Forget the pom.xml's of the reactor when the build is finished.
+   */
+  void closeReactor();
 }
@@ -1,64 +1,76 @@
 package org.apache.maven.plugins.semver.providers;
 
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static java.util.Objects.requireNonNull;
 import static org.apache.maven.plugins.semver.SemverMavenPlugin.FUNCTION_LINE_BREAK;
 import static org.apache.maven.plugins.semver.SemverMavenPlugin.MOJO_LINE_BREAK;
-import static org.twdata.maven.mojoexecutor.MojoExecutor.*;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 import org.apache.maven.execution.MavenSession;
-import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugins.semver.exceptions.SemverFailureException;
 import org.apache.maven.plugins.semver.providers.VersionProvider.FINAL_VERSION;
 import org.apache.maven.project.MavenProject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * <h>PomProviderImpl</h>
+ *
+ * <p>The provider is a singleton that can outlive a build (a MAVEN daemon), so the project and the
+ * session are looked up for the current mojo-execution on every use. The SCM-repository is looked
+ * up when the release is committed, so a goal that does not commit never loads it.
+ *
+ * @author sido
+ */
 @Named
 @Singleton
 public class PomProviderImpl implements PomProvider {
 
   private final Logger logger = LoggerFactory.getLogger(PomProviderImpl.class);
 
-  private final BuildPluginManager buildPluginManager;
-  private final MavenProject mavenProject;
-  private final MavenSession mavenSession;
-  private final RepositoryProvider repositoryProvider;
+  private final Provider<MavenProject> mavenProject;
+  private final Provider<MavenSession> mavenSession;
+  private final Provider<RepositoryProvider> repositoryProvider;
+  private final SnapshotDependencyGate snapshotDependencyGate;
+  private ReactorPomIndex reactorPomIndex;
 
   @Inject
   public PomProviderImpl(
-      MavenProject mavenProject,
-      MavenSession mavenSession,
-      BuildPluginManager buildPluginManager,
-      RepositoryProvider repositoryProvider) {
-    this.buildPluginManager = requireNonNull(buildPluginManager);
+      Provider<MavenProject> mavenProject,
+      Provider<MavenSession> mavenSession,
+      Provider<RepositoryProvider> repositoryProvider,
+      SnapshotDependencyGate snapshotDependencyGate) {
     this.mavenProject = requireNonNull(mavenProject);
     this.mavenSession = requireNonNull(mavenSession);
     this.repositoryProvider = requireNonNull(repositoryProvider);
+    this.snapshotDependencyGate = requireNonNull(snapshotDependencyGate);
   }
 
   @Override
   public void createReleasePom(Map<FINAL_VERSION, String> finalVersions) {
     logger.info("Create release-pom");
     logger.info(MOJO_LINE_BREAK);
-    MavenProject releasePom = mavenProject;
+    String commitMessage = commitReleasePom(finalVersions);
     String scmTag = finalVersions.get(FINAL_VERSION.SCM);
-    releasePom.getScm().setTag(scmTag);
-    updateVersion(releasePom, finalVersions.get(FINAL_VERSION.RELEASE));
-    releasePom.setVersion(scmTag);
-    String commitMessage =
-        "[semver-maven-plugin] create new release-pom for tag : [ " + scmTag + " ]";
-    logger.info(MOJO_LINE_BREAK);
-    logger.info("Commit new release-pom             : {}", commitMessage);
-    repositoryProvider.commit(commitMessage);
     logger.info("Push new release-pom to remote     : {}", commitMessage);
-    repositoryProvider.push();
+    repositoryProvider.get().push();
     logger.info("Create local scm-tag               : [ {} ]", scmTag);
-    repositoryProvider.createTag(scmTag);
+    repositoryProvider.get().createTag(scmTag);
     logger.info("Create remote scm-tag              : [ {} ]", scmTag);
-    repositoryProvider.pushTag();
+    repositoryProvider.get().pushTag(scmTag);
     logger.info(FUNCTION_LINE_BREAK);
   }
 
@@ -66,50 +78,192 @@ public class PomProviderImpl implements PomProvider {
   public void createNextDevelopmentPom(String developmentVersion) {
     logger.info("Create next development-pom");
     logger.info(MOJO_LINE_BREAK);
-    MavenProject nextDevelopementPom = mavenProject;
-    nextDevelopementPom.getScm().setTag("");
-    updateVersion(nextDevelopementPom, developmentVersion);
-    String commitMessage =
-        "[semver-maven-plugin] create next dev-pom version : [ " + developmentVersion + " ]";
-    logger.info(MOJO_LINE_BREAK);
-    logger.info("Commit next dev-pom                : {}", commitMessage);
-    repositoryProvider.commit(commitMessage);
+    String commitMessage = commitNextDevelopmentPom(developmentVersion);
     logger.info("Push next dev-pom to remote        : {}", commitMessage);
-    repositoryProvider.push();
+    repositoryProvider.get().push();
+    logger.info(FUNCTION_LINE_BREAK);
+  }
+
+  @Override
+  public void createAtomicRelease(Map<FINAL_VERSION, String> finalVersions) {
+    logger.info("Create atomic release");
+    logger.info(MOJO_LINE_BREAK);
+    commitReleasePom(finalVersions);
+    String scmTag = finalVersions.get(FINAL_VERSION.SCM);
+    logger.info("Create local scm-tag               : [ {} ]", scmTag);
+    repositoryProvider.get().createTag(scmTag);
+    commitNextDevelopmentPom(finalVersions.get(FINAL_VERSION.DEVELOPMENT));
+    logger.info("Push release to remote             : [ {} ]", scmTag);
+    repositoryProvider.get().pushRelease(scmTag);
     logger.info(FUNCTION_LINE_BREAK);
   }
 
-  private void checkSnapshotVersions(String version) {
+  @Override
+  public void createInMemoryRelease(Map<FINAL_VERSION, String> finalVersions, boolean atomicPush) {
+    logger.info("Create in-memory release");
+    logger.info(MOJO_LINE_BREAK);
+    String scmTag = finalVersions.get(FINAL_VERSION.SCM);
+    String releaseVersion = finalVersions.get(FINAL_VERSION.RELEASE);
+    String developmentVersion = finalVersions.get(FINAL_VERSION.DEVELOPMENT);
+    InMemoryRelease release =
+        new InMemoryRelease(
+            scmTag,
+            "[semver-maven-plugin] create new release-pom for tag : [ " + scmTag + " ]",
+            "[semver-maven-plugin] create next dev-pom version : [ " + developmentVersion + " ]");
+
+    String currentVersion = mavenProject.get().getVersion();
     try {
-      executeMojo(
-          plugin(groupId("org.codehaus.mojo"), artifactId("versions-maven-plugin"), version("2.3")),
-          goal("set"),
-          configuration(
-              element(name("generateBackupPoms"), "false"), element(name("newVersion"), version)),
-          executionEnvironment(mavenProject, mavenSession, buildPluginManager));
-    } catch (Exception err) {
+      ReactorPomIndex index = scanReactor();
+      for (Map.Entry<Path, String> pom : index.rewrite(currentVersion, releaseVersion).entrySet()) {
+        release.addReleaseFile(pom.getKey().toFile(), pom.getValue().getBytes(ISO_8859_1));
+      }
+      for (Map.Entry<Path, String> pom :
+          index.rewrite(releaseVersion, developmentVersion).entrySet()) {
+        release.addDevelopmentFile(pom.getKey().toFile(), pom.getValue().getBytes(ISO_8859_1));
+      }
+    } catch (IOException err) {
       logger.error(err.getMessage());
+      throw new SemverFailureException("Could not create the release-poms for " + scmTag, err);
+    }
+    mavenProject.get().getScm().setTag(scmTag);
+
+    logger.info("Commit new release-pom             : {}", release.getReleaseMessage());
+    logger.info("Create local scm-tag               : [ {} ]", scmTag);
+    logger.info("Commit next dev-pom                : {}", release.getDevelopmentMessage());
+    repositoryProvider.get().commitInMemory(release);
+    logger.info("Push release to remote             : [ {} ]", scmTag);
+    if (atomicPush) {
+      repositoryProvider.get().pushRelease(scmTag);
+    } else {
+      repositoryProvider.get().push();
+      logger.info("Create remote scm-tag              : [ {} ]", scmTag);
+      repositoryProvider.get().pushTag(scmTag);
+    }
+    logger.info(FUNCTION_LINE_BREAK);
+  }
+
+  @Override
+  public void closeReactor() {
+    reactorPomIndex = null;
+  }
+
+  @Override
+  public boolean hasSnapshotDependencies() {
+    logger.info("Check on SNAPSHOT-dependencies");
+    logger.info(MOJO_LINE_BREAK);
+    List<String> snapshots =
+        snapshotDependencyGate.findSnapshots(mavenSession.get().getProjects());
+    if (!snapshots.isEmpty()) {
+      logger.error("");
+      logger.error("The reactor depends on SNAPSHOT-versions, release them first:");
+      for (String snapshot : snapshots) {
+        logger.error(" * {}", snapshot);
+      }
+      logger.error("");
     }
+    logger.info(FUNCTION_LINE_BREAK);
+    return !snapshots.isEmpty();
+  }
+
+  /**
+   * Update the pom.xml to the release-version and commit it locally.
+   *
+   * @param finalVersions final versions from the plugin-goals
+   * @return commit message
+   */
+  private String commitReleasePom(Map<FINAL_VERSION, String> finalVersions) {
+    MavenProject releasePom = mavenProject.get();
+    String scmTag = finalVersions.get(FINAL_VERSION.SCM);
+    releasePom.getScm().setTag(scmTag);
+    Set<File> pomFiles = updateVersion(finalVersions.get(FINAL_VERSION.RELEASE));
+    releasePom.setVersion(scmTag);
+    String commitMessage =
+        "[semver-maven-plugin] create new release-pom for tag : [ " + scmTag + " ]";
+    logger.info(MOJO_LINE_BREAK);
+    logger.info("Commit new release-pom             : {}", commitMessage);
+    repositoryProvider.get().commit(commitMessage, pomFiles);
+    return commitMessage;
+  }
+
+  /**
+   * Update the pom.xml to the next development-version and commit it locally.
+   *
+   * @param developmentVersion developmentVersion
+   * @return commit message
+   */
+  private String commitNextDevelopmentPom(String developmentVersion) {
+    MavenProject nextDevelopementPom = mavenProject.get();
+    nextDevelopementPom.getScm().setTag("");
+    Set<File> pomFiles = updateVersion(developmentVersion);
+    String commitMessage =
+        "[semver-maven-plugin] create next dev-pom version : [ " + developmentVersion + " ]";
+    logger.info(MOJO_LINE_BREAK);
+    logger.info("Commit next dev-pom                : {}", commitMessage);
+    repositoryProvider.get().commit(commitMessage, pomFiles);
+    return commitMessage;
   }
 
   /**
    * <h>Update pom-versions</h>
    *
-   * <p>Makes use the versions-plugin to advance the pom.xml's.
+   * <p>Rewrites the version of all pom.xml's in the reactor in-process through a {@link
+   * ReactorPomIndex}. Only the pom.xml's that reference the current version are rewritten, in
+   * parallel, and each is replaced atomically. The index is kept for the next update in the same
+   * build, so the next development version does not scan the reactor again.
    *
-   * @param project {@link MavenProject} from parent Mojo
    * @param version the updated version
+   * @return the pom.xml of this project and the rewritten pom.xml's, the files to commit
    */
-  private void updateVersion(MavenProject project, String version) {
+  private Set<File> updateVersion(String version) {
+    Set<File> commitFiles = new LinkedHashSet<>();
+    if (mavenProject.get().getFile() == null) {
+      logger.error("No pom.xml found to update to version [ {} ]", version);
+      return commitFiles;
+    }
+    commitFiles.add(mavenProject.get().getFile());
     try {
-      executeMojo(
-          plugin(groupId("org.codehaus.mojo"), artifactId("versions-maven-plugin"), version("2.3")),
-          goal("set"),
-          configuration(
-              element(name("generateBackupPoms"), "false"), element(name("newVersion"), version)),
-          executionEnvironment(project, mavenSession, buildPluginManager));
-    } catch (Exception err) {
+      List<Path> pomFiles = reactorPomFiles();
+      if (reactorPomIndex == null || !reactorPomIndex.isCurrent(pomFiles)) {
+        reactorPomIndex = scanReactor();
+      }
+      String currentVersion = reactorPomIndex.getVersion();
+      List<Path> updated = reactorPomIndex.update(currentVersion, version);
+      for (Path pomFile : updated) {
+        commitFiles.add(pomFile.toFile());
+      }
+      logger.info(
+          "Update pom-versions                : [ {} -> {} ] [ {} of {} pom.xml's ]",
+          currentVersion,
+          version,
+          updated.size(),
+          pomFiles.size());
+    } catch (IOException err) {
+      reactorPomIndex = null;
       logger.error(err.getMessage());
+      throw new SemverFailureException("Could not update the pom-versions to " + version, err);
+    }
+    return commitFiles;
+  }
+
+  private ReactorPomIndex scanReactor() throws IOException {
+    Set<String> reactorKeys = new HashSet<>();
+    for (MavenProject project : mavenSession.get().getProjects()) {
+      reactorKeys.add(project.getGroupId() + ":" + project.getArtifactId());
+    }
+    return ReactorPomIndex.scan(ForkJoinPool.commonPool(), reactorPomFiles(), reactorKeys);
+  }
+
+  /** The pom.xml's of the reactor, with the pom.xml of this project first. */
+  private List<Path> reactorPomFiles() {
+    Path rootPom = mavenProject.get().getFile().toPath();
+    List<Path> pomFiles = new ArrayList<>();
+    pomFiles.add(rootPom);
+    for (MavenProject project : mavenSession.get().getProjects()) {
+      Path pomFile = project.getFile().toPath();
+      if (!pomFile.equals(rootPom)) {
+        pomFiles.add(pomFile);
+      }
     }
+    return pomFiles;
   }
 }
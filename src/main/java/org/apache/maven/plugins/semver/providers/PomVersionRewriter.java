@@ -0,0 +1,275 @@
+package org.apache.maven.plugins.semver.providers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ *
+ *
+ * <h1>PomVersionRewriter</h1>
+ *
+ * <p>Rewrites the version of a pom.xml in memory without touching anything else in the file.
+ *
+ * <p>The pom is scanned once as a stream of tags. Only the text of these elements is replaced, and
+ * only when it holds the old version:
+ *
+ * <ul>
+ *   <li><i>project/version</i>
+ *   <li><i>project/parent/version</i>, when the parent is part of the reactor
+ *   <li><i>version</i> of <i>project/dependencies</i> and <i>project/dependencyManagement</i>
+ *       dependencies that are part of the reactor
+ * </ul>
+ *
+ * <p>A dependency with <i>${project.groupId}</i> or <i>${project.parent.groupId}</i> as groupId is
+ * matched with the groupId of the pom. Versions that are properties, like
+ * <i>${project.version}</i>, follow by themselves and are left alone. Comments, whitespace,
+ * attribute order and line endings stay as they are.
+ *
+ * @author sido
+ */
+public final class PomVersionRewriter {
+
+  private static final String PROJECT = "project";
+  private static final String PARENT = "parent";
+  private static final String VERSION = "version";
+  private static final String GROUP_ID = "groupId";
+  private static final String ARTIFACT_ID = "artifactId";
+  private static final String DEPENDENCIES = "dependencies";
+  private static final String DEPENDENCY = "dependency";
+  private static final String DEPENDENCY_MANAGEMENT = "dependencyManagement";
+  private static final String PROJECT_GROUP_ID = "${project.groupId}";
+  private static final String PARENT_GROUP_ID = "${project.parent.groupId}";
+
+  private PomVersionRewriter() {}
+
+  /**
+   * Rewrite the versions in a pom.
+   *
+   * @param pom content of the pom.xml
+   * @param oldVersion version that has to be replaced
+   * @param newVersion replacement version
+   * @param reactorProjects <i>groupId:artifactId</i> of all projects in the reactor
+   * @return the rewritten pom or the same content when nothing had to change
+   */
+  public static String rewrite(
+      String pom, String oldVersion, String newVersion, Set<String> reactorProjects) {
+    List<int[]> replacements = new ArrayList<>();
+    for (int[] range : versionRanges(pom, reactorProjects)) {
+      if (isVersion(pom, range, oldVersion)) {
+        replacements.add(range);
+      }
+    }
+    return apply(pom, replacements, newVersion);
+  }
+
+  /**
+   * Find the versions in a pom that follow the version of the reactor: the project version and the
+   * versions of the parent and dependencies that are part of the reactor.
+   *
+   * @param pom content of the pom.xml
+   * @param reactorProjects <i>groupId:artifactId</i> of all projects in the reactor
+   * @return text ranges <i>[start, end)</i> of the versions in the order they appear
+   */
+  public static List<int[]> versionRanges(String pom, Set<String> reactorProjects) {
+    PomScan scan = scan(pom);
+    List<int[]> ranges = new ArrayList<>();
+    if (scan.projectVersion != null) {
+      ranges.add(scan.projectVersion);
+    }
+    if (scan.parentVersion != null
+        && reactorProjects.contains(scan.parentGroupId + ":" + scan.parentArtifactId)) {
+      ranges.add(scan.parentVersion);
+    }
+    for (Dependency dependency : scan.dependencies) {
+      String groupId = dependency.groupId;
+      if (PROJECT_GROUP_ID.equals(groupId)) {
+        groupId = scan.projectGroupId != null ? scan.projectGroupId : scan.parentGroupId;
+      } else if (PARENT_GROUP_ID.equals(groupId)) {
+        groupId = scan.parentGroupId;
+      }
+      if (reactorProjects.contains(groupId + ":" + dependency.artifactId)) {
+        ranges.add(dependency.version);
+      }
+    }
+    ranges.sort((left, right) -> Integer.compare(left[0], right[0]));
+    return ranges;
+  }
+
+  /**
+   * Check if a text range of the pom holds a version.
+   *
+   * @param pom content of the pom.xml
+   * @param range text range <i>[start, end)</i>
+   * @param version version to compare with
+   * @return is it the version?
+   */
+  public static boolean isVersion(String pom, int[] range, String version) {
+    return range[1] - range[0] == version.length()
+        && pom.regionMatches(range[0], version, 0, version.length());
+  }
+
+  /**
+   * Read the version of a pom: the <i>project/version</i>, or the parent version when the project
+   * inherits it.
+   *
+   * @param pom content of the pom.xml
+   * @return version, or null when the pom has none
+   */
+  public static String readVersion(String pom) {
+    PomScan scan = scan(pom);
+    return scan.projectVersionText != null ? scan.projectVersionText : scan.parentVersionText;
+  }
+
+  /** Scan the tags of the pom and keep the coordinates and text ranges of the versions. */
+  private static PomScan scan(String pom) {
+    PomScan scan = new PomScan();
+    List<String> path = new ArrayList<>();
+    Dependency dependency = null;
+    int textStart = -1;
+
+    int position = 0;
+    while (position < pom.length()) {
+      int open = pom.indexOf('<', position);
+      if (open < 0) {
+        break;
+      }
+      if (pom.startsWith("<!--", open)) {
+        position = skip(pom, open, "-->");
+      } else if (pom.startsWith("<![CDATA[", open)) {
+        position = skip(pom, open, "]]>");
+      } else if (pom.startsWith("<?", open)) {
+        position = skip(pom, open, "?>");
+      } else if (pom.startsWith("<!", open)) {
+        position = skip(pom, open, ">");
+      } else {
+        int close = pom.indexOf('>', open);
+        if (close < 0) {
+          break;
+        }
+        position = close + 1;
+        boolean isEnd = pom.charAt(open + 1) == '/';
+        boolean isEmpty = pom.charAt(close - 1) == '/';
+        String name = elementName(pom, isEnd ? open + 2 : open + 1, close);
+        if (isEnd) {
+          int[] range = trim(pom, textStart, open);
+          if (isAt(path, PROJECT, VERSION)) {
+            scan.projectVersionText = text(pom, range);
+            scan.projectVersion = range;
+          } else if (isAt(path, PROJECT, GROUP_ID)) {
+            scan.projectGroupId = text(pom, range);
+          } else if (isAt(path, PROJECT, PARENT, VERSION)) {
+            scan.parentVersionText = text(pom, range);
+            scan.parentVersion = range;
+          } else if (isAt(path, PROJECT, PARENT, GROUP_ID)) {
+            scan.parentGroupId = text(pom, range);
+          } else if (isAt(path, PROJECT, PARENT, ARTIFACT_ID)) {
+            scan.parentArtifactId = text(pom, range);
+          } else if (dependency != null && path.size() == dependency.depth + 1) {
+            if (GROUP_ID.equals(name)) {
+              dependency.groupId = text(pom, range);
+            } else if (ARTIFACT_ID.equals(name)) {
+              dependency.artifactId = text(pom, range);
+            } else if (VERSION.equals(name)) {
+              dependency.version = range;
+            }
+          } else if (dependency != null && path.size() == dependency.depth) {
+            if (dependency.version != null) {
+              scan.dependencies.add(dependency);
+            }
+            dependency = null;
+          }
+          if (!path.isEmpty()) {
+            path.remove(path.size() - 1);
+          }
+        } else if (!isEmpty) {
+          path.add(name);
+          textStart = position;
+          if (isAt(path, PROJECT, DEPENDENCIES, DEPENDENCY)
+              || isAt(path, PROJECT, DEPENDENCY_MANAGEMENT, DEPENDENCIES, DEPENDENCY)) {
+            dependency = new Dependency(path.size());
+          }
+        }
+      }
+    }
+    return scan;
+  }
+
+  private static boolean isAt(List<String> path, String... elements) {
+    if (path.size() != elements.length) {
+      return false;
+    }
+    for (int i = elements.length - 1; i >= 0; i--) {
+      if (!elements[i].equals(path.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int skip(String pom, int from, String terminator) {
+    int end = pom.indexOf(terminator, from);
+    return end < 0 ? pom.length() : end + terminator.length();
+  }
+
+  private static String elementName(String pom, int from, int to) {
+    int end = from;
+    while (end < to && !Character.isWhitespace(pom.charAt(end)) && pom.charAt(end) != '/') {
+      end++;
+    }
+    return pom.substring(from, end);
+  }
+
+  private static int[] trim(String pom, int from, int to) {
+    int start = Math.max(0, from);
+    int end = Math.max(start, to);
+    while (start < end && Character.isWhitespace(pom.charAt(start))) {
+      start++;
+    }
+    while (end > start && Character.isWhitespace(pom.charAt(end - 1))) {
+      end--;
+    }
+    return new int[] {start, end};
+  }
+
+  private static String text(String pom, int[] range) {
+    return pom.substring(range[0], range[1]);
+  }
+
+  private static String apply(String pom, List<int[]> replacements, String newVersion) {
+    if (replacements.isEmpty()) {
+      return pom;
+    }
+    StringBuilder rewritten = new StringBuilder(pom.length() + 16 * replacements.size());
+    int position = 0;
+    for (int[] range : replacements) {
+      rewritten.append(pom, position, range[0]).append(newVersion);
+      position = range[1];
+    }
+    return rewritten.append(pom, position, pom.length()).toString();
+  }
+
+  /** Coordinates and version ranges found in one pom. */
+  private static final class PomScan {
+    private String projectGroupId;
+    private String projectVersionText;
+    private int[] projectVersion;
+    private String parentGroupId;
+    private String parentArtifactId;
+    private String parentVersionText;
+    private int[] parentVersion;
+    private final List<Dependency> dependencies = new ArrayList<>();
+  }
+
+  /** A dependency with a version. */
+  private static final class Dependency {
+    private final int depth;
+    private String groupId;
+    private String artifactId;
+    private int[] version;
+
+    private Dependency(int depth) {
+      this.depth = depth;
+    }
+  }
+}
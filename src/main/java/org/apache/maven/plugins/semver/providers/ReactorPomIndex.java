@@ -0,0 +1,266 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+/**
+ *
+ *
+ * <h1>ReactorPomIndex</h1>
+ *
+ * <p>Index of the pom.xml's of a reactor: per file the content and the text ranges of the versions
+ * that reference a reactor project (see {@link PomVersionRewriter#versionRanges}).
+ *
+ * <p>The files are scanned once, in parallel. A version update only touches the files that
+ * reference the old version and splices the new version into the known ranges, also in parallel.
+ * The index then holds the updated content, so the next update (the release is followed by the
+ * next development version) does not scan again. A file that changed on disk in the meantime makes
+ * the index stale.
+ *
+ * @author sido
+ */
+public final class ReactorPomIndex {
+
+  private final ForkJoinPool pool;
+  private final List<Entry> entries;
+  private String version;
+
+  private ReactorPomIndex(ForkJoinPool pool, List<Entry> entries, String version) {
+    this.pool = pool;
+    this.entries = entries;
+    this.version = version;
+  }
+
+  /**
+   * Scan the pom.xml's of a reactor.
+   *
+   * @param pool pool the files are scanned and rewritten on
+   * @param pomFiles pom.xml's of the reactor, the root pom.xml first
+   * @param reactorProjects <i>groupId:artifactId</i> of all projects in the reactor
+   * @return {@link ReactorPomIndex}
+   * @throws IOException when a pom.xml can not be read
+   */
+  public static ReactorPomIndex scan(
+      ForkJoinPool pool, List<Path> pomFiles, Set<String> reactorProjects) throws IOException {
+    List<Entry> entries =
+        join(
+            pool.submit(
+                () ->
+                    pomFiles
+                        .parallelStream()
+                        .map(pomFile -> Entry.scan(pomFile, reactorProjects))
+                        .collect(Collectors.toList())));
+    String version = entries.isEmpty() ? null : PomVersionRewriter.readVersion(entries.get(0).pom);
+    return new ReactorPomIndex(pool, entries, version);
+  }
+
+  /**
+   * Check if the index still describes these pom.xml's as they are on disk.
+   *
+   * @param pomFiles pom.xml's of the reactor
+   * @return is current?
+   */
+  public boolean isCurrent(List<Path> pomFiles) {
+    if (pomFiles.size() != entries.size()) {
+      return false;
+    }
+    for (int i = 0; i < entries.size(); i++) {
+      if (!entries.get(i).isCurrent(pomFiles.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Version of the root pom.xml.
+   *
+   * @return version, or null when it has none
+   */
+  public String getVersion() {
+    return version;
+  }
+
+  /**
+   * Rewrite the versions in memory. Files that do not reference the old version are skipped. The
+   * index holds the rewritten content afterwards, without checking the files on disk.
+   *
+   * @param oldVersion version that has to be replaced
+   * @param newVersion replacement version
+   * @return rewritten content per pom.xml, only of the files that changed
+   */
+  public Map<Path, String> rewrite(String oldVersion, String newVersion) {
+    List<Entry> affected = affected(oldVersion);
+    pool.submit(
+            () -> affected.parallelStream().forEach(entry -> entry.rewrite(oldVersion, newVersion)))
+        .join();
+    if (oldVersion.equals(version)) {
+      version = newVersion;
+    }
+    Map<Path, String> rewritten = new LinkedHashMap<>();
+    for (Entry entry : affected) {
+      rewritten.put(entry.file, entry.pom);
+    }
+    return rewritten;
+  }
+
+  /**
+   * Rewrite the versions and replace the pom.xml's on disk atomically. Files that do not reference
+   * the old version are skipped.
+   *
+   * @param oldVersion version that has to be replaced
+   * @param newVersion replacement version
+   * @return the pom.xml's that are written
+   * @throws IOException when a pom.xml can not be written
+   */
+  public List<Path> update(String oldVersion, String newVersion) throws IOException {
+    List<Entry> affected = affected(oldVersion);
+    join(
+        pool.submit(
+            () ->
+                affected
+                    .parallelStream()
+                    .forEach(
+                        entry -> {
+                          entry.rewrite(oldVersion, newVersion);
+                          entry.write();
+                        })));
+    if (oldVersion.equals(version)) {
+      version = newVersion;
+    }
+    List<Path> written = new ArrayList<>(affected.size());
+    for (Entry entry : affected) {
+      written.add(entry.file);
+    }
+    return written;
+  }
+
+  private List<Entry> affected(String oldVersion) {
+    List<Entry> affected = new ArrayList<>();
+    for (Entry entry : entries) {
+      if (entry.references(oldVersion)) {
+        affected.add(entry);
+      }
+    }
+    return affected;
+  }
+
+  /** Wait for a task on the pool; the parallel streams throw {@link UncheckedIOException}. */
+  private static <T> T join(ForkJoinTask<T> task) throws IOException {
+    try {
+      return task.join();
+    } catch (UncheckedIOException err) {
+      throw err.getCause();
+    }
+  }
+
+  /** Content and version ranges of one pom.xml. */
+  private static final class Entry {
+    private final Path file;
+    private String pom;
+    private List<int[]> ranges;
+    private long lastModified;
+    private long size;
+
+    private Entry(Path file, String pom, List<int[]> ranges) {
+      this.file = file;
+      this.pom = pom;
+      this.ranges = ranges;
+    }
+
+    private static Entry scan(Path file, Set<String> reactorProjects) {
+      try {
+        String pom = new String(Files.readAllBytes(file), ISO_8859_1);
+        Entry entry = new Entry(file, pom, PomVersionRewriter.versionRanges(pom, reactorProjects));
+        entry.stat();
+        return entry;
+      } catch (IOException err) {
+        throw new UncheckedIOException(err);
+      }
+    }
+
+    private boolean references(String version) {
+      for (int[] range : ranges) {
+        if (PomVersionRewriter.isVersion(pom, range, version)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /** Splice the new version into the ranges that hold the old version and shift the others. */
+    private void rewrite(String oldVersion, String newVersion) {
+      StringBuilder rewritten = new StringBuilder(pom.length() + 16 * ranges.size());
+      List<int[]> shifted = new ArrayList<>(ranges.size());
+      int position = 0;
+      for (int[] range : ranges) {
+        rewritten.append(pom, position, range[0]);
+        int start = rewritten.length();
+        if (PomVersionRewriter.isVersion(pom, range, oldVersion)) {
+          rewritten.append(newVersion);
+        } else {
+          rewritten.append(pom, range[0], range[1]);
+        }
+        shifted.add(new int[] {start, rewritten.length()});
+        position = range[1];
+      }
+      pom = rewritten.append(pom, position, pom.length()).toString();
+      ranges = Collections.unmodifiableList(shifted);
+    }
+
+    /**
+     * Write next to the pom.xml and move it in place, a failed write never leaves half a pom. The
+     * temp-file gets the permissions of the pom.xml, as it replaces the pom.xml with its own.
+     */
+    private void write() {
+      try {
+        Path tempFile =
+            Files.createTempFile(
+                file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+          Files.write(tempFile, pom.getBytes(ISO_8859_1));
+          if (Files.getFileStore(file).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.setPosixFilePermissions(tempFile, Files.getPosixFilePermissions(file));
+          }
+          Files.move(
+              tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+          Files.deleteIfExists(tempFile);
+        }
+        stat();
+      } catch (IOException err) {
+        throw new UncheckedIOException(err);
+      }
+    }
+
+    private void stat() throws IOException {
+      lastModified = Files.getLastModifiedTime(file).toMillis();
+      size = Files.size(file);
+    }
+
+    private boolean isCurrent(Path pomFile) {
+      try {
+        return file.equals(pomFile)
+            && Files.getLastModifiedTime(file).toMillis() == lastModified
+            && Files.size(file) == size;
+      } catch (IOException err) {
+        return false;
+      }
+    }
+  }
+}
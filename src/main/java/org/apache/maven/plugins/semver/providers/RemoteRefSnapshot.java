@@ -0,0 +1,85 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static org.eclipse.jgit.lib.Constants.R_TAGS;
+
+import java.util.Collections;
+import java.util.Map;
+import org.eclipse.jgit.lib.Ref;
+
+/**
+ *
+ *
+ * <h1>RemoteRefSnapshot</h1>
+ *
+ * <p>Holds the ref advertisement of the remote SCM-repository as it was read by one
+ * <i>ls-remote</i>.
+ *
+ * <p>The snapshot is taken once per plugin invocation and shared by every remote check in {@link
+ * RepositoryProviderImpl}, so credential validation, ahead-of-remote detection and the remote tag
+ * comparison all cost a single network round trip.
+ *
+ * @author sido
+ */
+public class RemoteRefSnapshot {
+
+  /** Suffix of the advertised entry with the peeled id of an annotated tag. */
+  static final String PEELED_SUFFIX = "^{}";
+
+  private final Map<String, Ref> refs;
+
+  /** Built on first use; the snapshot is shared by parallel builds. */
+  private volatile RemoteTagIndex tagIndex;
+
+  /**
+   * Create a snapshot from an advertised ref map.
+   *
+   * @param refs advertised refs keyed by full ref name, the map is not copied
+   */
+  public RemoteRefSnapshot(Map<String, Ref> refs) {
+    this.refs = Collections.unmodifiableMap(refs);
+  }
+
+  /**
+   * All advertised refs keyed by full ref name.
+   *
+   * @return advertised refs
+   */
+  public Map<String, Ref> getRefs() {
+    return refs;
+  }
+
+  /**
+   * Get an advertised ref by its full name.
+   *
+   * @param name full ref name, for example <i>refs/tags/1.0.0</i>
+   * @return the advertised ref or null when the remote does not have it
+   */
+  public Ref getRef(String name) {
+    return refs.get(name);
+  }
+
+  /**
+   * Get the index of the advertised tags. It is built on first use and then kept for the lifetime
+   * of this snapshot.
+   *
+   * @return {@link RemoteTagIndex}
+   */
+  public RemoteTagIndex getTagIndex() {
+    RemoteTagIndex index = tagIndex;
+    if (index == null) {
+      index = RemoteTagIndex.of(refs);
+      tagIndex = index;
+    }
+    return index;
+  }
+
+  /**
+   * Is the advertised ref a tag?
+   *
+   * @param name full ref name
+   * @return is tag
+   */
+  static boolean isTag(String name) {
+    return name.startsWith(R_TAGS) && !name.endsWith(PEELED_SUFFIX);
+  }
+}
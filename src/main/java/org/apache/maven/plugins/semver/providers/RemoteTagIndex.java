@@ -0,0 +1,157 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static org.eclipse.jgit.lib.Constants.OBJECT_ID_LENGTH;
+import static org.eclipse.jgit.lib.Constants.R_TAGS;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+
+/**
+ *
+ *
+ * <h1>RemoteTagIndex</h1>
+ *
+ * <p>Index of the tags advertised by the remote SCM-repository.
+ *
+ * <p>Annotated tags are peeled, so every tag name maps to the commit it points at. The tag names
+ * are held in one sorted array and the commit-ids in one packed byte-array, which keeps the index
+ * small for repositories with tens of thousands of tags. Lookups are binary searches.
+ *
+ * @author sido
+ */
+public final class RemoteTagIndex {
+
+  private final String[] names;
+  private final byte[] commitIds;
+
+  /** Built on first use; the index is shared by parallel builds. */
+  private volatile SemverTagIndex versionIndex;
+
+  private RemoteTagIndex(String[] names, byte[] commitIds) {
+    this.names = names;
+    this.commitIds = commitIds;
+  }
+
+  /**
+   * Build the index from an advertised ref map.
+   *
+   * @param advertisedRefs refs keyed by full ref name as returned by <i>ls-remote</i>
+   * @return {@link RemoteTagIndex}
+   */
+  public static RemoteTagIndex of(Map<String, Ref> advertisedRefs) {
+    int size = 0;
+    Ref[] tags = new Ref[advertisedRefs.size()];
+    for (Ref ref : advertisedRefs.values()) {
+      if (RemoteRefSnapshot.isTag(ref.getName())) {
+        tags[size++] = ref;
+      }
+    }
+    Arrays.sort(tags, 0, size, Comparator.comparing(Ref::getName));
+
+    String[] names = new String[size];
+    byte[] commitIds = new byte[size * OBJECT_ID_LENGTH];
+    for (int i = 0; i < size; i++) {
+      Ref tag = tags[i];
+      names[i] = tag.getName().substring(R_TAGS.length());
+      peel(tag, advertisedRefs).copyRawTo(commitIds, i * OBJECT_ID_LENGTH);
+    }
+    return new RemoteTagIndex(names, commitIds);
+  }
+
+  /**
+   * Determine the commit a tag points at. Depending on the protocol the peeled id is either part
+   * of the ref or advertised as a separate <i>^{}</i> entry.
+   *
+   * @param tag advertised tag
+   * @param advertisedRefs complete advertisement
+   * @return commit-id
+   */
+  private static ObjectId peel(Ref tag, Map<String, Ref> advertisedRefs) {
+    if (tag.getPeeledObjectId() != null) {
+      return tag.getPeeledObjectId();
+    }
+    Ref peeled = advertisedRefs.get(tag.getName() + RemoteRefSnapshot.PEELED_SUFFIX);
+    if (peeled != null) {
+      return peeled.getObjectId();
+    }
+    return tag.getObjectId();
+  }
+
+  /**
+   * Number of remote tags.
+   *
+   * @return size
+   */
+  public int size() {
+    return names.length;
+  }
+
+  /**
+   * Does the remote have this tag?
+   *
+   * @param tag tag name without <i>refs/tags/</i>
+   * @return is present
+   */
+  public boolean contains(String tag) {
+    return Arrays.binarySearch(names, tag) >= 0;
+  }
+
+  /**
+   * Get the commit a remote tag points at.
+   *
+   * @param tag tag name without <i>refs/tags/</i>
+   * @return commit-id or null when the remote does not have the tag
+   */
+  public ObjectId getCommitId(String tag) {
+    int index = Arrays.binarySearch(names, tag);
+    return index >= 0 ? getCommitId(index) : null;
+  }
+
+  /**
+   * Get the commit of the tag at a position in the index.
+   *
+   * @param index position in the sorted index
+   * @return commit-id
+   */
+  public ObjectId getCommitId(int index) {
+    return ObjectId.fromRaw(commitIds, index * OBJECT_ID_LENGTH);
+  }
+
+  /**
+   * Get the tag name at a position in the index.
+   *
+   * @param index position in the sorted index
+   * @return tag name without <i>refs/tags/</i>
+   */
+  public String getTagName(int index) {
+    return names[index];
+  }
+
+  /**
+   * Get the remote tags sorted on their semantic version. The version index is built on first use.
+   *
+   * @return {@link SemverTagIndex}
+   */
+  public SemverTagIndex getVersionIndex() {
+    SemverTagIndex index = versionIndex;
+    if (index == null) {
+      index = SemverTagIndex.of(getTagNames());
+      versionIndex = index;
+    }
+    return index;
+  }
+
+  /**
+   * Sorted, read-only view on all remote tag names.
+   *
+   * @return tag names without <i>refs/tags/</i>
+   */
+  public List<String> getTagNames() {
+    return Collections.unmodifiableList(Arrays.asList(names));
+  }
+}
@@ -1,12 +1,9 @@
 package org.apache.maven.plugins.semver.providers;
 
 import java.io.File;
-import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import org.apache.maven.plugins.semver.configuration.SemverConfiguration;
-import org.apache.maven.plugins.semver.exceptions.SemverException;
-import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.lib.Ref;
 
 /**
@@ -33,7 +30,35 @@ public interface RepositoryProvider {
   void initialize(File baseDir, String scmUrl, String configScmUsername, String configScmPassword);
 
   /**
-   * Is the repotistory succesfully initialized?
+   * Open the local GIT-repository, without contacting the remote. First step of {@link
+   * #initialize(File, String, String, String)}.
+   *
+   * @param baseDir baseDirectory of GIT-repository
+   */
+  void openRepository(File baseDir);
+
+  /**
+   * Validate the credentials against the remote and keep its ref advertisement. Second step of
+   * {@link #initialize(File, String, String, String)}; prompts for credentials when they are not
+   * configured or not valid.
+   *
+   * @param scmUrl repository url
+   * @param configScmUsername scmUsername from {@link SemverConfiguration}
+   * @param configScmPassword scmPassword from {@link SemverConfiguration}
+   */
+  void initializeCredentials(String scmUrl, String configScmUsername, String configScmPassword);
+
+  /**
+   * Switch the opened repository to CI-mode. In CI-mode only the tags and the tip of the current
+   * branch are fetched and only the current branch is compared with the remote, which suits the
+   * shallow single-branch clones of build agents.
+   *
+   * @param ciMode is CI-mode enabled?
+   */
+  void setCiMode(boolean ciMode);
+
+  /**
+   * Is the local repository succesfully opened?
    *
    * @return isInitialized
    */
@@ -61,11 +86,37 @@ public interface RepositoryProvider {
   List<Ref> getLocalTags();
 
   /**
-   * Return a list of remote SCM-tags.
+   * Return the local SCM-tags as an index sorted on their semantic version.
+   *
+   * @return local SCM-tags
+   */
+  SemverTagIndex getLocalTagIndex();
+
+  /**
+   * Stream the local SCM-tags that start with a prefix, in name order. The iterator has to be
+   * closed.
+   *
+   * @param prefix prefix of the tag names
+   * @return iterator over the tag names
+   */
+  LocalTagIterator iterateLocalTags(String prefix);
+
+  /**
+   * Find the local SCM-tags that belong to a version: the version itself and the tags that extend
+   * it with pre-release or build-metadata. Versions that are not semantic are matched on their
+   * name.
+   *
+   * @param version for example <i>1.2.3</i>
+   * @return matching local SCM-tags
+   */
+  List<String> findLocalTags(String version);
+
+  /**
+   * Return the index of remote SCM-tags. Annotated tags are peeled to the commit they point at.
    *
    * @return remote SCM-tags
    */
-  Map<String, Ref> getRemoteTags();
+  RemoteTagIndex getRemoteTags();
 
   /**
    * Create a local SCM-tag.
@@ -84,12 +135,22 @@ public interface RepositoryProvider {
   void deleteTag(String tag);
 
   /**
-   * Perform a commit on the local repository
+   * Perform a commit of the given files on the local repository. Other changes in the working tree
+   * are left out of the commit. Without files nothing is committed and the semver-goal fails.
    *
    * @param message SCM-commit message
-   * @return is the commit completed?
+   * @param files files to commit, for example the rewritten pom.xml's
+   */
+  void commit(String message, Collection<File> files);
+
+  /**
+   * Create the release commit, its SCM-tag and the next development commit directly in the object
+   * database. The working tree is not scanned; it is updated once to the state of the next
+   * development commit.
+   *
+   * @param release files and messages of both commits
    */
-  void commit(String message);
+  void commitInMemory(InMemoryRelease release);
 
   /**
    * Push all changes to remote.
@@ -99,11 +160,29 @@ public interface RepositoryProvider {
   void push();
 
   /**
-   * Push a SCM-tag to the remote SCM-repository.
+   * Push one SCM-tag to the remote SCM-repository. Only this tag is sent and the push is skipped
+   * when the remote already has the identical tag.
+   *
+   * @param tag SCM-tag to push
+   */
+  void pushTag(String tag);
+
+  /**
+   * Push the current branch and one SCM-tag in a single atomic push. Either both refs are updated
+   * on the remote or none of them.
+   *
+   * @param tag SCM-tag to push together with the current branch
+   */
+  void pushRelease(String tag);
+
+  /**
+   * Apply a batch of tag creations and deletions locally and send all of them to the remote
+   * SCM-repository in one push. Deletions are pushed as explicit delete refspecs.
    *
-   * @return is the tag succesfully pushed
+   * @param batch tags to create and delete
+   * @return status per tag and the wall time of the batch
    */
-  void pushTag();
+  TagMutationResult pushTagMutations(TagMutationBatch batch);
 
   /** Close the repository when finished. */
   void closeRepository();
@@ -111,21 +190,22 @@ public interface RepositoryProvider {
   /**
    * Determine if there are any open changes in the SCM-repository.
    *
+   * @param statusCheckPaths file names or paths of the working tree that are checked for local
+   *     changes, <i>*</i> checks the complete working tree
    * @return are there any open changes?
    */
-  boolean isChanged();
+  boolean isChanged(Collection<String> statusCheckPaths);
 
   /**
    * When a <i>release:rollback</i> is performed local SCM-tags have to be cleaned to perform the
-   * next release.
+   * next release. Only the SCM-tag of the version itself and its build variants (<i>tag+build</i>)
+   * are cleaned. A tag that is only local is deleted; a tag that is already on the remote fails the
+   * semver-goal, unless remote tags may be deleted.
    *
    * @param scmVersion scmVersion
-   * @throws SemverException native plugin exception
-   * @throws IOException disk write exception
-   * @throws GitAPIException repository exception
+   * @param deleteRemoteTags delete the tags that are already on the remote too
    */
-  void isLocalVersionCorrupt(String scmVersion)
-      throws SemverException, IOException, GitAPIException;
+  void isLocalVersionCorrupt(String scmVersion, boolean deleteRemoteTags);
 
   /**
    * Determine if remote version is corrupt.
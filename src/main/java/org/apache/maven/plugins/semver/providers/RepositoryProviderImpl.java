@@ -11,15 +11,40 @@ import java.io.IOException;
 import java.util.*;
 import javax.inject.Named;
 import javax.inject.Singleton;
-import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.plugins.semver.exceptions.SemverFailureException;
+import org.apache.maven.plugins.semver.providers.GitOperationListener.GIT_OPERATION;
+import org.apache.maven.plugins.semver.providers.GitSessionRegistry.GitSession;
+import org.apache.maven.plugins.semver.providers.GitSessionRegistry.RefLock;
+import org.eclipse.jgit.api.CommitCommand;
 import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.api.Status;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheCheckout;
+import org.eclipse.jgit.dircache.DirCacheEditor;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.BatchRefUpdate;
+import org.eclipse.jgit.lib.BranchConfig;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.PersonIdent;
 import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefUpdate;
 import org.eclipse.jgit.lib.Repository;
-import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.transport.CredentialsProvider;
-import org.eclipse.jgit.transport.FetchResult;
+import org.eclipse.jgit.transport.PushResult;
+import org.eclipse.jgit.transport.ReceiveCommand;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.RemoteRefUpdate;
+import org.eclipse.jgit.transport.TagOpt;
+import org.eclipse.jgit.transport.Transport;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +55,15 @@ import org.slf4j.LoggerFactory;
  * <p>Provider that is used to make connection to SCM repository and handle all request to and from
  * that repository.
  *
+ * <p>The provider is shared by parallel module builds. The repository is opened through the {@link
+ * GitSessionRegistry}: builds share one opened repository, reads are lock-free and changes of refs
+ * lock those refs. Every {@link #openRepository} is matched by a {@link #closeRepository}.
+ *
+ * <p>The provider itself holds no state of a build. Each build thread keeps the sessions it has
+ * opened; the threads a build starts after {@link #openRepository} inherit them. The credentials,
+ * the CI-mode, the transport and the ref advertisement are kept in the {@link GitSession}, so
+ * parallel builds of different repositories do not overwrite each other.
+ *
  * @author sido
  */
 @Named
@@ -46,53 +80,108 @@ public class RepositoryProviderImpl implements RepositoryProvider {
 
   private final Logger logger = LoggerFactory.getLogger(RepositoryProviderImpl.class);
 
-  private boolean isInitialized = false;
+  private volatile GitOperationListener listener = GitOperationListener.NONE;
+
+  /** The sessions opened by the build of this thread, the last opened session first. */
+  private final ThreadLocal<Deque<GitSession>> buildSessions =
+      new InheritableThreadLocal<Deque<GitSession>>() {
+        @Override
+        protected Deque<GitSession> initialValue() {
+          return new ArrayDeque<>();
+        }
+
+        @Override
+        protected Deque<GitSession> childValue(Deque<GitSession> parentSessions) {
+          return new ArrayDeque<>(parentSessions);
+        }
+      };
 
-  private Git repository;
-  private CredentialsProvider provider;
+  /**
+   * Report the GIT-operations of this provider to a listener, for example to count them in a
+   * benchmark.
+   *
+   * @param listener {@link GitOperationListener}
+   */
+  public void setGitOperationListener(GitOperationListener listener) {
+    this.listener = listener;
+  }
 
   @Override
   public void initialize(
       File baseDir, String scmUrl, String configScmUsername, String configScmPassword) {
-    repository = initializeRepository(baseDir);
-    provider = initializeCredentialsProvider(scmUrl, configScmUsername, configScmPassword);
+    openRepository(baseDir);
+    initializeCredentials(scmUrl, configScmUsername, configScmPassword);
+  }
+
+  @Override
+  public void openRepository(File baseDir) {
+    GitSession openedSession = initializeRepository(baseDir);
+    if (openedSession != null) {
+      buildSessions.get().push(openedSession);
+    }
+  }
+
+  @Override
+  public void initializeCredentials(
+      String scmUrl, String configScmUsername, String configScmPassword) {
+    initializeCredentialsProvider(scmUrl, configScmUsername, configScmPassword);
+  }
+
+  @Override
+  public void setCiMode(boolean ciMode) {
+    getSession().setCiMode(ciMode);
   }
 
   @Override
   public boolean isInitialized() {
-    return this.isInitialized;
+    return !buildSessions.get().isEmpty();
+  }
+
+  /**
+   * The session of the build on this thread.
+   *
+   * @return {@link GitSession}
+   */
+  private GitSession getSession() {
+    GitSession session = buildSessions.get().peek();
+    if (session == null) {
+      throw new IllegalStateException("The SCM-repository is not opened by this build");
+    }
+    return session;
+  }
+
+  /** The opened repository; reads need no lock, see {@link GitSessionRegistry}. */
+  private Git getGit() {
+    return getSession().getGit();
   }
 
   /**
    * Initialize SCM-repo for determining branch and tag information.
    *
    * @param baseDir SCm root-directory
-   * @return {@link Git} SCM-repository
+   * @return {@link GitSession} SCM-repository, shared with parallel builds of the same repository
    */
-  private Git initializeRepository(File baseDir) {
-    Git initRepository = null;
+  private GitSession initializeRepository(File baseDir) {
+    GitSession initSession = null;
     logger.info(FUNCTION_LINE_BREAK);
     logger.info("Initializing SCM-repository");
-    FileRepositoryBuilder repoBuilder = new FileRepositoryBuilder();
-    repoBuilder.addCeilingDirectory(baseDir);
-    repoBuilder.findGitDir(baseDir);
-    Repository repo;
     try {
-      repo = repoBuilder.build();
-      initRepository = new Git(repo);
-      logger.info(" * SCM-repository is initialized");
+      initSession = GitSessionRegistry.acquire(baseDir);
+      logger.info(
+          " * SCM-repository is initialized   : [ {} ] [ {} users ]",
+          initSession.getGitDir(),
+          initSession.getReferences());
     } catch (IOException e) {
       handleException(e, true);
     }
-    return initRepository;
+    return initSession;
   }
 
   /**
-   * Initialize credentials provider to access remote SCM repository.
-   *
-   * @return {@link CredentialsProvider} initialized credentialsProvider
+   * Initialize credentials provider to access remote SCM repository. The validated credentials are
+   * kept in the session of the build.
    */
-  private CredentialsProvider initializeCredentialsProvider(
+  private void initializeCredentialsProvider(
       String scmUrl, String configScmUserName, String configScmPassword) {
     logger.info("Initializing SCM-credentials provider");
     CredentialsProvider initProvider;
@@ -113,9 +202,6 @@ public class RepositoryProviderImpl implements RepositoryProvider {
       isAuthorized = checkCredentials(initProvider);
     }
     logger.info(" * SCM-credentials provider is initialized");
-    isInitialized = true;
-
-    return initProvider;
   }
 
   /**
@@ -123,24 +209,84 @@ public class RepositoryProviderImpl implements RepositoryProvider {
    *
    * <h1>Check if credentials are valid</h1>
    *
-   * <p>Checks with a lsremote command if the remote repository is reachable
+   * <p>Checks with a lsremote command if the remote repository is reachable. The advertisement
+   * that is returned is kept as the {@link RemoteRefSnapshot} for this invocation.
    *
    * @param provider give the new {@link UsernamePasswordCredentialsProvider}
    * @return isAuthorized
    */
   private boolean checkCredentials(CredentialsProvider provider) {
     boolean isAuthorized = false;
+    GitSession session = getSession();
+    TransportSession transport =
+        new TransportSession(session.getGit().getRepository(), BASE_BRANCH, provider);
     try {
-      repository.lsRemote().setCredentialsProvider(provider).call();
+      session.setRemoteRefSnapshot(readRemoteRefSnapshot(session, transport));
       isAuthorized = true;
+      session.useCredentials(provider, transport);
       logger.info(" * Current credentials are valid");
-    } catch (GitAPIException err) {
+    } catch (IOException err) {
+      transport.close();
       handleException(err, false);
     }
 
     return isAuthorized;
   }
 
+  /**
+   * Read the ref advertisement from the remote SCM-repository.
+   *
+   * @param session session of the build
+   * @param transport transport session to the remote
+   * @return {@link RemoteRefSnapshot}
+   * @throws IOException when the remote can not be reached
+   */
+  private RemoteRefSnapshot readRemoteRefSnapshot(GitSession session, TransportSession transport)
+      throws IOException {
+    session.getRemoteRefMisses().incrementAndGet();
+    listener.operation(GIT_OPERATION.LS_REMOTE);
+    Map<String, Ref> refs = transport.listRemote();
+    logger.debug("Remote ref snapshot read           : [ {} refs ]", refs.size());
+    return new RemoteRefSnapshot(refs);
+  }
+
+  /**
+   * Get the cached ref advertisement of the remote SCM-repository. The remote is only contacted
+   * when no snapshot was taken yet in this invocation.
+   *
+   * @return {@link RemoteRefSnapshot}
+   * @throws IOException when the remote can not be reached
+   */
+  private RemoteRefSnapshot getRemoteRefSnapshot() throws IOException {
+    GitSession session = getSession();
+    RemoteRefSnapshot snapshot = session.getRemoteRefSnapshot();
+    if (snapshot == null) {
+      snapshot = readRemoteRefSnapshot(session, session.getTransportSession(BASE_BRANCH));
+      session.setRemoteRefSnapshot(snapshot);
+    } else {
+      session.getRemoteRefHits().incrementAndGet();
+    }
+    logger.debug(
+        "Remote ref snapshot                : [ hits: {} ] [ misses: {} ]",
+        session.getRemoteRefHits(),
+        session.getRemoteRefMisses());
+    return snapshot;
+  }
+
+  /**
+   * Get the transport session to the remote of the build.
+   *
+   * @return {@link TransportSession}
+   */
+  private TransportSession getTransportSession() {
+    return getSession().getTransportSession(BASE_BRANCH);
+  }
+
+  /** The remote has been changed by this invocation, the next remote check has to re-read it. */
+  private void invalidateRemoteRefSnapshot() {
+    getSession().setRemoteRefSnapshot(null);
+  }
+
   /**
    * Create a prompt o fill in credentials
    *
@@ -180,32 +326,155 @@ public class RepositoryProviderImpl implements RepositoryProvider {
 
   @Override
   public void pull() {
+    if (getSession().isCiMode()) {
+      fetchTagsAndBranchTip();
+      return;
+    }
+    RefLock lock = getSession().lockAll();
     try {
-      repository.pull().setCredentialsProvider(provider).call();
-    } catch (GitAPIException err) {
+      Repository repo = getGit().getRepository();
+      listener.operation(GIT_OPERATION.FETCH);
+      getTransportSession().fetch(null, TagOpt.AUTO_FOLLOW);
+      String trackingBranch =
+          new BranchConfig(repo.getConfig(), repo.getBranch()).getRemoteTrackingBranch();
+      Ref trackingRef = trackingBranch == null ? null : repo.exactRef(trackingBranch);
+      if (trackingRef != null) {
+        listener.operation(GIT_OPERATION.MERGE);
+        getGit().merge().include(trackingRef).call();
+      }
+    } catch (GitAPIException | IOException err) {
+      handleException(err, true);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * CI-mode replacement for pull: fetch the tags and the tip of the current branch, nothing else.
+   *
+   * <p>Tags that already exist locally are left alone. Tags whose object is already in the local
+   * object database are created locally without fetching, in one {@link BatchRefUpdate}. Only the
+   * remaining refs are fetched.
+   */
+  private void fetchTagsAndBranchTip() {
+    long start = System.currentTimeMillis();
+    Repository repo = getGit().getRepository();
+    long packBytes = getPackSize(repo);
+    RefLock lock = getSession().lockAll();
+    try {
+      RemoteRefSnapshot snapshot = getRemoteRefSnapshot();
+      RemoteTagIndex remoteTags = snapshot.getTagIndex();
+      List<RefSpec> refSpecs = new ArrayList<>();
+      BatchRefUpdate tagUpdate = repo.getRefDatabase().newBatchUpdate();
+      int knownTags = 0;
+      for (int i = 0; i < remoteTags.size(); i++) {
+        String tagRef = Constants.R_TAGS + remoteTags.getTagName(i);
+        ObjectId tagObject = snapshot.getRef(tagRef).getObjectId();
+        if (repo.exactRef(tagRef) != null) {
+          knownTags++;
+        } else if (repo.getObjectDatabase().has(tagObject)) {
+          tagUpdate.addCommand(new ReceiveCommand(ObjectId.zeroId(), tagObject, tagRef));
+          knownTags++;
+        } else {
+          refSpecs.add(new RefSpec(tagRef + ":" + tagRef));
+        }
+      }
+      if (!tagUpdate.getCommands().isEmpty()) {
+        try (RevWalk revWalk = new RevWalk(repo)) {
+          tagUpdate.execute(revWalk, NullProgressMonitor.INSTANCE);
+        }
+        for (ReceiveCommand command : tagUpdate.getCommands()) {
+          if (command.getResult() != ReceiveCommand.Result.OK) {
+            throw new IOException(
+                "Could not create " + command.getRefName() + " : " + command.getResult());
+          }
+        }
+      }
+      String branch = repo.getBranch();
+      Ref remoteBranch = snapshot.getRef(Constants.R_HEADS + branch);
+      if (remoteBranch != null && !repo.getObjectDatabase().has(remoteBranch.getObjectId())) {
+        refSpecs.add(
+            new RefSpec(
+                "+"
+                    + Constants.R_HEADS
+                    + branch
+                    + ":"
+                    + Constants.R_REMOTES
+                    + BASE_BRANCH
+                    + "/"
+                    + branch));
+      }
+      if (!refSpecs.isEmpty()) {
+        listener.operation(GIT_OPERATION.FETCH);
+        getTransportSession().fetch(refSpecs, TagOpt.NO_TAGS);
+      }
+      logger.info(
+          "CI-fetch                           : [ {} refs fetched ] [ {} tags known ]",
+          refSpecs.size(),
+          knownTags);
+      logger.info(
+          "CI-fetch pack growth               : [ {} bytes ] [ {} ms ]",
+          getPackSize(repo) - packBytes,
+          System.currentTimeMillis() - start);
+    } catch (IOException err) {
       handleException(err, true);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Size of the pack-files, used to report how much a fetch has added to them. */
+  private long getPackSize(Repository repo) {
+    long size = 0;
+    File[] packs = new File(repo.getDirectory(), "objects/pack").listFiles();
+    if (packs != null) {
+      for (File pack : packs) {
+        if (pack.getName().endsWith(".pack")) {
+          size += pack.length();
+        }
+      }
     }
+    return size;
   }
 
   /**
-   * Perform a pull from the remote GIT-repository.
+   * Determine if the remote GIT-repository is ahead of the current branch.
    *
-   * @return is pull completed?
+   * <p>Only the upstream of the current branch in the {@link RemoteRefSnapshot} is compared with
+   * its tracking ref, or with HEAD when there is no tracking ref, so no extra (dry-run) fetch is
+   * needed. Other branches on the remote do not block a release.
+   *
+   * @return is remote different?
    */
   private boolean checkRemoteUpdates() {
     boolean isRemoteDifferent = false;
     try {
-      FetchResult fetch =
-          repository
-              .fetch()
-              .setRemote(BASE_BRANCH)
-              .setCredentialsProvider(provider)
-              .setDryRun(true)
-              .call();
-      if (!fetch.getTrackingRefUpdates().isEmpty()) {
-        isRemoteDifferent = true;
+      Repository repo = getGit().getRepository();
+      String branch = repo.getBranch();
+      if (getSession().isCiMode()) {
+        Ref remoteBranch = getRemoteRefSnapshot().getRef(Constants.R_HEADS + branch);
+        ObjectId head = repo.resolve(Constants.HEAD);
+        return remoteBranch != null && !remoteBranch.getObjectId().equals(head);
       }
-    } catch (GitAPIException err) {
+      BranchConfig branchConfig = new BranchConfig(repo.getConfig(), branch);
+      String upstream = branchConfig.getMerge();
+      Ref remoteBranch =
+          getRemoteRefSnapshot().getRef(upstream != null ? upstream : Constants.R_HEADS + branch);
+      if (remoteBranch != null) {
+        String trackingBranch = branchConfig.getRemoteTrackingBranch();
+        Ref trackingRef =
+            repo.exactRef(
+                trackingBranch != null
+                    ? trackingBranch
+                    : Constants.R_REMOTES + BASE_BRANCH + "/" + branch);
+        ObjectId localTip =
+            trackingRef != null ? trackingRef.getObjectId() : repo.resolve(Constants.HEAD);
+        if (!remoteBranch.getObjectId().equals(localTip)) {
+          logger.debug(" * Remote ref differs              : [ {} ]", remoteBranch.getName());
+          isRemoteDifferent = true;
+        }
+      }
+    } catch (IOException err) {
       handleException(err, true);
     }
     return isRemoteDifferent;
@@ -215,7 +484,7 @@ public class RepositoryProviderImpl implements RepositoryProvider {
   public String getCurrentBranch() {
     String currentBranch = "";
     try {
-      currentBranch = repository.getRepository().getBranch();
+      currentBranch = getGit().getRepository().getBranch();
     } catch (IOException err) {
       handleException(err, true);
     }
@@ -226,7 +495,8 @@ public class RepositoryProviderImpl implements RepositoryProvider {
   public List<Ref> getLocalTags() {
     List<Ref> tags = new ArrayList<>();
     try {
-      tags = repository.tagList().call();
+      listener.operation(GIT_OPERATION.TAG_SCAN);
+      tags = getGit().tagList().call();
     } catch (GitAPIException err) {
       handleException(err, true);
     }
@@ -234,11 +504,57 @@ public class RepositoryProviderImpl implements RepositoryProvider {
   }
 
   @Override
-  public Map<String, Ref> getRemoteTags() {
-    Map<String, Ref> tags = new HashMap<>();
+  public SemverTagIndex getLocalTagIndex() {
+    List<String> tagNames = new ArrayList<>();
+    for (Ref ref : getLocalTags()) {
+      tagNames.add(Repository.shortenRefName(ref.getName()));
+    }
+    return SemverTagIndex.of(tagNames);
+  }
+
+  @Override
+  public LocalTagIterator iterateLocalTags(String prefix) {
+    LocalTagIterator tags = null;
+    try {
+      listener.operation(GIT_OPERATION.TAG_SCAN);
+      tags = LocalTagIterator.open(getGit().getRepository().getDirectory(), prefix);
+    } catch (IOException err) {
+      handleException(err, true);
+    }
+    return tags;
+  }
+
+  @Override
+  public List<String> findLocalTags(String version) {
+    long start = System.currentTimeMillis();
+    List<String> tags = new ArrayList<>();
+    long key = SemverTagIndex.toKey(version);
+    try (LocalTagIterator iterator =
+        iterateLocalTags(key == SemverTagIndex.NO_VERSION ? "" : version)) {
+      while (iterator.hasNext()) {
+        String tag = iterator.next();
+        if (key == SemverTagIndex.NO_VERSION
+            ? tag.contains(version)
+            : SemverTagIndex.toKey(tag) == key) {
+          tags.add(tag);
+        }
+      }
+    }
+    logger.debug(
+        "Local tags found                   : [ {} ] [ {} tags ] [ {} ms ]",
+        version,
+        tags.size(),
+        System.currentTimeMillis() - start);
+    return tags;
+  }
+
+  @Override
+  public RemoteTagIndex getRemoteTags() {
+    RemoteTagIndex tags = RemoteTagIndex.of(Collections.emptyMap());
     try {
-      tags = repository.pull().setCredentialsProvider(provider).getRepository().getTags();
-    } catch (Exception err) {
+      tags = getRemoteRefSnapshot().getTagIndex();
+      logger.debug("Remote tag index                   : [ {} tags ]", tags.size());
+    } catch (IOException err) {
       handleException(err, true);
     }
     return tags;
@@ -246,37 +562,175 @@ public class RepositoryProviderImpl implements RepositoryProvider {
 
   @Override
   public void createTag(String tag) {
+    RefLock lock = getSession().lock(Constants.R_TAGS + tag);
     try {
       deleteTag(tag);
-      repository.tag().setName(tag).call();
+      listener.operation(GIT_OPERATION.TAG);
+      getGit().tag().setName(tag).call();
     } catch (GitAPIException err) {
       handleException(err, true);
+    } finally {
+      lock.unlock();
     }
   }
 
   @Override
   public void deleteTag(String tag) {
+    RefLock lock = getSession().lock(Constants.R_TAGS + tag);
     try {
-      repository.tagDelete().setTags(tag).call();
+      listener.operation(GIT_OPERATION.TAG_DELETE);
+      getGit().tagDelete().setTags(tag).call();
     } catch (GitAPIException err) {
       handleException(err, true);
+    } finally {
+      lock.unlock();
     }
   }
 
   @Override
-  public void commit(String message) {
+  public void commit(String message, Collection<File> files) {
+    if (files.isEmpty()) {
+      throw new SemverFailureException("There are no files to commit for: " + message);
+    }
+    RefLock lock = getSession().lock(Constants.HEAD);
     try {
-      repository.commit().setAll(true).setMessage(message).call();
+      listener.operation(GIT_OPERATION.COMMIT);
+      CommitCommand commit = getGit().commit().setAllowEmpty(true).setMessage(message);
+      for (File file : files) {
+        commit.setOnly(toRepositoryPath(getGit().getRepository(), file));
+      }
+      commit.call();
     } catch (GitAPIException err) {
       handleException(err, true);
+    } finally {
+      lock.unlock();
     }
   }
 
+  @Override
+  public void commitInMemory(InMemoryRelease release) {
+    long start = System.currentTimeMillis();
+    Repository repo = getGit().getRepository();
+    RefLock lock = getSession().lock(Constants.HEAD, Constants.R_TAGS + release.getTag());
+    try (ObjectInserter inserter = repo.newObjectInserter();
+        RevWalk revWalk = new RevWalk(repo)) {
+      RevCommit head = revWalk.parseCommit(repo.resolve(Constants.HEAD));
+      PersonIdent person = new PersonIdent(repo);
+
+      ObjectId releaseTree =
+          insertTree(repo, inserter, head.getTree(), release.getReleaseFiles());
+      ObjectId releaseCommit =
+          insertCommit(inserter, releaseTree, head, person, release.getReleaseMessage());
+      ObjectId developmentTree =
+          insertTree(repo, inserter, releaseTree, release.getDevelopmentFiles());
+      ObjectId developmentCommit =
+          insertCommit(
+              inserter, developmentTree, releaseCommit, person, release.getDevelopmentMessage());
+      inserter.flush();
+      listener.operation(GIT_OPERATION.COMMIT);
+      listener.operation(GIT_OPERATION.COMMIT);
+
+      listener.operation(GIT_OPERATION.TAG);
+      getGit()
+          .tag()
+          .setName(release.getTag())
+          .setObjectId(revWalk.parseCommit(releaseCommit))
+          .setForceUpdate(true)
+          .call();
+
+      RefUpdate refUpdate = repo.updateRef(Constants.HEAD);
+      refUpdate.setExpectedOldObjectId(head);
+      refUpdate.setNewObjectId(developmentCommit);
+      refUpdate.setRefLogMessage("commit: " + release.getDevelopmentMessage(), false);
+      RefUpdate.Result result = refUpdate.update(revWalk);
+      if (result != RefUpdate.Result.FAST_FORWARD && result != RefUpdate.Result.NEW) {
+        throw new IOException("Could not update " + refUpdate.getName() + " : " + result);
+      }
+
+      DirCacheCheckout checkout =
+          new DirCacheCheckout(repo, head.getTree(), repo.lockDirCache(), developmentTree);
+      checkout.setFailOnConflict(true);
+      checkout.checkout();
+      logger.info(
+          " * Release committed in memory     : [ {} files ] [ {} ms ]",
+          checkout.getUpdated().size(),
+          System.currentTimeMillis() - start);
+    } catch (GitAPIException | IOException err) {
+      handleException(err, true);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Build a new tree from a base tree and changed files without reading the working tree.
+   *
+   * @param repo repository
+   * @param inserter inserter for the new blobs and trees
+   * @param baseTree tree to start from
+   * @param files changed files with their new content
+   * @return id of the new tree
+   * @throws IOException when the object database can not be read or written
+   */
+  private ObjectId insertTree(
+      Repository repo, ObjectInserter inserter, ObjectId baseTree, Map<File, byte[]> files)
+      throws IOException {
+    DirCache tree = DirCache.newInCore();
+    DirCacheBuilder builder = tree.builder();
+    try (ObjectReader reader = repo.newObjectReader()) {
+      builder.addTree(new byte[0], 0, reader, baseTree);
+    }
+    builder.finish();
+    DirCacheEditor editor = tree.editor();
+    for (Map.Entry<File, byte[]> file : files.entrySet()) {
+      ObjectId blob = inserter.insert(Constants.OBJ_BLOB, file.getValue());
+      editor.add(
+          new DirCacheEditor.PathEdit(toRepositoryPath(repo, file.getKey())) {
+            @Override
+            public void apply(DirCacheEntry entry) {
+              if (entry.getRawMode() == 0) {
+                entry.setFileMode(FileMode.REGULAR_FILE);
+              }
+              entry.setObjectId(blob);
+            }
+          });
+    }
+    editor.finish();
+    return tree.writeTree(inserter);
+  }
+
+  private ObjectId insertCommit(
+      ObjectInserter inserter,
+      ObjectId tree,
+      ObjectId parent,
+      PersonIdent person,
+      String message)
+      throws IOException {
+    CommitBuilder commit = new CommitBuilder();
+    commit.setTreeId(tree);
+    commit.setParentId(parent);
+    commit.setAuthor(person);
+    commit.setCommitter(person);
+    commit.setMessage(message);
+    return inserter.insert(commit);
+  }
+
+  private String toRepositoryPath(Repository repo, File file) {
+    return repo.getWorkTree()
+        .toPath()
+        .toAbsolutePath()
+        .relativize(file.toPath().toAbsolutePath())
+        .toString()
+        .replace(File.separatorChar, '/');
+  }
+
   @Override
   public void push() {
     try {
-      repository.push().setPushAll().setRemote(BASE_BRANCH).setCredentialsProvider(provider).call();
-    } catch (GitAPIException err) {
+      listener.operation(GIT_OPERATION.PUSH);
+      getTransportSession().push(Collections.singletonList(Transport.REFSPEC_PUSH_ALL), false);
+      invalidateRemoteRefSnapshot();
+    } catch (IOException err) {
       handleException(err, true);
     }
   }
@@ -285,7 +739,7 @@ public class RepositoryProviderImpl implements RepositoryProvider {
    * Log the exception.
    *
    * @param err {@link GitAPIException}
-   * @param stop
+   * @param stop end the semver-goal with a {@link SemverFailureException}
    */
   private void handleException(Exception err, boolean stop) {
     logger.error(err.getMessage());
@@ -293,31 +747,179 @@ public class RepositoryProviderImpl implements RepositoryProvider {
     logger.error("Please check your SCM-credentials to fix this issue");
     logger.error("Please run semver:rollback to return to initial state");
     if (stop) {
-      Runtime.getRuntime().exit(1);
+      throw new SemverFailureException(err.getMessage(), err);
     }
   }
 
   @Override
-  public void pushTag() {
+  public void pushTag(String tag) {
     try {
-      repository
-          .push()
-          .setPushTags()
-          .setRemote(BASE_BRANCH)
-          .setCredentialsProvider(provider)
-          .call();
-    } catch (GitAPIException err) {
+      if (isTagOnRemote(tag)) {
+        logger.info(" * Remote SCM-tag is up to date    : [ {} ]", tag);
+      } else {
+        listener.operation(GIT_OPERATION.PUSH);
+        getTransportSession().push(
+            Collections.singletonList(
+                new RefSpec(Constants.R_TAGS + tag + ":" + Constants.R_TAGS + tag)),
+            false);
+        invalidateRemoteRefSnapshot();
+      }
+    } catch (IOException err) {
       handleException(err, true);
     }
   }
 
+  /**
+   * Does the remote already have the local tag with exactly the same object?
+   *
+   * @param tag tag name without <i>refs/tags/</i>
+   * @return is the remote tag identical
+   * @throws IOException when the local tag or the remote can not be read
+   */
+  private boolean isTagOnRemote(String tag) throws IOException {
+    Ref localTag = getGit().getRepository().exactRef(Constants.R_TAGS + tag);
+    Ref remoteTag = getRemoteRefSnapshot().getRef(Constants.R_TAGS + tag);
+    return localTag != null
+        && remoteTag != null
+        && localTag.getObjectId().equals(remoteTag.getObjectId());
+  }
+
+  @Override
+  public void pushRelease(String tag) {
+    long start = System.currentTimeMillis();
+    try {
+      String branch = Constants.R_HEADS + getGit().getRepository().getBranch();
+      listener.operation(GIT_OPERATION.PUSH);
+      PushResult pushResult =
+          getTransportSession().push(
+              Arrays.asList(
+                  new RefSpec(branch + ":" + branch),
+                  new RefSpec(Constants.R_TAGS + tag + ":" + Constants.R_TAGS + tag)),
+              true);
+      invalidateRemoteRefSnapshot();
+      boolean isRejected = false;
+      for (RemoteRefUpdate update : pushResult.getRemoteUpdates()) {
+        logger.info(
+            " * Remote ref                      : [ {} ] {}",
+            update.getRemoteName(),
+            update.getStatus());
+        if (update.getStatus() != RemoteRefUpdate.Status.OK
+            && update.getStatus() != RemoteRefUpdate.Status.UP_TO_DATE) {
+          isRejected = true;
+        }
+      }
+      logger.info(
+          " * Atomic release push             : [ {} ms ]", System.currentTimeMillis() - start);
+      if (isRejected) {
+        logger.error("The remote rejected the release, no ref has been updated");
+        throw new SemverFailureException("The remote rejected the release of " + tag);
+      }
+    } catch (IOException err) {
+      handleException(err, true);
+    }
+  }
+
+  @Override
+  public TagMutationResult pushTagMutations(TagMutationBatch batch) {
+    TagMutationResult result = new TagMutationResult();
+    long start = System.currentTimeMillis();
+    List<String> tagRefs = new ArrayList<>();
+    for (String tag : batch.getDeletions()) {
+      tagRefs.add(Constants.R_TAGS + tag);
+    }
+    for (String tag : batch.getCreations()) {
+      tagRefs.add(Constants.R_TAGS + tag);
+    }
+    RefLock lock = getSession().lock(tagRefs);
+    try {
+      if (!batch.getDeletions().isEmpty()) {
+        listener.operation(GIT_OPERATION.TAG_DELETE);
+        getGit().tagDelete().setTags(batch.getDeletions().toArray(new String[0])).call();
+      }
+      for (String tag : batch.getCreations()) {
+        listener.operation(GIT_OPERATION.TAG);
+        getGit().tag().setName(tag).setForceUpdate(true).call();
+      }
+
+      RemoteTagIndex remoteTags = getRemoteTags();
+      List<RefSpec> refSpecs = new ArrayList<>();
+      for (String tag : batch.getDeletions()) {
+        if (remoteTags.contains(tag)) {
+          refSpecs.add(new RefSpec(":" + Constants.R_TAGS + tag));
+        } else {
+          result.setStatus(tag, RemoteRefUpdate.Status.NON_EXISTING);
+        }
+      }
+      for (String tag : batch.getCreations()) {
+        if (isTagOnRemote(tag)) {
+          result.setStatus(tag, RemoteRefUpdate.Status.UP_TO_DATE);
+        } else {
+          refSpecs.add(new RefSpec(Constants.R_TAGS + tag + ":" + Constants.R_TAGS + tag));
+        }
+      }
+
+      if (!refSpecs.isEmpty()) {
+        listener.operation(GIT_OPERATION.PUSH);
+        PushResult pushResult = getTransportSession().push(refSpecs, false);
+        invalidateRemoteRefSnapshot();
+        for (RemoteRefUpdate update : pushResult.getRemoteUpdates()) {
+          result.setStatus(Repository.shortenRefName(update.getRemoteName()), update.getStatus());
+        }
+      }
+    } catch (GitAPIException | IOException err) {
+      handleException(err, true);
+    } finally {
+      lock.unlock();
+    }
+    result.setElapsedMillis(System.currentTimeMillis() - start);
+
+    for (Map.Entry<String, RemoteRefUpdate.Status> status : result.getStatuses().entrySet()) {
+      logger.info(
+          " * Remote SCM-tag                  : [ {} ] {}", status.getKey(), status.getValue());
+    }
+    logger.info(
+        " * Tag mutations pushed            : [ {} tags ] [ {} ms ]",
+        result.getStatuses().size(),
+        result.getElapsedMillis());
+    if (!result.isSuccessful()) {
+      logger.error("Not all SCM-tags could be updated on the remote");
+    }
+    return result;
+  }
+
   @Override
   public void closeRepository() {
-    repository.close();
+    Deque<GitSession> sessions = buildSessions.get();
+    GitSession closedSession = sessions.poll();
+    if (sessions.isEmpty()) {
+      buildSessions.remove();
+    }
+    if (closedSession == null || !GitSessionRegistry.release(closedSession)) {
+      // a parallel build still uses the repository and the transport session
+      return;
+    }
+    logger.debug(
+        "Remote ref snapshot usage          : [ hits: {} ] [ misses: {} ]",
+        closedSession.getRemoteRefHits(),
+        closedSession.getRemoteRefMisses());
+    TransportSession transportSession = closedSession.getUsedTransportSession();
+    if (transportSession != null) {
+      logger.debug(
+          "Transport session usage            : [ transports: {} ] [ operations: {} ] "
+              + "[ credential-requests: {} ]",
+          transportSession.getTransportsOpened(),
+          transportSession.getOperations(),
+          transportSession.getCredentialRequests());
+      logger.debug(
+          "Transport session handshakes       : [ handshakes: {} ] [ {} ms ] [ saved: ~{} ms ]",
+          transportSession.getHandshakes(),
+          transportSession.getHandshakeMillis(),
+          transportSession.getHandshakeMillisSaved());
+    }
   }
 
   @Override
-  public boolean isChanged() {
+  public boolean isChanged(Collection<String> statusCheckPaths) {
     boolean isChanged = false;
     logger.info("Check for local or remote changes");
     logger.info(MOJO_LINE_BREAK);
@@ -330,14 +932,22 @@ public class RepositoryProviderImpl implements RepositoryProvider {
     }
     if (!isChanged) {
       try {
-        Status status = repository.status().call();
+        listener.operation(GIT_OPERATION.STATUS);
+        WorkingTreeStatus status =
+            WorkingTreeStatus.check(getGit().getRepository(), statusCheckPaths);
+        logger.info(
+            "Local changes checked              : [ {} ] [ {} entries ] [ {} ms ]",
+            String.join(", ", statusCheckPaths),
+            status.getEntriesChecked(),
+            status.getElapsedMillis());
         if (!status.isClean()) {
           isChanged = true;
+          logger.error("Local changes                      : [ {} ]", status.getFirstChange());
         } else {
           logger.info("Local changes                      : workingtree is clean");
           logger.info(FUNCTION_LINE_BREAK);
         }
-      } catch (GitAPIException err) {
+      } catch (IOException err) {
         logger.error(err.getMessage());
         isChanged = true;
       }
@@ -353,60 +963,60 @@ public class RepositoryProviderImpl implements RepositoryProvider {
   }
 
   @Override
-  public void isLocalVersionCorrupt(String scmVersion) {
+  public void isLocalVersionCorrupt(String scmVersion, boolean deleteRemoteTags) {
     logger.info("Check for corrupt local tags       : [ {} ]", scmVersion);
-    pull();
-    List<Ref> refs = getLocalTags();
-    logger.debug("Local tags                        ");
-    for (Ref ref : refs) {
-      logger.debug(format(" * %s", ref.getName()));
-    }
-    if (!refs.isEmpty()) {
-      boolean found = false;
-      for (Ref ref : refs) {
-        if (ref.getName().contains(scmVersion)) {
-          found = true;
-          String tag = ref.getName().substring(10);
-          logger.warn(" * Delete corrupt local-tag                   : [ {} ]", tag);
-          deleteTag(ref.getName());
-          logger.warn(" * Delete possible corrupt remote-tag         : [ {} ]", tag);
-          pushTag();
-        }
+    RemoteTagIndex remoteTags = getRemoteTags();
+    Set<String> corruptTags = new TreeSet<>(findLocalTags(scmVersion));
+    corruptTags.addAll(remoteTags.getVersionIndex().findTags(scmVersion));
+    corruptTags.removeIf(tag -> !tag.equals(scmVersion) && !tag.startsWith(scmVersion + "+"));
+
+    List<String> localTags = new ArrayList<>();
+    TagMutationBatch batch = new TagMutationBatch();
+    for (String tag : corruptTags) {
+      if (!remoteTags.contains(tag)) {
+        localTags.add(tag);
+      } else if (deleteRemoteTags) {
+        batch.delete(tag);
+      } else {
+        logger.error(" * SCM-tag is already on the remote : [ {} ]", tag);
+        throw new SemverFailureException(
+            "SCM-tag "
+                + tag
+                + " is already on the remote, delete it or run with -DdeleteRemoteTags=true");
       }
-      if (!found) {
-        logger.info(" * No corrupt local tags where found");
+    }
+    for (String tag : localTags) {
+      logger.warn(" * Delete corrupt local-tag                   : [ {} ]", tag);
+      deleteTag(tag);
+    }
+    if (!batch.isEmpty()) {
+      for (String tag : batch.getDeletions()) {
+        logger.warn(" * Delete corrupt local and remote-tag        : [ {} ]", tag);
       }
-    } else {
+      pushTagMutations(batch);
+    }
+    if (corruptTags.isEmpty()) {
       logger.info(" * No corrupt local tags where found");
     }
     logger.info(MOJO_LINE_BREAK);
-    closeRepository();
   }
 
   @Override
   public boolean isRemoteVersionCorrupt(String scmVersion) {
     boolean isRemoteVersionCorrupt = false;
     logger.info("Check for corrupt remote tags      : [ {} ]", scmVersion);
-    DefaultArtifactVersion localVersion;
-    if (scmVersion.contains("-SNAPSHOT")) {
-      localVersion = new DefaultArtifactVersion(scmVersion.replaceFirst("-SNAPSHOT", ""));
+    String localVersion = scmVersion.replaceFirst("-SNAPSHOT", "");
+    SemanticVersion version = SemanticVersion.tryParse(localVersion);
+    SemverTagIndex remoteTags = getRemoteTags().getVersionIndex();
+    if (version != null
+        ? remoteTags.hasVersionAbove(version)
+        : remoteTags.hasVersionAbove(localVersion)) {
+      logger.error(
+          " * Local version is corrupt       : [ local: {} ] [ remote: {} ]",
+          localVersion,
+          remoteTags.getHighestVersion());
+      isRemoteVersionCorrupt = true;
     } else {
-      localVersion = new DefaultArtifactVersion(scmVersion);
-    }
-    Map<String, Ref> remoteTags = getRemoteTags();
-    for (Map.Entry<String, Ref> remoteTag : remoteTags.entrySet()) {
-      DefaultArtifactVersion remoteVersion = new DefaultArtifactVersion(remoteTag.getKey());
-      logger.debug(
-          " * Compare remote-tag [ {} ] with local-tag [ {} ]", remoteVersion, localVersion);
-      if (remoteVersion.compareTo(localVersion) > 0) {
-        logger.error(
-            " * Local version is corrupt       : [ local: {} ] [ remote: {} ]",
-            remoteVersion,
-            localVersion);
-        isRemoteVersionCorrupt = true;
-      }
-    }
-    if (!isRemoteVersionCorrupt) {
       logger.info(" * Remote is not ahead of local    : [ {} ]", scmVersion);
     }
     logger.info(FUNCTION_LINE_BREAK);
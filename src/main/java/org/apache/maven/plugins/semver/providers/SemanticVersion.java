@@ -0,0 +1,371 @@
+package org.apache.maven.plugins.semver.providers;
+
+/**
+ *
+ *
+ * <h1>SemanticVersion</h1>
+ *
+ * <p>Immutable semantic version as described by <a href="https://semver.org">SemVer 2.0</a>:
+ * <i>major.minor.patch[-pre-release][+build-metadata]</i>.
+ *
+ * <p>The version is parsed in one pass over the text. Major, minor and patch are kept as ints; the
+ * pre-release and build-metadata are kept as positions in the original text and are only copied
+ * when they are asked for. {@link #compareTo(SemanticVersion)} follows the SemVer precedence rules
+ * and ignores build-metadata, so it is not consistent with {@link #equals(Object)}.
+ *
+ * @author sido
+ */
+public final class SemanticVersion implements Comparable<SemanticVersion> {
+
+  private static final String SNAPSHOT = "SNAPSHOT";
+
+  private final String text;
+  private final int major;
+  private final int minor;
+  private final int patch;
+  private final int preReleaseStart;
+  private final int buildMetaDataStart;
+
+  private SemanticVersion(
+      String text, int major, int minor, int patch, int preReleaseStart, int buildMetaDataStart) {
+    this.text = text;
+    this.major = major;
+    this.minor = minor;
+    this.patch = patch;
+    this.preReleaseStart = preReleaseStart;
+    this.buildMetaDataStart = buildMetaDataStart;
+  }
+
+  /**
+   * Create a version without pre-release and build-metadata.
+   *
+   * @param major major version
+   * @param minor minor version
+   * @param patch patch version
+   * @return {@link SemanticVersion}
+   */
+  public static SemanticVersion of(int major, int minor, int patch) {
+    if (major < 0 || minor < 0 || patch < 0) {
+      throw new IllegalArgumentException(
+          "Version numbers can not be negative: " + major + "." + minor + "." + patch);
+    }
+    return new SemanticVersion(major + "." + minor + "." + patch, major, minor, patch, -1, -1);
+  }
+
+  /**
+   * Parse a version.
+   *
+   * @param text for example <i>1.2.3-SNAPSHOT</i>
+   * @return {@link SemanticVersion}
+   * @throws IllegalArgumentException when the text is not a semantic version
+   */
+  public static SemanticVersion parse(String text) {
+    SemanticVersion version = tryParse(text);
+    if (version == null) {
+      throw new IllegalArgumentException("Not a semantic version: " + text);
+    }
+    return version;
+  }
+
+  /**
+   * Parse a version.
+   *
+   * @param text for example <i>1.2.3-SNAPSHOT</i>
+   * @return {@link SemanticVersion} or null when the text is not a semantic version
+   */
+  public static SemanticVersion tryParse(String text) {
+    if (text == null) {
+      return null;
+    }
+    int length = text.length();
+    long major = scanNumber(text, 0);
+    if (major < 0 || end(major) >= length || text.charAt(end(major)) != '.') {
+      return null;
+    }
+    long minor = scanNumber(text, end(major) + 1);
+    if (minor < 0 || end(minor) >= length || text.charAt(end(minor)) != '.') {
+      return null;
+    }
+    long patch = scanNumber(text, end(minor) + 1);
+    if (patch < 0) {
+      return null;
+    }
+    int position = end(patch);
+
+    int preReleaseStart = -1;
+    if (position < length && text.charAt(position) == '-') {
+      preReleaseStart = ++position;
+      position = scanIdentifiers(text, position, true);
+      if (position < 0) {
+        return null;
+      }
+    }
+    int buildMetaDataStart = -1;
+    if (position < length && text.charAt(position) == '+') {
+      buildMetaDataStart = ++position;
+      position = scanIdentifiers(text, position, false);
+      if (position < 0) {
+        return null;
+      }
+    }
+    if (position != length) {
+      return null;
+    }
+    return new SemanticVersion(
+        text, value(major), value(minor), value(patch), preReleaseStart, buildMetaDataStart);
+  }
+
+  /**
+   * Scan a version number without leading zeros.
+   *
+   * @return the value in the high and the end position in the low 32 bits, or -1 when invalid
+   */
+  private static long scanNumber(String text, int from) {
+    int position = from;
+    long value = 0;
+    while (position < text.length() && isDigit(text.charAt(position))) {
+      value = value * 10 + (text.charAt(position) - '0');
+      if (value > Integer.MAX_VALUE) {
+        return -1;
+      }
+      position++;
+    }
+    if (position == from || (position - from > 1 && text.charAt(from) == '0')) {
+      return -1;
+    }
+    return value << 32 | position;
+  }
+
+  private static int value(long number) {
+    return (int) (number >>> 32);
+  }
+
+  private static int end(long number) {
+    return (int) number;
+  }
+
+  /**
+   * Scan dot-separated identifiers.
+   *
+   * @return position after the identifiers or -1 when an identifier is empty or invalid
+   */
+  private static int scanIdentifiers(String text, int from, boolean isPreRelease) {
+    int position = from;
+    while (true) {
+      int start = position;
+      boolean isNumeric = true;
+      while (position < text.length() && isIdentifierChar(text.charAt(position))) {
+        isNumeric &= isDigit(text.charAt(position));
+        position++;
+      }
+      if (position == start) {
+        return -1;
+      }
+      if (isPreRelease && isNumeric && position - start > 1 && text.charAt(start) == '0') {
+        return -1;
+      }
+      if (position < text.length() && text.charAt(position) == '.') {
+        position++;
+      } else {
+        return position;
+      }
+    }
+  }
+
+  private static boolean isDigit(char character) {
+    return character >= '0' && character <= '9';
+  }
+
+  private static boolean isIdentifierChar(char character) {
+    return isDigit(character)
+        || (character >= 'a' && character <= 'z')
+        || (character >= 'A' && character <= 'Z')
+        || character == '-';
+  }
+
+  public int getMajor() {
+    return major;
+  }
+
+  public int getMinor() {
+    return minor;
+  }
+
+  public int getPatch() {
+    return patch;
+  }
+
+  /**
+   * Pre-release of the version.
+   *
+   * @return for example <i>SNAPSHOT</i>, or an empty string
+   */
+  public String getPreRelease() {
+    return preReleaseStart < 0 ? "" : text.substring(preReleaseStart, preReleaseEnd());
+  }
+
+  /**
+   * Build-metadata of the version.
+   *
+   * @return build-metadata without the <i>+</i>, or an empty string
+   */
+  public String getBuildMetaData() {
+    return buildMetaDataStart < 0 ? "" : text.substring(buildMetaDataStart);
+  }
+
+  public boolean hasPreRelease() {
+    return preReleaseStart >= 0;
+  }
+
+  /**
+   * Is this a maven development version?
+   *
+   * @return pre-release is <i>SNAPSHOT</i>
+   */
+  public boolean isSnapshot() {
+    return preReleaseStart >= 0
+        && preReleaseEnd() - preReleaseStart == SNAPSHOT.length()
+        && text.startsWith(SNAPSHOT, preReleaseStart);
+  }
+
+  private int preReleaseEnd() {
+    return buildMetaDataStart < 0 ? text.length() : buildMetaDataStart - 1;
+  }
+
+  /**
+   * The version without pre-release and build-metadata.
+   *
+   * @return <i>major.minor.patch</i>
+   */
+  public SemanticVersion toRelease() {
+    return preReleaseStart < 0 && buildMetaDataStart < 0 ? this : of(major, minor, patch);
+  }
+
+  public SemanticVersion nextMajor() {
+    return of(major + 1, 0, 0);
+  }
+
+  public SemanticVersion nextMinor() {
+    return of(major, minor + 1, 0);
+  }
+
+  public SemanticVersion nextPatch() {
+    return of(major, minor, patch + 1);
+  }
+
+  /**
+   * Replace the pre-release; the build-metadata is kept.
+   *
+   * @param preRelease for example <i>SNAPSHOT</i>
+   * @return {@link SemanticVersion}
+   */
+  public SemanticVersion withPreRelease(String preRelease) {
+    StringBuilder version = new StringBuilder().append(major).append('.').append(minor);
+    version.append('.').append(patch).append('-').append(preRelease);
+    if (buildMetaDataStart >= 0) {
+      version.append('+').append(text, buildMetaDataStart, text.length());
+    }
+    return parse(version.toString());
+  }
+
+  /**
+   * Compare on SemVer precedence: major, minor and patch numerically, a pre-release is lower than
+   * the release, and pre-releases are compared identifier by identifier. Build-metadata is ignored.
+   *
+   * @param other version to compare with
+   * @return precedence
+   */
+  @Override
+  public int compareTo(SemanticVersion other) {
+    int comparison = Integer.compare(major, other.major);
+    if (comparison == 0) {
+      comparison = Integer.compare(minor, other.minor);
+    }
+    if (comparison == 0) {
+      comparison = Integer.compare(patch, other.patch);
+    }
+    if (comparison != 0 || (preReleaseStart < 0 && other.preReleaseStart < 0)) {
+      return comparison;
+    }
+    if (preReleaseStart < 0) {
+      return 1;
+    }
+    if (other.preReleaseStart < 0) {
+      return -1;
+    }
+    return comparePreRelease(other);
+  }
+
+  private int comparePreRelease(SemanticVersion other) {
+    int position = preReleaseStart;
+    int end = preReleaseEnd();
+    int otherPosition = other.preReleaseStart;
+    int otherEnd = other.preReleaseEnd();
+    while (position < end && otherPosition < otherEnd) {
+      int identifierEnd = identifierEnd(text, position, end);
+      int otherIdentifierEnd = identifierEnd(other.text, otherPosition, otherEnd);
+      int comparison =
+          compareIdentifier(
+              text, position, identifierEnd, other.text, otherPosition, otherIdentifierEnd);
+      if (comparison != 0) {
+        return comparison;
+      }
+      position = identifierEnd + 1;
+      otherPosition = otherIdentifierEnd + 1;
+    }
+    return Boolean.compare(position < end, otherPosition < otherEnd);
+  }
+
+  private static int identifierEnd(String text, int from, int end) {
+    int position = from;
+    while (position < end && text.charAt(position) != '.') {
+      position++;
+    }
+    return position;
+  }
+
+  private static int compareIdentifier(
+      String text, int from, int to, String otherText, int otherFrom, int otherTo) {
+    boolean isNumeric = isNumeric(text, from, to);
+    boolean isOtherNumeric = isNumeric(otherText, otherFrom, otherTo);
+    if (isNumeric && isOtherNumeric && to - from != otherTo - otherFrom) {
+      return Integer.compare(to - from, otherTo - otherFrom);
+    }
+    if (isNumeric != isOtherNumeric) {
+      return isNumeric ? -1 : 1;
+    }
+    int length = Math.min(to - from, otherTo - otherFrom);
+    for (int i = 0; i < length; i++) {
+      int comparison = Character.compare(text.charAt(from + i), otherText.charAt(otherFrom + i));
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return Integer.compare(to - from, otherTo - otherFrom);
+  }
+
+  private static boolean isNumeric(String text, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (!isDigit(text.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return this == other
+        || (other instanceof SemanticVersion && text.equals(((SemanticVersion) other).text));
+  }
+
+  @Override
+  public int hashCode() {
+    return text.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return text;
+  }
+}
@@ -0,0 +1,311 @@
+package org.apache.maven.plugins.semver.providers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ *
+ *
+ * <h1>SemverTagIndex</h1>
+ *
+ * <p>Sorted index of SCM-tags on their semantic version.
+ *
+ * <p>Each tag is parsed once into a packed key that holds major, minor and patch in one {@code
+ * long}. The keys are kept in a sorted primitive array, so the highest version, the highest version
+ * below another version and all tags of a minor line are found with a binary search. Tags that do
+ * not start with <i>major.minor.patch</i>, or with a part above 2^21-1, are kept apart; they are
+ * used for exact lookups and parsed when versions are compared.
+ *
+ * @author sido
+ */
+public final class SemverTagIndex {
+
+  private static final int BITS = 21;
+  private static final long MAX_PART = (1L << BITS) - 1;
+  static final long NO_VERSION = -1L;
+
+  private final long[] keys;
+  private final String[] names;
+  private final String[] otherNames;
+
+  private SemverTagIndex(long[] keys, String[] names, String[] otherNames) {
+    this.keys = keys;
+    this.names = names;
+    this.otherNames = otherNames;
+  }
+
+  /**
+   * Build the index from tag names.
+   *
+   * @param tagNames tag names without <i>refs/tags/</i>
+   * @return {@link SemverTagIndex}
+   */
+  public static SemverTagIndex of(Iterable<String> tagNames) {
+    List<Entry> entries = new ArrayList<>();
+    List<String> others = new ArrayList<>();
+    for (String tagName : tagNames) {
+      long key = toKey(tagName);
+      if (key == NO_VERSION) {
+        others.add(tagName);
+      } else {
+        entries.add(new Entry(key, tagName));
+      }
+    }
+    Collections.sort(entries);
+    long[] keys = new long[entries.size()];
+    String[] names = new String[entries.size()];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = entries.get(i).key;
+      names[i] = entries.get(i).name;
+    }
+    String[] otherNames = others.toArray(new String[0]);
+    Arrays.sort(otherNames);
+    return new SemverTagIndex(keys, names, otherNames);
+  }
+
+  /**
+   * Pack the leading <i>major.minor.patch</i> of a version into one key. Everything after the patch
+   * number (pre-release, build-metadata) is ignored.
+   *
+   * @param version for example <i>1.2.3</i> or <i>1.2.3+build</i>
+   * @return packed key or {@link #NO_VERSION} when the version can not be parsed
+   */
+  static long toKey(String version) {
+    if (version == null) {
+      return NO_VERSION;
+    }
+    long key = 0;
+    int position = 0;
+    for (int part = 0; part < 3; part++) {
+      int start = position;
+      long value = 0;
+      while (position < version.length() && Character.isDigit(version.charAt(position))) {
+        value = value * 10 + (version.charAt(position) - '0');
+        if (value > MAX_PART) {
+          return NO_VERSION;
+        }
+        position++;
+      }
+      if (position == start) {
+        return NO_VERSION;
+      }
+      if (part < 2) {
+        if (position >= version.length() || version.charAt(position) != '.') {
+          return NO_VERSION;
+        }
+        position++;
+      }
+      key = (key << BITS) | value;
+    }
+    return key;
+  }
+
+  /**
+   * Pack the <i>major.minor.patch</i> of a parsed version into one key.
+   *
+   * @param version parsed version
+   * @return packed key or {@link #NO_VERSION} when a part does not fit in the key
+   */
+  static long toKey(SemanticVersion version) {
+    if (version.getMajor() > MAX_PART
+        || version.getMinor() > MAX_PART
+        || version.getPatch() > MAX_PART) {
+      return NO_VERSION;
+    }
+    return ((long) version.getMajor() << (2 * BITS))
+        | ((long) version.getMinor() << BITS)
+        | version.getPatch();
+  }
+
+  /**
+   * Format a packed key as <i>major.minor.patch</i>.
+   *
+   * @param key packed key
+   * @return version
+   */
+  static String toVersion(long key) {
+    return ((key >>> (2 * BITS)) & MAX_PART)
+        + "."
+        + ((key >>> BITS) & MAX_PART)
+        + "."
+        + (key & MAX_PART);
+  }
+
+  /**
+   * Number of indexed tags.
+   *
+   * @return size
+   */
+  public int size() {
+    return names.length + otherNames.length;
+  }
+
+  /**
+   * Highest version that is tagged.
+   *
+   * @return <i>major.minor.patch</i> or null when no semantic version is tagged
+   */
+  public String getHighestVersion() {
+    return keys.length == 0 ? null : toVersion(keys[keys.length - 1]);
+  }
+
+  /**
+   * Highest version that is tagged and lower than the given version.
+   *
+   * @param version upper bound (exclusive)
+   * @return <i>major.minor.patch</i> or null when there is no lower version
+   */
+  public String getHighestVersionBelow(String version) {
+    long key = toKey(version);
+    if (key == NO_VERSION) {
+      return null;
+    }
+    int index = lowerBound(key) - 1;
+    return index < 0 ? null : toVersion(keys[index]);
+  }
+
+  /**
+   * Is a version higher than the given version tagged?
+   *
+   * @param version version to compare with
+   * @return is there a higher version
+   */
+  public boolean hasVersionAbove(String version) {
+    return hasKeyAbove(toKey(version));
+  }
+
+  /**
+   * Is a version higher than the given version tagged? A higher <i>major.minor.patch</i> is found
+   * on the keys. Tags with the same <i>major.minor.patch</i>, for example the branch-tags
+   * <i>6.4.0-1.0.1</i> and <i>6.4.0-1.0.0</i>, and versions with a part that does not fit in a key
+   * are compared on their full semantic version.
+   *
+   * @param version version to compare with
+   * @return is there a higher version
+   */
+  public boolean hasVersionAbove(SemanticVersion version) {
+    long key = toKey(version);
+    if (key == NO_VERSION) {
+      return isAnyAbove(names, 0, names.length, version)
+          || isAnyAbove(otherNames, 0, otherNames.length, version);
+    }
+    return hasKeyAbove(key)
+        || isAnyAbove(names, lowerBound(key), lowerBound(key + 1), version)
+        || isAnyAbove(otherNames, 0, otherNames.length, version);
+  }
+
+  /** Is one of the tags a semantic version higher than the given version? */
+  private static boolean isAnyAbove(String[] tags, int from, int to, SemanticVersion version) {
+    for (int i = from; i < to; i++) {
+      SemanticVersion tag = SemanticVersion.tryParse(tags[i]);
+      if (tag != null && tag.compareTo(version) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean hasKeyAbove(long key) {
+    return key != NO_VERSION && keys.length > 0 && keys[keys.length - 1] > key;
+  }
+
+  /**
+   * All tags of one minor line, for example every <i>1.2.x</i> tag.
+   *
+   * @param major major version
+   * @param minor minor version
+   * @return sorted, read-only view on the tags
+   */
+  public List<String> getTagsInMinorLine(int major, int minor) {
+    long from = ((long) major << (2 * BITS)) | ((long) minor << BITS);
+    long to = from + (1L << BITS);
+    return view(lowerBound(from), lowerBound(to));
+  }
+
+  /**
+   * Is this exact tag present?
+   *
+   * @param tag tag name without <i>refs/tags/</i>
+   * @return is present
+   */
+  public boolean contains(String tag) {
+    long key = toKey(tag);
+    if (key == NO_VERSION) {
+      return Arrays.binarySearch(otherNames, tag) >= 0;
+    }
+    for (int i = lowerBound(key); i < keys.length && keys[i] == key; i++) {
+      if (names[i].equals(tag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Find the tags that belong to a version: the version itself and the tags that extend it with
+   * pre-release or build-metadata. Versions that are not semantic are matched on their name.
+   *
+   * @param version for example <i>1.2.3</i>
+   * @return matching tags
+   */
+  public List<String> findTags(String version) {
+    List<String> tags = new ArrayList<>();
+    long key = toKey(version);
+    if (key == NO_VERSION) {
+      for (String name : names) {
+        if (name.contains(version)) {
+          tags.add(name);
+        }
+      }
+      for (String name : otherNames) {
+        if (name.contains(version)) {
+          tags.add(name);
+        }
+      }
+    } else {
+      for (int i = lowerBound(key); i < keys.length && keys[i] == key; i++) {
+        if (names[i].startsWith(version)) {
+          tags.add(names[i]);
+        }
+      }
+    }
+    return tags;
+  }
+
+  private List<String> view(int from, int to) {
+    return Collections.unmodifiableList(Arrays.asList(names).subList(from, to));
+  }
+
+  /** First position with a key that is equal or higher. */
+  private int lowerBound(long key) {
+    int low = 0;
+    int high = keys.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (keys[mid] < key) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static final class Entry implements Comparable<Entry> {
+    private final long key;
+    private final String name;
+
+    private Entry(long key, String name) {
+      this.key = key;
+      this.name = name;
+    }
+
+    @Override
+    public int compareTo(Entry other) {
+      int compare = Long.compare(key, other.key);
+      return compare != 0 ? compare : name.compareTo(other.name);
+    }
+  }
+}
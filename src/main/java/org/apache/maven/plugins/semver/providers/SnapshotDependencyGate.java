@@ -0,0 +1,244 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static org.apache.maven.plugins.semver.providers.ConversionCircuitBreaker.readProperties;
+import static org.apache.maven.plugins.semver.providers.ConversionCircuitBreaker.writeProperties;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ *
+ *
+ * <h1>SnapshotDependencyGate</h1>
+ *
+ * <p>Checks before a release that no module of the reactor depends on a SNAPSHOT-version. The
+ * resolved artifacts, the dependencies, the build plugins and their dependencies of every module
+ * are checked in parallel. Projects of the reactor itself are skipped, they get the release
+ * version.
+ *
+ * <p>The parent is checked too. A module without SNAPSHOT-versions is remembered in
+ * <i>~/.semver-maven-plugin/snapshot-gate.properties</i> by the hash of the parent, dependency and
+ * plugin coordinates it uses from outside the reactor, so the next release attempt does not check
+ * it again while those coordinates are unchanged.
+ *
+ * @author sido
+ */
+@Named
+@Singleton
+public class SnapshotDependencyGate {
+
+  private static final int MAX_CACHED_MODULES = 10000;
+
+  private final Logger logger = LoggerFactory.getLogger(SnapshotDependencyGate.class);
+
+  private final Path cacheFile;
+
+  @Inject
+  public SnapshotDependencyGate() {
+    this(Paths.get(System.getProperty("user.home"), ".semver-maven-plugin"));
+  }
+
+  /**
+   * Create a gate that keeps its results in another directory than the user home.
+   *
+   * @param baseDir directory of <i>snapshot-gate.properties</i>
+   */
+  public SnapshotDependencyGate(Path baseDir) {
+    this.cacheFile = baseDir.resolve("snapshot-gate.properties");
+  }
+
+  /**
+   * Find all SNAPSHOT-versions the modules of the reactor depend on.
+   *
+   * @param reactorProjects projects of the reactor
+   * @return report with one line per SNAPSHOT-version, empty when there are none
+   */
+  public List<String> findSnapshots(List<MavenProject> reactorProjects) {
+    Set<String> reactorKeys = new HashSet<>();
+    for (MavenProject project : reactorProjects) {
+      reactorKeys.add(ArtifactUtils.versionlessKey(project.getGroupId(), project.getArtifactId()));
+    }
+    Properties cache = readProperties(cacheFile);
+    List<ModuleCheck> checks =
+        reactorProjects
+            .parallelStream()
+            .map(project -> check(project, reactorKeys, cache))
+            .collect(Collectors.toList());
+
+    List<String> report = new ArrayList<>();
+    int cached = 0;
+    boolean isCacheChanged = false;
+    if (cache.size() > MAX_CACHED_MODULES) {
+      cache.clear();
+      isCacheChanged = true;
+    }
+    for (ModuleCheck check : checks) {
+      report.addAll(check.snapshots);
+      if (check.isCached) {
+        cached++;
+      } else if (check.snapshots.isEmpty()) {
+        cache.setProperty(check.hash, check.module);
+        isCacheChanged = true;
+      }
+    }
+    if (isCacheChanged) {
+      try {
+        writeProperties(cacheFile, cache);
+      } catch (IOException err) {
+        logger.warn("Snapshot-check result is not cached: {}", err.getMessage());
+      }
+    }
+    logger.info(
+        "Snapshot-check                     : [ {} modules ] [ {} unchanged ] [ {} snapshots ]",
+        checks.size(),
+        cached,
+        report.size());
+    return report;
+  }
+
+  private static ModuleCheck check(
+      MavenProject project, Set<String> reactorKeys, Properties cache) {
+    String module = ArtifactUtils.versionlessKey(project.getGroupId(), project.getArtifactId());
+    List<String> coordinates = new ArrayList<>();
+    MavenProject parent = project.getParent();
+    if (parent != null) {
+      addCoordinate(
+          coordinates,
+          reactorKeys,
+          "parent",
+          parent.getGroupId(),
+          parent.getArtifactId(),
+          parent.getVersion());
+    }
+    Set<Artifact> artifacts = project.getArtifacts();
+    if (artifacts != null) {
+      for (Artifact artifact : artifacts) {
+        addCoordinate(
+            coordinates,
+            reactorKeys,
+            "dependency",
+            artifact.getGroupId(),
+            artifact.getArtifactId(),
+            artifact.getBaseVersion());
+      }
+    }
+    addDependencies(coordinates, reactorKeys, "dependency", project.getDependencies());
+    List<Plugin> plugins = project.getBuildPlugins();
+    if (plugins != null) {
+      for (Plugin plugin : plugins) {
+        addCoordinate(
+            coordinates,
+            reactorKeys,
+            "plugin",
+            plugin.getGroupId(),
+            plugin.getArtifactId(),
+            plugin.getVersion());
+        addDependencies(
+            coordinates,
+            reactorKeys,
+            "plugin-dependency " + plugin.getArtifactId(),
+            plugin.getDependencies());
+      }
+    }
+
+    String hash = hash(module, coordinates);
+    if (cache.containsKey(hash)) {
+      return new ModuleCheck(module, hash, true, Collections.emptyList());
+    }
+    Set<String> snapshots = new LinkedHashSet<>();
+    for (String coordinate : coordinates) {
+      if (ArtifactUtils.isSnapshot(coordinate.substring(coordinate.lastIndexOf(':') + 1))) {
+        snapshots.add(module + " -> " + coordinate);
+      }
+    }
+    return new ModuleCheck(module, hash, false, new ArrayList<>(snapshots));
+  }
+
+  private static void addDependencies(
+      List<String> coordinates,
+      Set<String> reactorKeys,
+      String kind,
+      List<Dependency> dependencies) {
+    if (dependencies != null) {
+      for (Dependency dependency : dependencies) {
+        addCoordinate(
+            coordinates,
+            reactorKeys,
+            kind,
+            dependency.getGroupId(),
+            dependency.getArtifactId(),
+            dependency.getVersion());
+      }
+    }
+  }
+
+  /** Coordinates of the reactor itself and coordinates without a version are left out. */
+  private static void addCoordinate(
+      List<String> coordinates,
+      Set<String> reactorKeys,
+      String kind,
+      String groupId,
+      String artifactId,
+      String version) {
+    if (version != null
+        && !reactorKeys.contains(ArtifactUtils.versionlessKey(groupId, artifactId))) {
+      coordinates.add(kind + " " + groupId + ":" + artifactId + ":" + version);
+    }
+  }
+
+  /** Hash of the module and the coordinates it uses from outside the reactor. */
+  private static String hash(String module, List<String> coordinates) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(module.getBytes(StandardCharsets.UTF_8));
+      for (String coordinate : coordinates) {
+        digest.update((byte) '\n');
+        digest.update(coordinate.getBytes(StandardCharsets.UTF_8));
+      }
+      StringBuilder hex = new StringBuilder();
+      for (byte b : digest.digest()) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException err) {
+      throw new IllegalStateException("SHA-256 is not available", err);
+    }
+  }
+
+  /** Result of the check of one module. */
+  private static final class ModuleCheck {
+    private final String module;
+    private final String hash;
+    private final boolean isCached;
+    private final List<String> snapshots;
+
+    private ModuleCheck(String module, String hash, boolean isCached, List<String> snapshots) {
+      this.module = module;
+      this.hash = hash;
+      this.isCached = isCached;
+      this.snapshots = snapshots;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package org.apache.maven.plugins.semver.providers;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ *
+ *
+ * <h1>TagMutationBatch</h1>
+ *
+ * <p>Collects SCM-tags that have to be created or deleted, so all of them can be applied locally
+ * and sent to the remote SCM-repository in one push.
+ *
+ * <p>Created tags point at the current HEAD.
+ *
+ * @author sido
+ */
+public class TagMutationBatch {
+
+  private final Set<String> creations = new LinkedHashSet<>();
+  private final Set<String> deletions = new LinkedHashSet<>();
+
+  /**
+   * Create a tag on HEAD.
+   *
+   * @param tag tag name without <i>refs/tags/</i>
+   * @return this batch
+   */
+  public TagMutationBatch create(String tag) {
+    deletions.remove(tag);
+    creations.add(tag);
+    return this;
+  }
+
+  /**
+   * Delete a tag locally and on the remote.
+   *
+   * @param tag tag name without <i>refs/tags/</i>
+   * @return this batch
+   */
+  public TagMutationBatch delete(String tag) {
+    creations.remove(tag);
+    deletions.add(tag);
+    return this;
+  }
+
+  /**
+   * Tags to create.
+   *
+   * @return tag names
+   */
+  public Set<String> getCreations() {
+    return Collections.unmodifiableSet(creations);
+  }
+
+  /**
+   * Tags to delete.
+   *
+   * @return tag names
+   */
+  public Set<String> getDeletions() {
+    return Collections.unmodifiableSet(deletions);
+  }
+
+  /**
+   * Is there anything to do?
+   *
+   * @return is empty
+   */
+  public boolean isEmpty() {
+    return creations.isEmpty() && deletions.isEmpty();
+  }
+}
@@ -0,0 +1,65 @@
+package org.apache.maven.plugins.semver.providers;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.eclipse.jgit.transport.RemoteRefUpdate;
+
+/**
+ *
+ *
+ * <h1>TagMutationResult</h1>
+ *
+ * <p>Result of pushing a {@link TagMutationBatch}: the status the remote reported for every tag
+ * and the wall time of the whole batch.
+ *
+ * @author sido
+ */
+public class TagMutationResult {
+
+  private final Map<String, RemoteRefUpdate.Status> statuses = new LinkedHashMap<>();
+  private long elapsedMillis;
+
+  void setStatus(String tag, RemoteRefUpdate.Status status) {
+    statuses.put(tag, status);
+  }
+
+  void setElapsedMillis(long elapsedMillis) {
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  /**
+   * Status per tag as reported by the remote.
+   *
+   * @return statuses keyed by tag name
+   */
+  public Map<String, RemoteRefUpdate.Status> getStatuses() {
+    return Collections.unmodifiableMap(statuses);
+  }
+
+  /**
+   * Wall time of applying the batch locally and pushing it.
+   *
+   * @return milliseconds
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  /**
+   * Has every tag been applied on the remote? A tag that was already in the requested state counts
+   * as applied.
+   *
+   * @return is successful
+   */
+  public boolean isSuccessful() {
+    for (RemoteRefUpdate.Status status : statuses.values()) {
+      if (status != RemoteRefUpdate.Status.OK
+          && status != RemoteRefUpdate.Status.UP_TO_DATE
+          && status != RemoteRefUpdate.Status.NON_EXISTING) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
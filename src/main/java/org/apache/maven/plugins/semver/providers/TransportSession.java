@@ -0,0 +1,276 @@
+package org.apache.maven.plugins.semver.providers;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.jgit.errors.TransportException;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.transport.CredentialItem;
+import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.transport.FetchConnection;
+import org.eclipse.jgit.transport.FetchResult;
+import org.eclipse.jgit.transport.PushResult;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.RemoteRefUpdate;
+import org.eclipse.jgit.transport.RemoteSession;
+import org.eclipse.jgit.transport.SshSessionFactory;
+import org.eclipse.jgit.transport.SshTransport;
+import org.eclipse.jgit.transport.TagOpt;
+import org.eclipse.jgit.transport.Transport;
+import org.eclipse.jgit.transport.URIish;
+import org.eclipse.jgit.util.FS;
+
+/**
+ *
+ *
+ * <h1>TransportSession</h1>
+ *
+ * <p>One transport to a remote, shared by every ls-remote, fetch and push of a plugin execution.
+ *
+ * <p>The transport is opened on first use and kept until {@link #close()}, so the remote
+ * configuration, the URI and the credentials are resolved once.
+ *
+ * <ul>
+ *   <li>Over SSH the transport keeps its SSH-session: the handshake and the authentication are done
+ *       once, and every operation runs in a channel of its own on that session.
+ *   <li>Over HTTP the transport keeps the authentication method the remote asked for, so later
+ *       requests send the credentials right away. The JDK keeps the TCP- and TLS-connections alive
+ *       between the requests.
+ * </ul>
+ *
+ * <p>The session counts the operations, the SSH-handshakes with their time and the credentials the
+ * transport asks for. The handshake time saved is estimated from the measured handshakes.
+ *
+ * <p>The operations are synchronized: parallel module builds share the session, and a transport
+ * handles one operation at a time.
+ *
+ * @author sido
+ */
+public final class TransportSession implements AutoCloseable {
+
+  private final Repository repository;
+  private final String remote;
+  private final CredentialsProvider credentialsProvider;
+
+  private Transport transport;
+  private int transportsOpened = 0;
+  private int operations = 0;
+  private final AtomicInteger credentialRequests = new AtomicInteger();
+  private final AtomicInteger handshakes = new AtomicInteger();
+  private final AtomicLong handshakeNanos = new AtomicLong();
+
+  /**
+   * Create a session; the remote is not contacted until the first operation.
+   *
+   * @param repository local repository
+   * @param remote name of the remote, for example <i>origin</i>
+   * @param credentialsProvider credentials for the remote
+   */
+  public TransportSession(
+      Repository repository, String remote, CredentialsProvider credentialsProvider) {
+    this.repository = repository;
+    this.remote = remote;
+    this.credentialsProvider =
+        credentialsProvider == null ? null : new CountingCredentialsProvider(credentialsProvider);
+  }
+
+  /**
+   * Read the ref advertisement of the remote.
+   *
+   * @return refs keyed by full ref name
+   * @throws IOException when the remote can not be reached
+   */
+  public synchronized Map<String, Ref> listRemote() throws IOException {
+    operations++;
+    try (FetchConnection connection = getTransport().openFetch()) {
+      return connection.getRefsMap();
+    }
+  }
+
+  /**
+   * Fetch from the remote.
+   *
+   * @param refSpecs refs to fetch, or null for the fetch refspecs of the remote
+   * @param tagOpt how tags are followed
+   * @return {@link FetchResult}
+   * @throws IOException when the remote can not be reached
+   */
+  public synchronized FetchResult fetch(Collection<RefSpec> refSpecs, TagOpt tagOpt)
+      throws IOException {
+    operations++;
+    Transport fetchTransport = getTransport();
+    fetchTransport.setTagOpt(tagOpt);
+    return fetchTransport.fetch(NullProgressMonitor.INSTANCE, refSpecs);
+  }
+
+  /**
+   * Push to the remote.
+   *
+   * @param refSpecs refs to push; a refspec without source deletes the remote ref
+   * @param atomic all refs are updated or none
+   * @return {@link PushResult}
+   * @throws IOException when the remote can not be reached
+   */
+  public synchronized PushResult push(Collection<RefSpec> refSpecs, boolean atomic)
+      throws IOException {
+    operations++;
+    Transport pushTransport = getTransport();
+    pushTransport.setPushAtomic(atomic);
+    Collection<RemoteRefUpdate> updates = pushTransport.findRemoteRefUpdatesFor(refSpecs);
+    return pushTransport.push(NullProgressMonitor.INSTANCE, updates);
+  }
+
+  private Transport getTransport() throws IOException {
+    if (transport == null) {
+      try {
+        transport = Transport.open(repository, remote);
+      } catch (URISyntaxException err) {
+        throw new IOException(err);
+      }
+      transport.setCredentialsProvider(credentialsProvider);
+      if (transport instanceof SshTransport) {
+        SshTransport sshTransport = (SshTransport) transport;
+        sshTransport.setSshSessionFactory(
+            new CountingSshSessionFactory(sshTransport.getSshSessionFactory()));
+      }
+      transportsOpened++;
+    }
+    return transport;
+  }
+
+  /**
+   * Number of times the transport to the remote was opened.
+   *
+   * @return opened transports
+   */
+  public synchronized int getTransportsOpened() {
+    return transportsOpened;
+  }
+
+  /**
+   * Number of operations on the remote, one for every ls-remote, fetch and push.
+   *
+   * @return operations
+   */
+  public synchronized int getOperations() {
+    return operations;
+  }
+
+  /**
+   * Number of SSH-sessions opened to the remote, each with its own handshake and authentication.
+   *
+   * @return SSH-handshakes, 0 for other protocols
+   */
+  public int getHandshakes() {
+    return handshakes.get();
+  }
+
+  /**
+   * Time spent on the SSH-handshakes, including the authentication.
+   *
+   * @return millis
+   */
+  public long getHandshakeMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(handshakeNanos.get());
+  }
+
+  /**
+   * Estimated time saved because operations reused an SSH-session instead of opening their own:
+   * the number of reusing operations times the average measured handshake.
+   *
+   * @return millis, 0 when no handshake was measured
+   */
+  public synchronized long getHandshakeMillisSaved() {
+    int measured = handshakes.get();
+    if (measured == 0 || operations <= measured) {
+      return 0;
+    }
+    return TimeUnit.NANOSECONDS.toMillis(handshakeNanos.get() / measured * (operations - measured));
+  }
+
+  /**
+   * Number of times the transport asked for credentials to authenticate.
+   *
+   * @return credential requests
+   */
+  public int getCredentialRequests() {
+    return credentialRequests.get();
+  }
+
+  /** Close the transport and every connection it holds. */
+  @Override
+  public synchronized void close() {
+    if (transport != null) {
+      transport.close();
+      transport = null;
+    }
+  }
+
+  /** Counts and times the SSH-sessions the transport opens. */
+  private final class CountingSshSessionFactory extends SshSessionFactory {
+
+    private final SshSessionFactory delegate;
+
+    private CountingSshSessionFactory(SshSessionFactory delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public RemoteSession getSession(
+        URIish uri, CredentialsProvider credentials, FS fs, int timeout)
+        throws TransportException {
+      long start = System.nanoTime();
+      RemoteSession session = delegate.getSession(uri, credentials, fs, timeout);
+      handshakeNanos.addAndGet(System.nanoTime() - start);
+      handshakes.incrementAndGet();
+      return session;
+    }
+
+    @Override
+    public String getType() {
+      return delegate.getType();
+    }
+
+    @Override
+    public void releaseSession(RemoteSession session) {
+      delegate.releaseSession(session);
+    }
+  }
+
+  /** Counts the credentials the transport asks for. */
+  private final class CountingCredentialsProvider extends CredentialsProvider {
+
+    private final CredentialsProvider delegate;
+
+    private CountingCredentialsProvider(CredentialsProvider delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public boolean isInteractive() {
+      return delegate.isInteractive();
+    }
+
+    @Override
+    public boolean supports(CredentialItem... items) {
+      return delegate.supports(items);
+    }
+
+    @Override
+    public boolean get(URIish uri, CredentialItem... items) {
+      credentialRequests.incrementAndGet();
+      return delegate.get(uri, items);
+    }
+
+    @Override
+    public void reset(URIish uri) {
+      delegate.reset(uri);
+    }
+  }
+}
@@ -1,11 +1,9 @@
 package org.apache.maven.plugins.semver.providers;
 
-import java.io.IOException;
 import java.util.Map;
 import org.apache.maven.plugins.semver.exceptions.SemverException;
 import org.apache.maven.plugins.semver.goals.SemverGoal;
 import org.apache.maven.plugins.semver.runmodes.RunMode;
-import org.eclipse.jgit.api.errors.GitAPIException;
 
 /**
  *
@@ -20,7 +18,7 @@ import org.eclipse.jgit.api.errors.GitAPIException;
 public interface VersionProvider {
 
   /**
-   * Determine raw version list from POM-version.
+   * Determine the next version from the POM-version.
    *
    * @param semverGoal executed gaol
    * @param runMode executed runmode
@@ -29,45 +27,48 @@ public interface VersionProvider {
    * @param configMetaData metaData determine by {@link
    *     org.apache.maven.plugins.semver.configuration.SemverConfiguration}
    * @param version example: 0.x.x-SNAPSHOT
-   * @return list of development, git and release-versions
+   * @return next <i>major.minor.patch</i> version
    * @throws SemverException native exception
-   * @throws IOException write to disk exception
-   * @throws GitAPIException repository exception
    */
-  Map<VersionProvider.RAW_VERSION, String> determineRawVersions(
+  SemanticVersion determineNextVersion(
       SemverGoal.SEMVER_GOAL semverGoal,
       RunMode.RUN_MODE runMode,
       String configBranchVersion,
       String configMetaData,
       String version)
-      throws SemverException, IOException, GitAPIException;
+      throws SemverException;
 
   /**
-   * Determine release versions from {@link RAW_VERSION}.
+   * Determine the SCM-version (tag) of a version, including branch information and build
+   * metadata.
    *
-   * @param rawVersions raw version map with development version patch, minor and major the {@link
-   *     org.apache.maven.plugins.semver.providers.VersionProvider.RAW_VERSION} enumeration is used
-   *     to define the map
+   * @param runMode executed runmode
+   * @param branchVersion branchVersion
+   * @param metaData metaData
+   * @param version next version
+   * @return SCM-version
+   */
+  String determineScmVersion(
+      RunMode.RUN_MODE runMode, String branchVersion, String metaData, SemanticVersion version);
+
+  /**
+   * Determine release versions from the next version.
+   *
+   * @param version next version
    * @return finalVersions
    */
-  Map<VersionProviderImpl.FINAL_VERSION, String> determineReleaseVersions(
-      Map<RAW_VERSION, String> rawVersions);
+  Map<VersionProviderImpl.FINAL_VERSION, String> determineReleaseVersions(SemanticVersion version);
 
   /**
-   * Determine release-versions from {@link VersionProvider.RAW_VERSION}.
+   * Determine release-versions from the next version.
    *
    * <p>This version contains also the buildmeta-data and branch information.
    *
-   * @param rawVersions raw version map with development version patch, minor and major the {@link
-   *     org.apache.maven.plugins.semver.providers.VersionProvider.RAW_VERSION} enumeration is used
-   *     to define the map
+   * @param version next version
    * @return finalVersions
    */
   Map<VersionProviderImpl.FINAL_VERSION, String> determineReleaseBranchVersions(
-      Map<RAW_VERSION, String> rawVersions,
-      RunMode.RUN_MODE runMode,
-      String metaData,
-      String branchVersion);
+      SemanticVersion version, RunMode.RUN_MODE runMode, String metaData, String branchVersion);
 
   /**
    * Determine general release-tag.
@@ -84,13 +85,11 @@ public interface VersionProvider {
    *   <li>1.1.1-001001001
    * </ul>
    *
-   * @param patch patch is the number to define a bugfix in symantic-versioning
-   * @param minor minor is the number to define a feature in symantic-versioning
-   * @param major major is the number to define a breaking change in symantic-versioning
+   * @param version version to tag
    * @return release tag
    */
   String determineReleaseBranchTag(
-      RunMode.RUN_MODE runMode, String branchVersion, int patch, int minor, int major);
+      RunMode.RUN_MODE runMode, String branchVersion, SemanticVersion version);
 
   /**
    * Determine general release-tag.
@@ -107,23 +106,18 @@ public interface VersionProvider {
    *   <li>1.1.1-001001001
    * </ul>
    *
-   * @param patch patch is the number to define a bugfix in symantic-versioning
-   * @param minor minor is the number to define a feature in symantic-versioning
-   * @param major major is the number to define a breaking change in symantic-versioning
+   * @param version version to tag
    * @return release tag
    */
-  String determineReleaseTag(RunMode.RUN_MODE runMode, int patch, int minor, int major);
+  String determineReleaseTag(RunMode.RUN_MODE runMode, SemanticVersion version);
 
   /**
    * Determine wether or not buildMetaData had to be added to the scmversion for GIT
    *
-   * @param patch patch is the number to define a bugfix in symantic-versioning
-   * @param minor minor is the number to define a feature in symantic-versioning
-   * @param major major is the number to define a breaking change in symantic-versioning
+   * @param version version to tag
    * @return build metadata
    */
-  String determineBuildMetaData(
-      RunMode.RUN_MODE runMode, String metaData, int patch, int minor, int major);
+  String determineBuildMetaData(RunMode.RUN_MODE runMode, String metaData, SemanticVersion version);
 
   /**
    * Determine if the version in the pom.xml is corrupt.
@@ -136,16 +130,6 @@ public interface VersionProvider {
    */
   boolean isVersionCorrupt(String pomVersion) throws SemverException;
 
-  /** Version-type is mentoined here. */
-  enum RAW_VERSION {
-    DEVELOPMENT,
-    RELEASE,
-    SCM,
-    MAJOR,
-    MINOR,
-    PATCH
-  }
-
   /** The FINAL_VERSION is determined in each RunMode to create the new build-version. */
   enum FINAL_VERSION {
     DEVELOPMENT,
@@ -1,22 +1,17 @@
 package org.apache.maven.plugins.semver.providers;
 
-import static java.lang.Integer.parseInt;
-import static java.util.Objects.requireNonNull;
 import static org.apache.maven.plugins.semver.SemverMavenPlugin.FUNCTION_LINE_BREAK;
 import static org.apache.maven.plugins.semver.runmodes.RunMode.RUN_MODE.NATIVE_BRANCH;
 import static org.apache.maven.plugins.semver.runmodes.RunMode.RUN_MODE.NATIVE_BRANCH_RPM;
 
-import java.io.IOException;
 import java.util.EnumMap;
 import java.util.Map;
-import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.apache.maven.plugins.semver.SemverMavenPlugin;
 import org.apache.maven.plugins.semver.exceptions.SemverException;
 import org.apache.maven.plugins.semver.goals.SemverGoal;
 import org.apache.maven.plugins.semver.runmodes.RunMode;
-import org.eclipse.jgit.api.errors.GitAPIException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,36 +19,23 @@ import org.slf4j.LoggerFactory;
 @Singleton
 public class VersionProviderImpl implements VersionProvider {
 
-  private Logger logger = LoggerFactory.getLogger(VersionProviderImpl.class);
-
-  private final RepositoryProvider repositoryProvider;
+  private static final String SNAPSHOT = "SNAPSHOT";
 
-  @Inject
-  public VersionProviderImpl(RepositoryProvider repositoryProvider) {
-    this.repositoryProvider = requireNonNull(repositoryProvider);
-  }
+  private Logger logger = LoggerFactory.getLogger(VersionProviderImpl.class);
 
-  public Map<RAW_VERSION, String> determineRawVersions(
+  @Override
+  public SemanticVersion determineNextVersion(
       SemverGoal.SEMVER_GOAL semverGoal,
       RunMode.RUN_MODE runMode,
       String configBranchVersion,
       String configMetaData,
       String pomVersion)
-      throws SemverException, IOException, GitAPIException {
-
-    EnumMap<RAW_VERSION, String> versions = new EnumMap<>(RAW_VERSION.class);
+      throws SemverException {
 
-    int majorVersion;
-    int minorVersion;
-    int patchVersion;
-
-    String[] rawVersion = pomVersion.split("\\.");
-    if (rawVersion.length == 3) {
+    SemanticVersion currentVersion = SemanticVersion.tryParse(pomVersion);
+    if (currentVersion != null) {
       logger.debug("Set version-variables from POM.xml");
       logger.debug(SemverMavenPlugin.MOJO_LINE_BREAK);
-      majorVersion = parseInt(rawVersion[0]);
-      minorVersion = parseInt(rawVersion[1]);
-      patchVersion = parseInt(rawVersion[2].substring(0, rawVersion[2].lastIndexOf('-')));
     } else {
       logger.error("Unrecognized version-pattern");
       logger.error("Semver plugin is terminating");
@@ -62,79 +44,74 @@ public class VersionProviderImpl implements VersionProvider {
           "Could not parse version from POM.xml because of not parsable version-pattern");
     }
 
-    logger.debug("MAJOR-version                     : [ {} ]", majorVersion);
-    logger.debug("MINOR-version                     : [ {} ]", minorVersion);
-    logger.debug("PATCH-version                     : [ {} ]", patchVersion);
+    logger.debug("MAJOR-version                     : [ {} ]", currentVersion.getMajor());
+    logger.debug("MINOR-version                     : [ {} ]", currentVersion.getMinor());
+    logger.debug("PATCH-version                     : [ {} ]", currentVersion.getPatch());
     logger.debug(SemverMavenPlugin.MOJO_LINE_BREAK);
 
+    SemanticVersion nextVersion;
     if (semverGoal == SemverGoal.SEMVER_GOAL.MAJOR) {
-      majorVersion = majorVersion + 1;
-      minorVersion = 0;
-      patchVersion = 0;
+      nextVersion = currentVersion.nextMajor();
     } else if (semverGoal == SemverGoal.SEMVER_GOAL.MINOR) {
-      minorVersion = minorVersion + 1;
-      patchVersion = 0;
+      nextVersion = currentVersion.nextMinor();
     } else if (semverGoal == SemverGoal.SEMVER_GOAL.PATCH) {
-      patchVersion = patchVersion + 1;
-    }
-
-    String developmentVersion =
-        majorVersion + "." + minorVersion + "." + patchVersion + "-SNAPSHOT";
-
-    // TODO:SH move this part to a RunModeNative and RunModeNativeRpm implementation
-    String releaseVersion;
-    String scmVersion;
-    if (runMode.equals(NATIVE_BRANCH) || runMode.equals(NATIVE_BRANCH_RPM)) {
-      scmVersion =
-          determineReleaseBranchTag(
-              runMode, configBranchVersion, patchVersion, minorVersion, majorVersion);
-      releaseVersion = scmVersion;
+      nextVersion = currentVersion.nextPatch();
     } else {
-      scmVersion = determineReleaseTag(runMode, patchVersion, minorVersion, majorVersion);
-      releaseVersion = majorVersion + "." + minorVersion + "." + patchVersion;
+      nextVersion = currentVersion.toRelease();
     }
 
-    String metaData =
-        determineBuildMetaData(runMode, configMetaData, patchVersion, minorVersion, majorVersion);
+    String scmVersion = determineScmTag(runMode, configBranchVersion, nextVersion);
+    String metaData = determineBuildMetaData(runMode, configMetaData, nextVersion);
 
-    logger.info("New DEVELOPMENT-version            : [ {} ]", developmentVersion);
+    logger.info("New DEVELOPMENT-version            : [ {} ]", developmentVersion(nextVersion));
     logger.info("New GIT-version                    : [ {}{} ]", scmVersion, metaData);
-    logger.info("New RELEASE-version                : [ {} ]", releaseVersion);
+    logger.info(
+        "New RELEASE-version                : [ {} ]",
+        releaseVersion(runMode, scmVersion, nextVersion));
     logger.info(FUNCTION_LINE_BREAK);
 
-    versions.put(RAW_VERSION.DEVELOPMENT, developmentVersion);
-    versions.put(RAW_VERSION.RELEASE, releaseVersion);
-    versions.put(RAW_VERSION.SCM, scmVersion + metaData);
-    versions.put(RAW_VERSION.MAJOR, String.valueOf(majorVersion));
-    versions.put(RAW_VERSION.MINOR, String.valueOf(minorVersion));
-    versions.put(RAW_VERSION.PATCH, String.valueOf(patchVersion));
+    return nextVersion;
+  }
+
+  @Override
+  public String determineScmVersion(
+      RunMode.RUN_MODE runMode, String branchVersion, String metaData, SemanticVersion version) {
+    return determineScmTag(runMode, branchVersion, version)
+        + determineBuildMetaData(runMode, metaData, version);
+  }
+
+  /** SCM-tag without build metadata. */
+  private String determineScmTag(
+      RunMode.RUN_MODE runMode, String branchVersion, SemanticVersion version) {
+    if (runMode == NATIVE_BRANCH || runMode == NATIVE_BRANCH_RPM) {
+      return determineReleaseBranchTag(runMode, branchVersion, version);
+    }
+    return determineReleaseTag(runMode, version);
+  }
+
+  private String releaseVersion(RunMode.RUN_MODE runMode, String scmTag, SemanticVersion version) {
+    return runMode == NATIVE_BRANCH || runMode == NATIVE_BRANCH_RPM ? scmTag : version.toString();
+  }
 
-    repositoryProvider.isLocalVersionCorrupt(scmVersion);
-    return versions;
+  private String developmentVersion(SemanticVersion version) {
+    return version.withPreRelease(SNAPSHOT).toString();
   }
 
   @Override
-  public Map<FINAL_VERSION, String> determineReleaseVersions(Map<RAW_VERSION, String> rawVersions) {
+  public Map<FINAL_VERSION, String> determineReleaseVersions(SemanticVersion version) {
     EnumMap<FINAL_VERSION, String> finalVersions = new EnumMap<>(FINAL_VERSION.class);
-    finalVersions.put(FINAL_VERSION.DEVELOPMENT, rawVersions.get(RAW_VERSION.DEVELOPMENT));
-    finalVersions.put(FINAL_VERSION.RELEASE, rawVersions.get(RAW_VERSION.RELEASE));
-    finalVersions.put(FINAL_VERSION.SCM, rawVersions.get(RAW_VERSION.RELEASE));
+    finalVersions.put(FINAL_VERSION.DEVELOPMENT, developmentVersion(version));
+    finalVersions.put(FINAL_VERSION.RELEASE, version.toString());
+    finalVersions.put(FINAL_VERSION.SCM, version.toString());
     return finalVersions;
   }
 
   @Override
   public Map<FINAL_VERSION, String> determineReleaseBranchVersions(
-      Map<RAW_VERSION, String> rawVersions,
-      RunMode.RUN_MODE runMode,
-      String metaData,
-      String branchVersion) {
+      SemanticVersion version, RunMode.RUN_MODE runMode, String metaData, String branchVersion) {
 
-    int patch = parseInt(rawVersions.get(RAW_VERSION.PATCH));
-    int minor = parseInt(rawVersions.get(RAW_VERSION.MINOR));
-    int major = parseInt(rawVersions.get(RAW_VERSION.MAJOR));
-
-    String releaseTag = determineReleaseTag(runMode, patch, minor, major);
-    String buildMetaData = determineBuildMetaData(runMode, metaData, patch, minor, major);
+    String releaseTag = determineReleaseTag(runMode, version);
+    String buildMetaData = determineBuildMetaData(runMode, metaData, version);
 
     StringBuilder releaseVersion = new StringBuilder();
     if (branchVersion != null && !branchVersion.isEmpty()) {
@@ -147,8 +124,8 @@ public class VersionProviderImpl implements VersionProvider {
     scmVersion.append(releaseVersion);
     scmVersion.append(buildMetaData);
 
-    logger.info(
-        "New DEVELOPMENT-version            : [ {} ]", rawVersions.get(RAW_VERSION.DEVELOPMENT));
+    String developmentVersion = developmentVersion(version);
+    logger.info("New DEVELOPMENT-version            : [ {} ]", developmentVersion);
     logger.info(
         "New BRANCH GIT build-metadata      : [ {} ]", determineLogBuildMetaData(buildMetaData));
     logger.info("New BRANCH GIT-version             : [ {} ]", scmVersion);
@@ -156,7 +133,7 @@ public class VersionProviderImpl implements VersionProvider {
     logger.info(SemverMavenPlugin.MOJO_LINE_BREAK);
 
     EnumMap<FINAL_VERSION, String> finalVersions = new EnumMap<>(FINAL_VERSION.class);
-    finalVersions.put(FINAL_VERSION.DEVELOPMENT, rawVersions.get(RAW_VERSION.DEVELOPMENT));
+    finalVersions.put(FINAL_VERSION.DEVELOPMENT, developmentVersion);
     finalVersions.put(FINAL_VERSION.BUILD_METADATA, buildMetaData);
     finalVersions.put(FINAL_VERSION.SCM, scmVersion.toString());
     finalVersions.put(FINAL_VERSION.RELEASE, releaseVersion.toString());
@@ -181,44 +158,46 @@ public class VersionProviderImpl implements VersionProvider {
 
   @Override
   public String determineReleaseBranchTag(
-      RunMode.RUN_MODE runMode, String branchVersion, int patch, int minor, int major) {
-    StringBuilder releaseTag = new StringBuilder();
-    releaseTag.append(major);
-    releaseTag.append(".");
-    releaseTag.append(minor);
-    releaseTag.append(".");
-    releaseTag.append(patch);
+      RunMode.RUN_MODE runMode, String branchVersion, SemanticVersion version) {
     if (runMode == RunMode.RUN_MODE.RELEASE_BRANCH_RPM || runMode == NATIVE_BRANCH_RPM) {
-      releaseTag = new StringBuilder();
-      releaseTag.append(branchVersion);
-      releaseTag.append(String.format("%03d%03d%03d", major, minor, patch));
+      return appendRpmVersion(new StringBuilder(branchVersion), version).toString();
     }
-    return releaseTag.toString();
+    return version.toRelease().toString();
   }
 
   @Override
-  public String determineReleaseTag(RunMode.RUN_MODE runMode, int patch, int minor, int major) {
-    StringBuilder releaseTag = new StringBuilder();
-    releaseTag.append(major);
-    releaseTag.append(".");
-    releaseTag.append(minor);
-    releaseTag.append(".");
-    releaseTag.append(patch);
+  public String determineReleaseTag(RunMode.RUN_MODE runMode, SemanticVersion version) {
     if (runMode == RunMode.RUN_MODE.RELEASE_BRANCH_RPM || runMode == NATIVE_BRANCH_RPM) {
-      releaseTag = new StringBuilder();
-      releaseTag.append(String.format("%03d%03d%03d", major, minor, patch));
+      return appendRpmVersion(new StringBuilder(), version).toString();
+    }
+    return version.toRelease().toString();
+  }
+
+  /** Append major, minor and patch as three zero-padded numbers of three digits. */
+  private StringBuilder appendRpmVersion(StringBuilder rpmVersion, SemanticVersion version) {
+    appendPadded(rpmVersion, version.getMajor());
+    appendPadded(rpmVersion, version.getMinor());
+    appendPadded(rpmVersion, version.getPatch());
+    return rpmVersion;
+  }
+
+  private void appendPadded(StringBuilder rpmVersion, int part) {
+    if (part < 100) {
+      rpmVersion.append('0');
+    }
+    if (part < 10) {
+      rpmVersion.append('0');
     }
-    return releaseTag.toString();
+    rpmVersion.append(part);
   }
 
   @Override
   public String determineBuildMetaData(
-      RunMode.RUN_MODE runmode, String metaData, int patch, int minor, int major) {
+      RunMode.RUN_MODE runmode, String metaData, SemanticVersion version) {
     StringBuilder buildMetaData = new StringBuilder();
     if (runmode == RunMode.RUN_MODE.RELEASE_BRANCH_RPM || runmode == NATIVE_BRANCH_RPM) {
-      String buildMetaDataBranch = major + "." + minor + "." + patch;
       buildMetaData.append("+");
-      buildMetaData.append(buildMetaDataBranch);
+      buildMetaData.append(version.toRelease());
     }
     if (!metaData.isEmpty()) {
       buildMetaData.append("+");
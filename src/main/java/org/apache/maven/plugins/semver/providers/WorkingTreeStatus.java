@@ -0,0 +1,254 @@
+package org.apache.maven.plugins.semver.providers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.dircache.DirCacheIterator;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.FileTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.WorkingTreeIterator;
+import org.eclipse.jgit.treewalk.WorkingTreeIterator.MetadataDiff;
+import org.eclipse.jgit.treewalk.filter.PathFilter;
+
+/**
+ *
+ *
+ * <h1>WorkingTreeStatus</h1>
+ *
+ * <p>Fast check whether the working tree is clean.
+ *
+ * <p>Each top-level directory is walked in its own thread against HEAD and the index. The index
+ * stat cache is trusted: a file whose size and modification time match its index entry is not
+ * read. The walk stops at the first change that is found. Optionally only the paths relevant for a
+ * release are checked.
+ *
+ * @author sido
+ */
+public final class WorkingTreeStatus {
+
+  /** Check path that selects the complete working tree. */
+  public static final String ALL_PATHS = "*";
+
+  private static final int HEAD = 0;
+  private static final int INDEX = 1;
+  private static final int WORKING_TREE = 2;
+
+  private final String firstChange;
+  private final long entriesChecked;
+  private final long elapsedMillis;
+
+  private WorkingTreeStatus(String firstChange, long entriesChecked, long elapsedMillis) {
+    this.firstChange = firstChange;
+    this.entriesChecked = entriesChecked;
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  /**
+   * Check the working tree of a repository.
+   *
+   * @param repository repository to check
+   * @param checkPaths file names (<i>pom.xml</i>) or repository paths (<i>src/main</i>) to check,
+   *     {@link #ALL_PATHS} or an empty collection checks everything
+   * @return {@link WorkingTreeStatus}
+   * @throws IOException when the index, HEAD or working tree can not be read
+   */
+  public static WorkingTreeStatus check(Repository repository, Collection<String> checkPaths)
+      throws IOException {
+    long start = System.currentTimeMillis();
+    Collection<String> paths =
+        checkPaths == null || checkPaths.contains(ALL_PATHS)
+            ? Collections.emptyList()
+            : checkPaths;
+    DirCache dirCache = repository.readDirCache();
+    ObjectId headTree = resolveHeadTree(repository);
+    AtomicReference<String> firstChange = new AtomicReference<>();
+    AtomicLong entriesChecked = new AtomicLong();
+
+    List<String> directories = new ArrayList<>();
+    try (TreeWalk walk = createWalk(repository, dirCache, headTree)) {
+      walk(walk, paths, directories, firstChange, entriesChecked);
+    }
+
+    if (firstChange.get() == null && !directories.isEmpty()) {
+      int threads = Math.min(directories.size(), Runtime.getRuntime().availableProcessors());
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+        List<Future<Void>> walks = new ArrayList<>();
+        for (String directory : directories) {
+          walks.add(
+              executor.submit(
+                  () -> {
+                    try (TreeWalk walk = createWalk(repository, dirCache, headTree)) {
+                      walk.setFilter(PathFilter.create(directory));
+                      walk(walk, paths, null, firstChange, entriesChecked);
+                    }
+                    return null;
+                  }));
+        }
+        for (Future<Void> directoryWalk : walks) {
+          directoryWalk.get();
+        }
+      } catch (InterruptedException err) {
+        Thread.currentThread().interrupt();
+        throw new IOException(err);
+      } catch (ExecutionException err) {
+        throw new IOException(err.getCause());
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+    return new WorkingTreeStatus(
+        firstChange.get(), entriesChecked.get(), System.currentTimeMillis() - start);
+  }
+
+  private static ObjectId resolveHeadTree(Repository repository) throws IOException {
+    ObjectId head = repository.resolve(Constants.HEAD);
+    if (head == null) {
+      return null;
+    }
+    try (RevWalk revWalk = new RevWalk(repository)) {
+      return revWalk.parseCommit(head).getTree().getId();
+    }
+  }
+
+  private static TreeWalk createWalk(Repository repository, DirCache dirCache, ObjectId headTree)
+      throws IOException {
+    TreeWalk walk = new TreeWalk(repository);
+    if (headTree == null) {
+      walk.addTree(new EmptyTreeIterator());
+    } else {
+      walk.addTree(headTree);
+    }
+    walk.addTree(new DirCacheIterator(dirCache));
+    FileTreeIterator workingTree = new FileTreeIterator(repository);
+    workingTree.setDirCacheIterator(walk, INDEX);
+    walk.addTree(workingTree);
+    return walk;
+  }
+
+  /**
+   * Walk the tree until the first change is found. Sub-directories are either entered or, when
+   * <i>directories</i> is given, collected to be walked separately.
+   */
+  private static void walk(
+      TreeWalk walk,
+      Collection<String> paths,
+      List<String> directories,
+      AtomicReference<String> firstChange,
+      AtomicLong entriesChecked)
+      throws IOException {
+    while (walk.next()) {
+      if (firstChange.get() != null) {
+        return;
+      }
+      DirCacheIterator index = walk.getTree(INDEX, DirCacheIterator.class);
+      WorkingTreeIterator workingTree = walk.getTree(WORKING_TREE, WorkingTreeIterator.class);
+      if (walk.isSubtree()) {
+        if (index == null && workingTree != null && workingTree.isEntryIgnored()) {
+          continue;
+        }
+        if (directories != null) {
+          directories.add(walk.getPathString());
+        } else {
+          walk.enterSubtree();
+        }
+      } else if (isRelevant(walk, paths)) {
+        entriesChecked.incrementAndGet();
+        if (isChanged(walk, index, workingTree)) {
+          firstChange.compareAndSet(null, walk.getPathString());
+          return;
+        }
+      }
+    }
+  }
+
+  private static boolean isRelevant(TreeWalk walk, Collection<String> paths) {
+    if (paths.isEmpty()) {
+      return true;
+    }
+    String path = walk.getPathString();
+    String name = walk.getNameString();
+    for (String checkPath : paths) {
+      if (checkPath.equals(name)
+          || checkPath.equals(path)
+          || path.startsWith(checkPath.endsWith("/") ? checkPath : checkPath + "/")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isChanged(
+      TreeWalk walk, DirCacheIterator index, WorkingTreeIterator workingTree) throws IOException {
+    CanonicalTreeParser head = walk.getTree(HEAD, CanonicalTreeParser.class);
+    if (index == null) {
+      return head != null || (workingTree != null && !workingTree.isEntryIgnored());
+    }
+    DirCacheEntry entry = index.getDirCacheEntry();
+    if (entry.getStage() != DirCacheEntry.STAGE_0
+        || head == null
+        || walk.getRawMode(HEAD) != walk.getRawMode(INDEX)
+        || !walk.idEqual(HEAD, INDEX)) {
+      return true;
+    }
+    if (workingTree == null || workingTree.isModeDifferent(entry.getRawMode())) {
+      return true;
+    }
+    if (workingTree.compareMetadata(entry) == MetadataDiff.EQUAL) {
+      return false;
+    }
+    return workingTree.isModified(entry, false, walk.getObjectReader());
+  }
+
+  /**
+   * Is the working tree clean for the checked paths?
+   *
+   * @return is clean
+   */
+  public boolean isClean() {
+    return firstChange == null;
+  }
+
+  /**
+   * First changed path that was found.
+   *
+   * @return path or null when the working tree is clean
+   */
+  public String getFirstChange() {
+    return firstChange;
+  }
+
+  /**
+   * Number of files that were compared with the index.
+   *
+   * @return entries checked
+   */
+  public long getEntriesChecked() {
+    return entriesChecked;
+  }
+
+  /**
+   * Wall time of the check.
+   *
+   * @return milliseconds
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+}
@@ -1,11 +1,17 @@
 package org.apache.maven.plugins.semver.runmodes;
 
+import java.util.Map;
+import javax.inject.Provider;
 import org.apache.maven.plugins.semver.configuration.SemverConfiguration;
 import org.apache.maven.plugins.semver.exceptions.SemverException;
+import org.apache.maven.plugins.semver.exceptions.SemverFailureException;
 import org.apache.maven.plugins.semver.goals.SemverGoal;
 import org.apache.maven.plugins.semver.goals.SemverGoal.SEMVER_GOAL;
+import org.apache.maven.plugins.semver.providers.PomProvider;
 import org.apache.maven.plugins.semver.providers.RepositoryProvider;
+import org.apache.maven.plugins.semver.providers.SemanticVersion;
 import org.apache.maven.plugins.semver.providers.VersionProvider;
+import org.apache.maven.plugins.semver.providers.VersionProvider.FINAL_VERSION;
 
 /**
  *
@@ -65,26 +71,78 @@ public interface RunMode {
   }
 
   /**
-   * Run all checks before performing the RunMode.
+   * Run all checks before performing the RunMode. Corrupt local tags of the version are cleaned
+   * first.
    *
-   * @param repositoryProvider provider for the GIT-repos
+   * <p>The checks only run when the release is pushed, so the {@link RepositoryProvider} is looked
+   * up here: a release without SCM never loads it.
+   *
+   * @param repositoryProviderLookup provider for the GIT-repos
    * @param versionProvider privder for version mutations
    * @param configuration configuration for plugin
-   * @param scmTag the version that has to be checked
+   * @param version the version that has to be checked
    */
   static void checkRemoteRepository(
-      RepositoryProvider repositoryProvider,
+      Provider<RepositoryProvider> repositoryProviderLookup,
       VersionProvider versionProvider,
       SemverConfiguration configuration,
-      String scmTag)
+      SemanticVersion version)
       throws SemverException {
+    RepositoryProvider repositoryProvider = repositoryProviderLookup.get();
+    String scmTag =
+        versionProvider.determineScmVersion(
+            configuration.getRunMode(),
+            configuration.getBranchVersion(),
+            configuration.getMetaData(),
+            version);
     if (configuration.checkRemoteVersionTags()) {
       if (repositoryProvider.isRemoteVersionCorrupt(scmTag)) {
-        Runtime.getRuntime().exit(1);
+        throw new SemverFailureException("The remote is ahead of version " + scmTag);
       }
     }
-    if (versionProvider.isVersionCorrupt(scmTag) || repositoryProvider.isChanged()) {
-      Runtime.getRuntime().exit(1);
+    int metaDataIndex = scmTag.indexOf('+');
+    repositoryProvider.isLocalVersionCorrupt(
+        metaDataIndex < 0 ? scmTag : scmTag.substring(0, metaDataIndex),
+        configuration.deleteRemoteTags());
+    if (versionProvider.isVersionCorrupt(scmTag)) {
+      throw new SemverFailureException("Version " + scmTag + " is corrupt");
+    }
+    if (repositoryProvider.isChanged(configuration.getStatusCheckPaths())) {
+      throw new SemverFailureException("There are local or remote changes");
+    }
+  }
+
+  /**
+   * Check that the reactor does not depend on SNAPSHOT-versions before the release is created.
+   *
+   * @param pomProvider provider for the pom mutations
+   * @param configuration configuration for plugin
+   */
+  static void checkSnapshotDependencies(
+      PomProvider pomProvider, SemverConfiguration configuration) {
+    if (configuration.checkSnapshotDependencies() && pomProvider.hasSnapshotDependencies()) {
+      throw new SemverFailureException("The reactor depends on SNAPSHOT-versions");
+    }
+  }
+
+  /**
+   * Create the release and the next development-pom in the configured way.
+   *
+   * @param pomProvider provider for the pom mutations
+   * @param configuration configuration for plugin
+   * @param finalVersions final versions of the release
+   */
+  static void createRelease(
+      PomProvider pomProvider,
+      SemverConfiguration configuration,
+      Map<FINAL_VERSION, String> finalVersions) {
+    if (configuration.inMemoryRelease()) {
+      pomProvider.createInMemoryRelease(finalVersions, configuration.atomicPush());
+    } else if (configuration.atomicPush()) {
+      pomProvider.createAtomicRelease(finalVersions);
+    } else {
+      pomProvider.createReleasePom(finalVersions);
+      pomProvider.createNextDevelopmentPom(finalVersions.get(FINAL_VERSION.DEVELOPMENT));
     }
   }
 
@@ -94,6 +152,7 @@ public interface RunMode {
    * @param semverGoal {@link SemverGoal} that is called
    * @param configuration plugin configuration
    * @param pomVersion pom version
+   * @throws SemverFailureException when the RunMode has failed
    */
   void execute(SEMVER_GOAL semverGoal, SemverConfiguration configuration, String pomVersion);
 }
@@ -3,19 +3,24 @@ package org.apache.maven.plugins.semver.runmodes;
 import static java.util.Objects.requireNonNull;
 import static org.apache.maven.plugins.semver.factories.FileWriterFactory.removeBackupSemverPom;
 import static org.apache.maven.plugins.semver.runmodes.RunMode.checkRemoteRepository;
+import static org.apache.maven.plugins.semver.runmodes.RunMode.checkSnapshotDependencies;
+import static org.apache.maven.plugins.semver.runmodes.RunMode.createRelease;
 
 import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 import org.apache.maven.plugins.semver.configuration.SemverConfiguration;
+import org.apache.maven.plugins.semver.exceptions.SemverException;
+import org.apache.maven.plugins.semver.exceptions.SemverFailureException;
 import org.apache.maven.plugins.semver.factories.FileWriterFactory;
 import org.apache.maven.plugins.semver.goals.SemverGoal.SEMVER_GOAL;
 import org.apache.maven.plugins.semver.providers.PomProvider;
 import org.apache.maven.plugins.semver.providers.RepositoryProvider;
+import org.apache.maven.plugins.semver.providers.SemanticVersion;
 import org.apache.maven.plugins.semver.providers.VersionProvider;
 import org.apache.maven.plugins.semver.providers.VersionProvider.FINAL_VERSION;
-import org.apache.maven.plugins.semver.providers.VersionProvider.RAW_VERSION;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,13 +32,13 @@ public class RunModeNative implements RunMode {
 
   private final PomProvider pomProvider;
   private final VersionProvider versionProvider;
-  private final RepositoryProvider repositoryProvider;
+  private final Provider<RepositoryProvider> repositoryProvider;
 
   @Inject
   public RunModeNative(
       PomProvider pomProvider,
       VersionProvider versionProvider,
-      RepositoryProvider repositoryProvider) {
+      Provider<RepositoryProvider> repositoryProvider) {
     this.pomProvider = requireNonNull(pomProvider);
     this.versionProvider = requireNonNull(versionProvider);
     this.repositoryProvider = requireNonNull(repositoryProvider);
@@ -43,25 +48,25 @@ public class RunModeNative implements RunMode {
   public void execute(
       SEMVER_GOAL semverGoal, SemverConfiguration configuration, String pomVersion) {
     try {
-      Map<RAW_VERSION, String> rawVersions =
-          versionProvider.determineRawVersions(
+      SemanticVersion version =
+          versionProvider.determineNextVersion(
               semverGoal,
               configuration.getRunMode(),
               configuration.getBranchVersion(),
               configuration.getMetaData(),
               pomVersion);
       if (configuration.pushTags()) {
-        checkRemoteRepository(
-            repositoryProvider, versionProvider, configuration, rawVersions.get(RAW_VERSION.SCM));
+        checkRemoteRepository(repositoryProvider, versionProvider, configuration, version);
       }
+      checkSnapshotDependencies(pomProvider, configuration);
       FileWriterFactory.backupSemverPom();
       Map<FINAL_VERSION, String> finalVersions =
-          versionProvider.determineReleaseVersions(rawVersions);
-      pomProvider.createReleasePom(finalVersions);
-      pomProvider.createNextDevelopmentPom(finalVersions.get(FINAL_VERSION.DEVELOPMENT));
+          versionProvider.determineReleaseVersions(version);
+      createRelease(pomProvider, configuration, finalVersions);
       removeBackupSemverPom();
-    } catch (Exception e) {
+    } catch (SemverException e) {
       logger.error(e.getMessage());
+      throw new SemverFailureException(e.getMessage(), e);
     }
   }
 }
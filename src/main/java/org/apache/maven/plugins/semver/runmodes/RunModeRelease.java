@@ -7,13 +7,16 @@ import static org.apache.maven.plugins.semver.runmodes.RunMode.checkRemoteReposi
 import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 import org.apache.maven.plugins.semver.configuration.SemverConfiguration;
+import org.apache.maven.plugins.semver.exceptions.SemverException;
+import org.apache.maven.plugins.semver.exceptions.SemverFailureException;
 import org.apache.maven.plugins.semver.goals.SemverGoal.SEMVER_GOAL;
 import org.apache.maven.plugins.semver.providers.RepositoryProvider;
+import org.apache.maven.plugins.semver.providers.SemanticVersion;
 import org.apache.maven.plugins.semver.providers.VersionProvider;
 import org.apache.maven.plugins.semver.providers.VersionProvider.FINAL_VERSION;
-import org.apache.maven.plugins.semver.providers.VersionProvider.RAW_VERSION;
 import org.apache.maven.project.MavenProject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,13 +28,13 @@ public class RunModeRelease implements RunMode {
 
   private final MavenProject mavenProject;
   private final VersionProvider versionProvider;
-  private final RepositoryProvider repositoryProvider;
+  private final Provider<RepositoryProvider> repositoryProvider;
 
   @Inject
   public RunModeRelease(
       MavenProject mavenProject,
       VersionProvider versionProvider,
-      RepositoryProvider repositoryProvider) {
+      Provider<RepositoryProvider> repositoryProvider) {
     this.mavenProject = requireNonNull(mavenProject);
     this.versionProvider = requireNonNull(versionProvider);
     this.repositoryProvider = requireNonNull(repositoryProvider);
@@ -41,22 +44,22 @@ public class RunModeRelease implements RunMode {
   public void execute(
       SEMVER_GOAL semverGoal, SemverConfiguration configuration, String pomVersion) {
     try {
-      Map<RAW_VERSION, String> rawVersions =
-          versionProvider.determineRawVersions(
+      SemanticVersion version =
+          versionProvider.determineNextVersion(
               semverGoal,
               configuration.getRunMode(),
               configuration.getBranchVersion(),
               configuration.getMetaData(),
               pomVersion);
       if (configuration.pushTags()) {
-        checkRemoteRepository(
-            repositoryProvider, versionProvider, configuration, rawVersions.get(RAW_VERSION.SCM));
+        checkRemoteRepository(repositoryProvider, versionProvider, configuration, version);
       }
       Map<FINAL_VERSION, String> finalVersions =
-          versionProvider.determineReleaseVersions(rawVersions);
+          versionProvider.determineReleaseVersions(version);
       createReleaseProperties(mavenProject, finalVersions);
-    } catch (Exception e) {
+    } catch (SemverException e) {
       logger.error(e.getMessage());
+      throw new SemverFailureException(e.getMessage(), e);
     }
   }
 }
@@ -7,10 +7,14 @@ import static org.apache.maven.plugins.semver.runmodes.RunMode.checkRemoteReposi
 import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 import org.apache.maven.plugins.semver.configuration.SemverConfiguration;
+import org.apache.maven.plugins.semver.exceptions.SemverException;
+import org.apache.maven.plugins.semver.exceptions.SemverFailureException;
 import org.apache.maven.plugins.semver.goals.SemverGoal.SEMVER_GOAL;
 import org.apache.maven.plugins.semver.providers.RepositoryProvider;
+import org.apache.maven.plugins.semver.providers.SemanticVersion;
 import org.apache.maven.plugins.semver.providers.VersionProvider;
 import org.apache.maven.plugins.semver.providers.VersionProvider.FINAL_VERSION;
 import org.apache.maven.project.MavenProject;
@@ -25,13 +29,13 @@ public class RunModeReleaseBranch implements RunMode {
 
   private final MavenProject mavenProject;
   private final VersionProvider versionProvider;
-  private final RepositoryProvider repositoryProvider;
+  private final Provider<RepositoryProvider> repositoryProvider;
 
   @Inject
   public RunModeReleaseBranch(
       MavenProject mavenProject,
       VersionProvider versionProvider,
-      RepositoryProvider repositoryProvider) {
+      Provider<RepositoryProvider> repositoryProvider) {
     this.mavenProject = requireNonNull(mavenProject);
     this.versionProvider = requireNonNull(versionProvider);
     this.repositoryProvider = requireNonNull(repositoryProvider);
@@ -41,29 +45,26 @@ public class RunModeReleaseBranch implements RunMode {
   public void execute(
       SEMVER_GOAL semverGoal, SemverConfiguration configuration, String pomVersion) {
     try {
-      Map<VersionProvider.RAW_VERSION, String> rawVersions =
-          versionProvider.determineRawVersions(
+      SemanticVersion version =
+          versionProvider.determineNextVersion(
               semverGoal,
               configuration.getRunMode(),
               configuration.getBranchVersion(),
               configuration.getMetaData(),
               pomVersion);
       if (configuration.pushTags()) {
-        checkRemoteRepository(
-            repositoryProvider,
-            versionProvider,
-            configuration,
-            rawVersions.get(VersionProvider.RAW_VERSION.SCM));
+        checkRemoteRepository(repositoryProvider, versionProvider, configuration, version);
       }
       Map<FINAL_VERSION, String> finalVersions =
           versionProvider.determineReleaseBranchVersions(
-              rawVersions,
+              version,
               configuration.getRunMode(),
               configuration.getMetaData(),
               configuration.getBranchVersion());
       createReleaseProperties(mavenProject, finalVersions);
-    } catch (Exception e) {
+    } catch (SemverException e) {
       logger.error(e.getMessage());
+      throw new SemverFailureException(e.getMessage(), e);
     }
   }
 }
@@ -0,0 +1,49 @@
+package org.apache.maven.plugins.semver;
+
+import static org.junit.Assert.*;
+
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.Test;
+
+public class ReactorExecutionTest {
+
+  @Test
+  public void firstModuleExecutesTheGoal() {
+    MavenSession session =
+        new MavenSession(
+            null,
+            new DefaultRepositorySystemSession(),
+            new DefaultMavenExecutionRequest(),
+            new DefaultMavenExecutionResult());
+    MavenProject root = project("root");
+
+    assertNull(ReactorExecution.claim(session, "PATCH", root));
+    ReactorExecution execution = ReactorExecution.claim(session, "PATCH", project("module"));
+    assertEquals("PATCH", execution.getGoal());
+    assertEquals(root.getId(), execution.getProjectId());
+    assertNull(ReactorExecution.claim(session, "ROLLBACK", project("module")));
+  }
+
+  @Test
+  public void withoutRepositorySessionEveryModuleExecutes() {
+    MavenSession session =
+        new MavenSession(
+            null, null, new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult());
+
+    assertNull(ReactorExecution.claim(session, "PATCH", project("root")));
+    assertNull(ReactorExecution.claim(session, "PATCH", project("module")));
+  }
+
+  private static MavenProject project(String artifactId) {
+    Model model = new Model();
+    model.setGroupId("org.example");
+    model.setArtifactId(artifactId);
+    model.setVersion("1.0.0-SNAPSHOT");
+    return new MavenProject(model);
+  }
+}
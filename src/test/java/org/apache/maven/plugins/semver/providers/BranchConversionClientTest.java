@@ -0,0 +1,153 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BranchConversionClientTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final AtomicInteger requests = new AtomicInteger();
+  private final AtomicInteger notModified = new AtomicInteger();
+  private HttpServer server;
+  private String url;
+  private String cacheControl = "max-age=60";
+  private long delayMillis;
+  private int status = 200;
+
+  @Before
+  public void before() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext(
+        "/convert/",
+        exchange -> {
+          requests.incrementAndGet();
+          try {
+            Thread.sleep(delayMillis);
+          } catch (InterruptedException err) {
+            Thread.currentThread().interrupt();
+          }
+          exchange.getResponseHeaders().add("ETag", "\"v7\"");
+          exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+          if (status == 200
+              && "\"v7\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+          } else {
+            byte[] body = "7.0.0".getBytes(UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+              out.write(body);
+            }
+          }
+          exchange.close();
+        });
+    server.start();
+    url = "http://127.0.0.1:" + server.getAddress().getPort() + "/convert/";
+  }
+
+  @After
+  public void after() {
+    server.stop(0);
+  }
+
+  private BranchConversionClient client() {
+    return new BranchConversionClient(temporaryFolder.getRoot().toPath());
+  }
+
+  @Test
+  public void cacheFreshResponse() throws IOException {
+    assertEquals("7.0.0", client().convert(url, "master"));
+    assertEquals("7.0.0", client().convert(url, "master"));
+
+    assertEquals(1, requests.get());
+  }
+
+  @Test
+  public void revalidateStaleResponseWithEtag() throws IOException {
+    BranchConversionClient client = client();
+    client.configure(1000, 1000, 0);
+
+    assertEquals("7.0.0", client.convert(url, "master"));
+    assertEquals("7.0.0", client.convert(url, "master"));
+
+    assertEquals(2, requests.get());
+    assertEquals(1, notModified.get());
+  }
+
+  @Test
+  public void doNotStoreWhenForbidden() throws IOException {
+    cacheControl = "no-store";
+
+    client().convert(url, "master");
+    client().convert(url, "master");
+
+    assertEquals(2, requests.get());
+    assertEquals(0, notModified.get());
+  }
+
+  @Test
+  public void cacheByBranch() throws IOException {
+    client().convert(url, "master");
+    client().convert(url, "develop");
+
+    assertEquals(2, requests.get());
+  }
+
+  @Test(expected = IOException.class)
+  public void failOnReadTimeout() throws IOException {
+    delayMillis = 1000;
+    BranchConversionClient client = client();
+    client.configure(1000, 100, 60);
+
+    client.convert(url, "master");
+  }
+
+  @Test
+  public void fallbackToLastAnswerWhenServiceFails() throws IOException {
+    cacheControl = "no-cache";
+    client().convert(url, "master");
+    status = 503;
+
+    assertEquals("7.0.0", client().convert(url, "master"));
+    assertEquals(2, requests.get());
+  }
+
+  @Test
+  public void openCircuitAcrossInvocations() throws IOException {
+    status = 503;
+    Properties mapping = new Properties();
+    mapping.setProperty("master", "6.0.0");
+    try (OutputStream out = new FileOutputStream(temporaryFolder.newFile("mapping.properties"))) {
+      mapping.store(out, null);
+    }
+    for (int i = 0; i < 3; i++) {
+      BranchConversionClient client = client();
+      client.configureFallback(2, 60, new File(temporaryFolder.getRoot(), "mapping.properties"));
+      assertEquals("6.0.0", client.convert(url, "master"));
+    }
+
+    assertEquals(2, requests.get());
+  }
+
+  @Test(expected = IOException.class)
+  public void failWithoutFallback() throws IOException {
+    status = 503;
+
+    client().convert(url, "develop");
+  }
+}
@@ -0,0 +1,63 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.maven.plugins.semver.providers.BranchPatternRegistry.BranchMatch;
+import org.junit.Test;
+
+public class BranchPatternRegistryTest {
+
+  private final BranchPatternRegistry defaults =
+      BranchPatternRegistry.forPatterns(Collections.emptyList());
+
+  @Test
+  public void matchDefaultPatterns() {
+    assertEquals("6.4.0", defaults.match("6.4.0").getVersion());
+    assertEquals("6.4.0-hotfix", defaults.match("6.4.0-hotfix").getVersion());
+    assertEquals("6.4.0", defaults.match("v6_4_0_hotfix").getVersion());
+
+    BranchMatch master = defaults.match("master");
+    assertEquals("master", master.getPattern());
+    assertNull(master.getVersion());
+    assertFalse(master.isTestBranch());
+
+    assertTrue(defaults.match("4f2a9c").isTestBranch());
+    assertNull(defaults.match("feature/unknown"));
+  }
+
+  @Test
+  public void matchConfiguredPatternsFirst() {
+    BranchPatternRegistry registry =
+        BranchPatternRegistry.forPatterns(
+            Arrays.asList(
+                "release/(?<major>\\d+)\\.(?<minor>\\d+)",
+                "hotfix/.*",
+                "(?<major>\\d+)x-(?<version>\\d+\\.\\d+)"));
+
+    assertEquals("6.4.0", registry.match("release/6.4").getVersion());
+    assertEquals("hotfix/.*", registry.match("hotfix/6.4.1").getPattern());
+    assertNull(registry.match("hotfix/6.4.1").getVersion());
+    assertEquals("1.2", registry.match("6x-1.2").getVersion());
+    assertEquals("6.4.0", registry.match("v6_4_0").getVersion());
+  }
+
+  @Test
+  public void compileOncePerConfiguration() {
+    assertSame(defaults, BranchPatternRegistry.forPatterns(null));
+    assertSame(
+        BranchPatternRegistry.forPatterns(Collections.singletonList("hotfix/.*")),
+        BranchPatternRegistry.forPatterns(Collections.singletonList("hotfix/.*")));
+  }
+
+  @Test
+  public void renameBackReferences() {
+    BranchPatternRegistry registry =
+        BranchPatternRegistry.forPatterns(
+            Collections.singletonList("(?<major>\\d+)-\\k<major>-(?<version>\\d+\\.\\d+\\.\\d+)"));
+
+    assertEquals("1.2.3", registry.match("7-7-1.2.3").getVersion());
+    assertNull(registry.match("7-8-1.2.3"));
+  }
+}
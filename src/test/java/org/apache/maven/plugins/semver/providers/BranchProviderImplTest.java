@@ -1,7 +1,12 @@
 package org.apache.maven.plugins.semver.providers;
 
+import static java.util.Collections.singletonList;
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import org.apache.maven.plugins.semver.exceptions.SemverFailureException;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -12,12 +17,20 @@ import org.mockito.junit.MockitoJUnitRunner;
 public class BranchProviderImplTest {
 
   @Mock private RepositoryProvider repositoryProvider;
+  @Mock private BranchConversionClient conversionClient;
 
   private BranchProvider branchProvider;
+  private int conversionClientLookups;
 
   @Before
   public void before() {
-    branchProvider = new BranchProviderImpl(repositoryProvider);
+    branchProvider =
+        new BranchProviderImpl(
+            () -> repositoryProvider,
+            () -> {
+              conversionClientLookups++;
+              return conversionClient;
+            });
   }
 
   @Test
@@ -25,8 +38,64 @@ public class BranchProviderImplTest {
     String version = "1.0.0";
     String branchConversionUrl = "https://branch.conversionurl.test";
     String branchVersion =
-        branchProvider.determineBranchVersionFromGitBranch(version, branchConversionUrl);
+        branchProvider.determineBranchVersionFromGitBranch(version, branchConversionUrl, null);
 
     assertEquals("1.0.0", branchVersion);
   }
+
+  @Test
+  public void determineBranchVersionFromDefaultPattern() {
+    when(repositoryProvider.isInitialized()).thenReturn(true);
+    when(repositoryProvider.getCurrentBranch()).thenReturn("v6_4_0_hotfix");
+
+    assertEquals("6.4.0", branchProvider.determineBranchVersionFromGitBranch(null, null, null));
+  }
+
+  @Test
+  public void determineBranchVersionFromConfiguredPattern() {
+    when(repositoryProvider.isInitialized()).thenReturn(true);
+    when(repositoryProvider.getCurrentBranch()).thenReturn("release/6.4");
+
+    assertEquals(
+        "6.4.0",
+        branchProvider.determineBranchVersionFromGitBranch(
+            null, null, singletonList("release/(?<major>\\d+)\\.(?<minor>\\d+)")));
+  }
+
+  @Test
+  public void determineBranchVersionFromConversionService() throws IOException {
+    when(repositoryProvider.isInitialized()).thenReturn(true);
+    when(repositoryProvider.getCurrentBranch()).thenReturn("master");
+    when(conversionClient.convert("https://branch.conversionurl.test/", "master"))
+        .thenReturn("7.0.0");
+
+    assertEquals(
+        "7.0.0",
+        branchProvider.determineBranchVersionFromGitBranch(
+            null, "https://branch.conversionurl.test/", null));
+  }
+
+  @Test
+  public void conversionServiceIsLookedUpOnFirstConversion() {
+    when(repositoryProvider.isInitialized()).thenReturn(true);
+    when(repositoryProvider.getCurrentBranch()).thenReturn("master");
+    branchProvider.configureConversionService(1000, 2000, 60L);
+
+    branchProvider.determineBranchVersionFromGitBranch("1.0.0", null, null);
+    branchProvider.closeConversionService();
+    assertEquals(0, conversionClientLookups);
+
+    branchProvider.determineBranchVersionFromGitBranch(
+        null, "https://branch.conversionurl.test/", null);
+    assertEquals(1, conversionClientLookups);
+    verify(conversionClient).configure(1000, 2000, 60L);
+  }
+
+  @Test(expected = SemverFailureException.class)
+  public void unknownBranchFailsTheGoal() {
+    when(repositoryProvider.isInitialized()).thenReturn(true);
+    when(repositoryProvider.getCurrentBranch()).thenReturn("feature/login");
+
+    branchProvider.determineBranchVersionFromGitBranch(null, null, null);
+  }
 }
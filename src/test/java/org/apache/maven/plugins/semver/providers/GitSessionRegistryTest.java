@@ -0,0 +1,62 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugins.semver.providers.GitSessionRegistry.GitSession;
+import org.apache.maven.plugins.semver.providers.GitSessionRegistry.RefLock;
+import org.eclipse.jgit.api.Git;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GitSessionRegistryTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private File baseDir;
+
+  @Before
+  public void setUp() throws Exception {
+    baseDir = folder.newFolder("repository");
+    Git.init().setDirectory(baseDir).call().close();
+  }
+
+  @Test
+  public void repositoryIsSharedUntilTheLastRelease() throws Exception {
+    GitSession first = GitSessionRegistry.acquire(baseDir);
+    GitSession second = GitSessionRegistry.acquire(new File(baseDir, "."));
+
+    assertSame(first, second);
+    assertEquals(2, first.getReferences());
+    assertFalse(GitSessionRegistry.release(first));
+    assertTrue(GitSessionRegistry.release(second));
+
+    GitSession reopened = GitSessionRegistry.acquire(baseDir);
+    assertNotSame(first, reopened);
+    assertEquals(1, reopened.getReferences());
+    assertTrue(GitSessionRegistry.release(reopened));
+  }
+
+  @Test
+  public void refIsUpdatedByOneBuildAtATime() throws Exception {
+    GitSession session = GitSessionRegistry.acquire(baseDir);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      RefLock lock = session.lock("refs/tags/1.0.0", "HEAD");
+      Future<?> otherBuild = executor.submit(() -> session.lock("refs/tags/1.0.0").unlock());
+      Thread.sleep(100);
+      assertFalse(otherBuild.isDone());
+      lock.unlock();
+      otherBuild.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+      GitSessionRegistry.release(session);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LocalTagIteratorTest {
+
+  private static final String ID = "0123456789012345678901234567890123456789";
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private File gitDir;
+
+  @Before
+  public void setUp() throws Exception {
+    gitDir = folder.newFolder(".git");
+    String packedRefs =
+        "# pack-refs with: peeled fully-peeled sorted \n"
+            + ID + " refs/heads/master\n"
+            + ID + " refs/tags/1.0.0\n"
+            + "^" + ID + "\n"
+            + ID + " refs/tags/1.2.0\n"
+            + ID + " refs/tags/1.2.1\n"
+            + ID + " refs/tags/1.2.1+build\n"
+            + ID + " refs/tags/1.2.10\n"
+            + ID + " refs/tags/2.0.0\n";
+    Files.write(
+        new File(gitDir, "packed-refs").toPath(), packedRefs.getBytes(StandardCharsets.UTF_8));
+    writeLoose("1.2.1-rc1");
+    writeLoose("1.2.1");
+    writeLoose("release/1.2.1");
+  }
+
+  @Test
+  public void prefixRangeIsStreamed() throws Exception {
+    assertEquals(Arrays.asList("1.2.1", "1.2.1+build", "1.2.1-rc1", "1.2.10"), readTags("1.2.1"));
+    assertEquals(Arrays.asList("2.0.0"), readTags("2"));
+    assertTrue(readTags("3").isEmpty());
+  }
+
+  @Test
+  public void allTagsAreStreamed() throws Exception {
+    assertEquals(
+        Arrays.asList(
+            "1.0.0", "1.2.0", "1.2.1", "1.2.1+build", "1.2.1-rc1", "1.2.10", "2.0.0",
+            "release/1.2.1"),
+        readTags(""));
+    assertEquals(Arrays.asList("release/1.2.1"), readTags("release/"));
+  }
+
+  @Test
+  public void unpackedRepository() throws Exception {
+    Files.delete(new File(gitDir, "packed-refs").toPath());
+    assertEquals(Arrays.asList("1.2.1", "1.2.1-rc1"), readTags("1.2"));
+  }
+
+  private List<String> readTags(String prefix) throws Exception {
+    List<String> tags = new ArrayList<>();
+    try (LocalTagIterator iterator = LocalTagIterator.open(gitDir, prefix)) {
+      iterator.forEachRemaining(tags::add);
+    }
+    return tags;
+  }
+
+  private void writeLoose(String tag) throws Exception {
+    File file = new File(gitDir, "refs/tags/" + tag);
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), (ID + "\n").getBytes(StandardCharsets.UTF_8));
+  }
+}
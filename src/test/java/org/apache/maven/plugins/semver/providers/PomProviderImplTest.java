@@ -1,28 +1,36 @@
 package org.apache.maven.plugins.semver.providers;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.util.HashMap;
+import java.io.File;
+import java.util.Collections;
 import java.util.Map;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Scm;
-import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugins.semver.exceptions.SemverFailureException;
 import org.apache.maven.plugins.semver.providers.VersionProvider.FINAL_VERSION;
-import org.apache.maven.plugins.semver.providers.VersionProvider.RAW_VERSION;
 import org.apache.maven.project.MavenProject;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PomProviderImplTest {
-  @Mock private BuildPluginManager buildPluginManager;
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
   @Mock private MavenSession mavenSession;
   @Mock private MavenProject mavenProject;
   @Mock private RepositoryProvider repositoryProvider;
+  @Mock private SnapshotDependencyGate snapshotDependencyGate;
 
   private PomProvider pomProvider;
   private VersionProvider versionProvider;
@@ -31,27 +39,57 @@ public class PomProviderImplTest {
   public void setUp() {
     Scm scm = new Scm();
     pomProvider =
-        new PomProviderImpl(mavenProject, mavenSession, buildPluginManager, repositoryProvider);
-    versionProvider = new VersionProviderImpl(repositoryProvider);
+        new PomProviderImpl(
+            () -> mavenProject,
+            () -> mavenSession,
+            () -> repositoryProvider,
+            snapshotDependencyGate);
+    versionProvider = new VersionProviderImpl();
     when(mavenProject.getScm()).thenReturn(scm);
   }
 
   @Test
   public void createReleaseTest() {
 
-    Map<RAW_VERSION, String> rawVersions = new HashMap<>();
-    rawVersions.put(RAW_VERSION.DEVELOPMENT, "1.0.1-SNAPSHOT");
-    rawVersions.put(RAW_VERSION.RELEASE, "1.0.0");
-    rawVersions.put(RAW_VERSION.PATCH, "0");
-    rawVersions.put(RAW_VERSION.MINOR, "0");
-    rawVersions.put(RAW_VERSION.MAJOR, "1");
+    SemanticVersion version = SemanticVersion.of(1, 0, 0);
 
-    pomProvider.createReleasePom(versionProvider.determineReleaseVersions(rawVersions));
+    pomProvider.createReleasePom(versionProvider.determineReleaseVersions(version));
 
-    Map<FINAL_VERSION, String> finalVersions =
-        versionProvider.determineReleaseVersions(rawVersions);
+    Map<FINAL_VERSION, String> finalVersions = versionProvider.determineReleaseVersions(version);
     assertEquals("1.0.0", finalVersions.get(FINAL_VERSION.RELEASE));
-    assertEquals("1.0.1-SNAPSHOT", finalVersions.get(FINAL_VERSION.DEVELOPMENT));
+    assertEquals("1.0.0-SNAPSHOT", finalVersions.get(FINAL_VERSION.DEVELOPMENT));
     assertEquals("1.0.0", finalVersions.get(FINAL_VERSION.SCM));
   }
+
+  @Test
+  public void unreadablePomFailsTheInMemoryRelease() {
+    File missingPom = new File(folder.getRoot(), "pom.xml");
+    when(mavenProject.getFile()).thenReturn(missingPom);
+    when(mavenSession.getProjects()).thenReturn(Collections.singletonList(mavenProject));
+
+    try {
+      pomProvider.createInMemoryRelease(
+          versionProvider.determineReleaseVersions(SemanticVersion.of(1, 0, 0)), true);
+      fail("A release without release-poms must fail the goal");
+    } catch (SemverFailureException err) {
+      verify(repositoryProvider, never()).commitInMemory(any());
+      verify(repositoryProvider, never()).pushRelease(any());
+    }
+  }
+
+  @Test
+  public void unreadablePomFailsTheReleasePom() {
+    File missingPom = new File(folder.getRoot(), "pom.xml");
+    when(mavenProject.getFile()).thenReturn(missingPom);
+    when(mavenSession.getProjects()).thenReturn(Collections.singletonList(mavenProject));
+
+    try {
+      pomProvider.createReleasePom(
+          versionProvider.determineReleaseVersions(SemanticVersion.of(1, 0, 0)));
+      fail("A release-pom that is not rewritten must fail the goal");
+    } catch (SemverFailureException err) {
+      verify(repositoryProvider, never()).commit(any(), any());
+      verify(repositoryProvider, never()).push();
+    }
+  }
 }
@@ -0,0 +1,67 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.Set;
+import org.junit.Test;
+
+public class PomVersionRewriterTest {
+
+  private static final Set<String> REACTOR = Collections.singleton("org.example:parent");
+
+  @Test
+  public void projectVersionIsRewritten() {
+    String pom =
+        "<?xml version=\"1.0\"?>\r\n<project>\r\n  <!-- <version>1.0.0-SNAPSHOT</version> -->\r\n"
+            + "  <artifactId>app</artifactId>\r\n  <version>1.0.0-SNAPSHOT</version>\r\n"
+            + "  <dependencies><dependency><version>1.0.0-SNAPSHOT</version></dependency>"
+            + "</dependencies>\r\n</project>\r\n";
+    String expected =
+        pom.replace("  <version>1.0.0-SNAPSHOT</version>\r\n", "  <version>1.0.0</version>\r\n");
+
+    assertEquals(expected, PomVersionRewriter.rewrite(pom, "1.0.0-SNAPSHOT", "1.0.0", REACTOR));
+  }
+
+  @Test
+  public void onlyReactorParentIsRewritten() {
+    String pom =
+        "<project><parent><groupId>org.example</groupId><artifactId>parent</artifactId>"
+            + "<version>1.0.0-SNAPSHOT</version></parent><artifactId>app</artifactId></project>";
+    String external = pom.replace("org.example", "org.other");
+
+    assertEquals(
+        pom.replace("1.0.0-SNAPSHOT", "1.0.0"),
+        PomVersionRewriter.rewrite(pom, "1.0.0-SNAPSHOT", "1.0.0", REACTOR));
+    assertSame(external, PomVersionRewriter.rewrite(external, "1.0.0-SNAPSHOT", "1.0.0", REACTOR));
+  }
+
+  @Test
+  public void onlyReactorDependenciesAreRewritten() {
+    String template =
+        "<project><groupId>org.example</groupId><artifactId>app</artifactId>"
+            + "<version>%s</version><dependencyManagement><dependencies><dependency>"
+            + "<groupId>${project.groupId}</groupId><artifactId>parent</artifactId>"
+            + "<version>%s</version></dependency></dependencies></dependencyManagement>"
+            + "<dependencies><dependency><groupId>org.other</groupId>"
+            + "<artifactId>parent</artifactId><version>%s</version></dependency>"
+            + "<dependency><groupId>org.example</groupId><artifactId>parent</artifactId>"
+            + "<version>${project.version}</version></dependency></dependencies></project>";
+    String pom = String.format(template, "1.0.0-SNAPSHOT", "1.0.0-SNAPSHOT", "1.0.0-SNAPSHOT");
+
+    assertEquals(
+        String.format(template, "1.0.0", "1.0.0", "1.0.0-SNAPSHOT"),
+        PomVersionRewriter.rewrite(pom, "1.0.0-SNAPSHOT", "1.0.0", REACTOR));
+  }
+
+  @Test
+  public void versionIsReadFromProjectOrParent() {
+    String parent =
+        "<project><parent><version>2.0.0</version></parent><version>1.0.0</version></project>";
+    String inherited = "<project><parent><version>2.0.0</version></parent></project>";
+
+    assertEquals("1.0.0", PomVersionRewriter.readVersion(parent));
+    assertEquals("2.0.0", PomVersionRewriter.readVersion(inherited));
+    assertNull(PomVersionRewriter.readVersion("<project/>"));
+  }
+}
@@ -0,0 +1,115 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ReactorPomIndexTest {
+
+  private static final Set<String> REACTOR =
+      new HashSet<>(Arrays.asList("org.example:root", "org.example:app", "org.example:tool"));
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path root;
+  private Path app;
+  private Path tool;
+  private List<Path> pomFiles;
+
+  @Before
+  public void setUp() throws IOException {
+    root =
+        write(
+            "pom.xml",
+            "<project><groupId>org.example</groupId><artifactId>root</artifactId>"
+                + "<version>1.0.0-SNAPSHOT</version></project>");
+    app =
+        write(
+            "app.xml",
+            "<project><parent><groupId>org.example</groupId><artifactId>root</artifactId>"
+                + "<version>1.0.0-SNAPSHOT</version></parent><artifactId>app</artifactId>"
+                + "</project>");
+    tool =
+        write(
+            "tool.xml",
+            "<project><groupId>org.example</groupId><artifactId>tool</artifactId>"
+                + "<version>3.1.0</version></project>");
+    pomFiles = Arrays.asList(root, app, tool);
+  }
+
+  @Test
+  public void onlyReferencingPomsAreRewritten() throws IOException {
+    ReactorPomIndex index = ReactorPomIndex.scan(ForkJoinPool.commonPool(), pomFiles, REACTOR);
+
+    assertEquals("1.0.0-SNAPSHOT", index.getVersion());
+    assertEquals(Arrays.asList(root, app), index.update("1.0.0-SNAPSHOT", "1.0.0"));
+    assertEquals("1.0.0", index.getVersion());
+    assertTrue(read(app).contains("<version>1.0.0</version>"));
+    assertTrue(read(tool).contains("<version>3.1.0</version>"));
+    assertTrue(index.isCurrent(pomFiles));
+
+    assertEquals(2, index.update("1.0.0", "1.0.1-SNAPSHOT").size());
+    assertTrue(read(root).contains("<version>1.0.1-SNAPSHOT</version>"));
+    assertTrue(read(app).contains("<version>1.0.1-SNAPSHOT</version>"));
+  }
+
+  @Test
+  public void rewrittenPomKeepsItsPermissions() throws IOException {
+    assumeTrue(Files.getFileStore(root).supportsFileAttributeView(PosixFileAttributeView.class));
+    Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-rw-r--");
+    Files.setPosixFilePermissions(root, permissions);
+    ReactorPomIndex index = ReactorPomIndex.scan(ForkJoinPool.commonPool(), pomFiles, REACTOR);
+
+    index.update("1.0.0-SNAPSHOT", "1.0.0");
+
+    assertTrue(read(root).contains("<version>1.0.0</version>"));
+    assertEquals(permissions, Files.getPosixFilePermissions(root));
+  }
+
+  @Test
+  public void inMemoryRewriteLeavesFilesAlone() throws IOException {
+    ReactorPomIndex index = ReactorPomIndex.scan(ForkJoinPool.commonPool(), pomFiles, REACTOR);
+
+    Map<Path, String> release = index.rewrite("1.0.0-SNAPSHOT", "1.0.0");
+    Map<Path, String> development = index.rewrite("1.0.0", "1.0.1-SNAPSHOT");
+
+    assertEquals(Arrays.asList(root, app), Arrays.asList(release.keySet().toArray()));
+    assertTrue(release.get(app).contains("<version>1.0.0</version>"));
+    assertTrue(development.get(app).contains("<version>1.0.1-SNAPSHOT</version>"));
+    assertTrue(read(app).contains("<version>1.0.0-SNAPSHOT</version>"));
+  }
+
+  @Test
+  public void changedPomMakesIndexStale() throws IOException {
+    ReactorPomIndex index = ReactorPomIndex.scan(ForkJoinPool.commonPool(), pomFiles, REACTOR);
+    Files.write(tool, (read(tool) + "\n").getBytes(UTF_8));
+
+    assertFalse(index.isCurrent(pomFiles));
+    assertFalse(index.isCurrent(Arrays.asList(root, app)));
+  }
+
+  private Path write(String name, String pom) throws IOException {
+    return Files.write(folder.getRoot().toPath().resolve(name), pom.getBytes(UTF_8));
+  }
+
+  private static String read(Path pomFile) throws IOException {
+    return new String(Files.readAllBytes(pomFile), UTF_8);
+  }
+}
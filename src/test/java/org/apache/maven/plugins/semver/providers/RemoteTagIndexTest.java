@@ -0,0 +1,70 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectIdRef;
+import org.eclipse.jgit.lib.Ref;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RemoteTagIndexTest {
+
+  private static final ObjectId COMMIT_1 =
+      ObjectId.fromString("1111111111111111111111111111111111111111");
+  private static final ObjectId COMMIT_2 =
+      ObjectId.fromString("2222222222222222222222222222222222222222");
+  private static final ObjectId TAG_OBJECT =
+      ObjectId.fromString("3333333333333333333333333333333333333333");
+
+  private RemoteTagIndex tagIndex;
+
+  @Before
+  public void setUp() {
+    Map<String, Ref> advertisedRefs = new LinkedHashMap<>();
+    put(advertisedRefs, new ObjectIdRef.PeeledNonTag(Ref.Storage.NETWORK, "HEAD", COMMIT_2));
+    put(
+        advertisedRefs,
+        new ObjectIdRef.PeeledNonTag(Ref.Storage.NETWORK, "refs/heads/master", COMMIT_2));
+    put(
+        advertisedRefs,
+        new ObjectIdRef.PeeledTag(Ref.Storage.NETWORK, "refs/tags/1.1.0", TAG_OBJECT, COMMIT_2));
+    put(
+        advertisedRefs,
+        new ObjectIdRef.Unpeeled(Ref.Storage.NETWORK, "refs/tags/1.0.0", TAG_OBJECT));
+    put(
+        advertisedRefs,
+        new ObjectIdRef.Unpeeled(Ref.Storage.NETWORK, "refs/tags/1.0.0^{}", COMMIT_1));
+    put(
+        advertisedRefs,
+        new ObjectIdRef.PeeledNonTag(Ref.Storage.NETWORK, "refs/tags/0.9.0", COMMIT_1));
+    tagIndex = RemoteTagIndex.of(advertisedRefs);
+  }
+
+  private static void put(Map<String, Ref> refs, Ref ref) {
+    refs.put(ref.getName(), ref);
+  }
+
+  @Test
+  public void onlyTagsAreIndexedInSortedOrder() {
+    assertEquals(3, tagIndex.size());
+    assertEquals(Arrays.asList("0.9.0", "1.0.0", "1.1.0"), tagIndex.getTagNames());
+  }
+
+  @Test
+  public void annotatedTagsArePeeled() {
+    assertEquals(COMMIT_2, tagIndex.getCommitId("1.1.0"));
+    assertEquals(COMMIT_1, tagIndex.getCommitId("1.0.0"));
+    assertEquals(COMMIT_1, tagIndex.getCommitId("0.9.0"));
+  }
+
+  @Test
+  public void missingTag() {
+    assertTrue(tagIndex.contains("1.0.0"));
+    assertFalse(tagIndex.contains("2.0.0"));
+    assertNull(tagIndex.getCommitId("2.0.0"));
+  }
+}
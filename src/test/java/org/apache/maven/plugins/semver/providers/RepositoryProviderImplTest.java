@@ -0,0 +1,330 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugins.semver.exceptions.SemverFailureException;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.transport.RemoteRefUpdate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RepositoryProviderImplTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private Git remote;
+  private Git local;
+  private RepositoryProvider repositoryProvider;
+
+  @Before
+  public void setUp() throws Exception {
+    File remoteDir = folder.newFolder("remote.git");
+    remote = Git.init().setBare(true).setDirectory(remoteDir).call();
+    File localDir = folder.newFolder("local");
+    local =
+        Git.cloneRepository().setURI(remoteDir.toURI().toString()).setDirectory(localDir).call();
+    Files.write(
+        new File(localDir, "pom.xml").toPath(), "<project/>".getBytes(StandardCharsets.UTF_8));
+    local.add().addFilepattern("pom.xml").call();
+    local.commit().setMessage("initial").call();
+    local.tag().setName("1.0.0").call();
+    local.tag().setName("1.0.1").call();
+    local.tag().setName("1.0.1+build").call();
+    local.push().setPushAll().setPushTags().call();
+
+    repositoryProvider = new RepositoryProviderImpl();
+    repositoryProvider.initialize(localDir, remoteDir.toURI().toString(), "user", "secret");
+  }
+
+  @After
+  public void tearDown() {
+    repositoryProvider.closeRepository();
+    local.close();
+    remote.close();
+  }
+
+  @Test
+  public void remoteTagsAreReadFromAdvertisement() {
+    RemoteTagIndex remoteTags = repositoryProvider.getRemoteTags();
+    assertEquals(3, remoteTags.size());
+    assertEquals("1.0.1", remoteTags.getVersionIndex().getHighestVersion());
+    assertTrue(repositoryProvider.isRemoteVersionCorrupt("1.0.0-SNAPSHOT"));
+    assertFalse(repositoryProvider.isRemoteVersionCorrupt("1.0.1"));
+  }
+
+  @Test
+  public void onlyTheNewTagIsPushed() throws Exception {
+    local.tag().setName("1.0.2").call();
+    local.tag().setName("1.0.3").call();
+
+    repositoryProvider.pushTag("1.0.2");
+    repositoryProvider.pushTag("1.0.0");
+
+    Map<String, Ref> remoteTags = remote.getRepository().getTags();
+    assertTrue(remoteTags.containsKey("1.0.2"));
+    assertFalse(remoteTags.containsKey("1.0.3"));
+  }
+
+  @Test
+  public void onlyLocalTagsOfTheVersionAreCleaned() throws Exception {
+    local.tag().setName("1.1.0-rc1").call();
+    repositoryProvider.pushTag("1.1.0-rc1");
+    local.tag().setName("1.1.0").call();
+    local.tag().setName("1.1.0+build").call();
+
+    repositoryProvider.isLocalVersionCorrupt("1.1.0", false);
+
+    Map<String, Ref> localTags = local.getRepository().getTags();
+    assertFalse(localTags.containsKey("1.1.0"));
+    assertFalse(localTags.containsKey("1.1.0+build"));
+    assertTrue(localTags.containsKey("1.1.0-rc1"));
+    assertTrue(remote.getRepository().getTags().containsKey("1.1.0-rc1"));
+  }
+
+  @Test
+  public void publishedTagOfTheVersionFailsTheCheck() throws Exception {
+    local.tag().setName("1.0.1-rc1").call();
+    try {
+      repositoryProvider.isLocalVersionCorrupt("1.0.1", false);
+      fail("A tag that is already on the remote must fail the goal");
+    } catch (SemverFailureException err) {
+      assertTrue(local.getRepository().getTags().containsKey("1.0.1-rc1"));
+      assertTrue(remote.getRepository().getTags().containsKey("1.0.1"));
+    }
+  }
+
+  @Test
+  public void publishedTagOfTheVersionIsDeletedOnRequest() throws Exception {
+    repositoryProvider.isLocalVersionCorrupt("1.0.1", true);
+
+    Map<String, Ref> remoteTags = remote.getRepository().getTags();
+    assertFalse(remoteTags.containsKey("1.0.1"));
+    assertFalse(remoteTags.containsKey("1.0.1+build"));
+    assertTrue(remoteTags.containsKey("1.0.0"));
+    assertFalse(local.getRepository().getTags().containsKey("1.0.1"));
+  }
+
+  @Test
+  public void releaseIsPushedAtomically() throws Exception {
+    local.commit().setAllowEmpty(true).setMessage("release").call();
+    repositoryProvider.createTag("1.1.0");
+    local.commit().setAllowEmpty(true).setMessage("next development").call();
+
+    repositoryProvider.pushRelease("1.1.0");
+
+    assertEquals(
+        local.getRepository().resolve("refs/heads/master"),
+        remote.getRepository().resolve("refs/heads/master"));
+    assertTrue(remote.getRepository().getTags().containsKey("1.1.0"));
+  }
+
+  @Test
+  public void onlyThePomIsCommitted() throws Exception {
+    File workTree = local.getRepository().getWorkTree();
+    File pom = new File(workTree, "pom.xml");
+    File source = new File(workTree, "App.java");
+    Files.write(source.toPath(), "class App {}".getBytes(StandardCharsets.UTF_8));
+    local.add().addFilepattern("App.java").call();
+    local.commit().setMessage("source").call();
+    Files.write(pom.toPath(), "<project>1.1.0</project>".getBytes(StandardCharsets.UTF_8));
+    Files.write(source.toPath(), "class App { dirty }".getBytes(StandardCharsets.UTF_8));
+
+    repositoryProvider.commit("release", Collections.singletonList(pom));
+
+    RevCommit head = local.log().setMaxCount(1).call().iterator().next();
+    assertEquals("release", head.getFullMessage());
+    assertEquals(Collections.singleton("App.java"), local.status().call().getModified());
+  }
+
+  @Test(expected = SemverFailureException.class)
+  public void commitWithoutFilesFails() throws Exception {
+    Files.write(
+        new File(local.getRepository().getWorkTree(), "pom.xml").toPath(),
+        "<project>1.1.0</project>".getBytes(StandardCharsets.UTF_8));
+    local.add().addFilepattern("pom.xml").call();
+
+    repositoryProvider.commit("release", Collections.emptyList());
+  }
+
+  @Test
+  public void releaseIsCommittedInMemory() throws Exception {
+    File pom = new File(local.getRepository().getWorkTree(), "pom.xml");
+    InMemoryRelease release = new InMemoryRelease("1.1.0", "release", "next development");
+    release.addReleaseFile(pom, "<project>1.1.0</project>".getBytes(StandardCharsets.UTF_8));
+    release.addDevelopmentFile(
+        pom, "<project>1.1.1-SNAPSHOT</project>".getBytes(StandardCharsets.UTF_8));
+
+    repositoryProvider.commitInMemory(release);
+
+    assertEquals(
+        "<project>1.1.1-SNAPSHOT</project>",
+        new String(Files.readAllBytes(pom.toPath()), StandardCharsets.UTF_8));
+    RevCommit head = local.log().setMaxCount(1).call().iterator().next();
+    assertEquals("next development", head.getFullMessage());
+    assertEquals(head.getParent(0).getId(), local.getRepository().resolve("1.1.0^{commit}"));
+    assertTrue(local.status().call().isClean());
+  }
+
+  @Test
+  public void ciModeFetchesOnlyMissingTags() throws Exception {
+    File otherDir = folder.newFolder("other");
+    try (Git other =
+        Git.cloneRepository()
+            .setURI(remote.getRepository().getDirectory().toURI().toString())
+            .setDirectory(otherDir)
+            .call()) {
+      other.commit().setAllowEmpty(true).setMessage("release").call();
+      other.tag().setName("2.0.0").call();
+      other.push().setPushAll().setPushTags().call();
+    }
+    local.tagDelete().setTags("1.0.0", "1.0.1").call();
+
+    repositoryProvider.closeRepository();
+    repositoryProvider = new RepositoryProviderImpl();
+    repositoryProvider.openRepository(local.getRepository().getWorkTree());
+    repositoryProvider.setCiMode(true);
+    repositoryProvider.initializeCredentials(
+        remote.getRepository().getDirectory().toURI().toString(), "user", "secret");
+    repositoryProvider.pull();
+
+    Map<String, Ref> localTags = local.getRepository().getTags();
+    assertTrue(localTags.containsKey("1.0.0"));
+    assertTrue(localTags.containsKey("1.0.1"));
+    assertFalse(new File(local.getRepository().getDirectory(), "refs/tags/1.0.0").exists());
+    assertTrue(localTags.containsKey("2.0.0"));
+    assertNotNull(local.getRepository().exactRef("refs/remotes/origin/master"));
+    assertTrue(repositoryProvider.isChanged(Collections.singletonList("pom.xml")));
+  }
+
+  @Test
+  public void unrelatedRemoteBranchDoesNotBlockTheRelease() throws Exception {
+    try (Git other = cloneRemote("other")) {
+      other.checkout().setCreateBranch(true).setName("feature/login").call();
+      other.commit().setAllowEmpty(true).setMessage("feature").call();
+      other.push().add("feature/login").call();
+    }
+    reopenRepository();
+
+    assertFalse(repositoryProvider.isChanged(Collections.singletonList("pom.xml")));
+  }
+
+  @Test
+  public void movedUpstreamBlocksTheRelease() throws Exception {
+    try (Git other = cloneRemote("other")) {
+      other.commit().setAllowEmpty(true).setMessage("change").call();
+      other.push().call();
+    }
+    reopenRepository();
+
+    assertTrue(repositoryProvider.isChanged(Collections.singletonList("pom.xml")));
+  }
+
+  @Test
+  public void tagMutationsArePushedInOneBatch() throws Exception {
+    TagMutationResult result =
+        repositoryProvider.pushTagMutations(
+            new TagMutationBatch().delete("1.0.1").delete("1.0.1+build").delete("0.0.1"));
+
+    assertTrue(result.isSuccessful());
+    assertEquals(RemoteRefUpdate.Status.OK, result.getStatuses().get("1.0.1"));
+    assertEquals(RemoteRefUpdate.Status.NON_EXISTING, result.getStatuses().get("0.0.1"));
+    Map<String, Ref> remoteTags = remote.getRepository().getTags();
+    assertEquals(1, remoteTags.size());
+    assertTrue(remoteTags.containsKey("1.0.0"));
+    assertEquals(1, local.tagList().call().size());
+  }
+
+  @Test
+  public void parallelBuildsShareTheRepository() throws Exception {
+    File localDir = local.getRepository().getWorkTree();
+    repositoryProvider.openRepository(localDir);
+    repositoryProvider.closeRepository();
+    assertTrue(repositoryProvider.isInitialized());
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> builds = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        String tag = "2.0." + i;
+        builds.add(executor.submit(() -> repositoryProvider.createTag(tag)));
+        builds.add(executor.submit(() -> repositoryProvider.getLocalTagIndex()));
+      }
+      for (Future<?> build : builds) {
+        build.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(35, local.tagList().call().size());
+    assertTrue(repositoryProvider.findLocalTags("2.0.31").contains("2.0.31"));
+  }
+
+  @Test
+  public void parallelBuildsOfDifferentRepositoriesKeepTheirOwnSession() throws Exception {
+    File otherDir = folder.newFolder("other");
+    try (Git other = Git.init().setDirectory(otherDir).call()) {
+      other.commit().setAllowEmpty(true).setMessage("initial").call();
+      CyclicBarrier bothOpened = new CyclicBarrier(2);
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      try {
+        Future<?> otherBuild =
+            executor.submit(
+                () -> {
+                  repositoryProvider.openRepository(otherDir);
+                  bothOpened.await(10, TimeUnit.SECONDS);
+                  repositoryProvider.createTag("3.0.0");
+                  repositoryProvider.closeRepository();
+                  return null;
+                });
+        bothOpened.await(10, TimeUnit.SECONDS);
+        repositoryProvider.createTag("2.0.0");
+        otherBuild.get(10, TimeUnit.SECONDS);
+      } finally {
+        executor.shutdownNow();
+      }
+
+      assertTrue(repositoryProvider.isInitialized());
+      repositoryProvider.createTag("2.0.1");
+      assertNotNull(local.getRepository().exactRef("refs/tags/2.0.0"));
+      assertNotNull(local.getRepository().exactRef("refs/tags/2.0.1"));
+      assertNull(local.getRepository().exactRef("refs/tags/3.0.0"));
+      assertNotNull(other.getRepository().exactRef("refs/tags/3.0.0"));
+      assertNull(other.getRepository().exactRef("refs/tags/2.0.0"));
+    }
+  }
+
+  private Git cloneRemote(String name) throws Exception {
+    return Git.cloneRepository()
+        .setURI(remote.getRepository().getDirectory().toURI().toString())
+        .setDirectory(folder.newFolder(name))
+        .call();
+  }
+
+  /** A new build, so the ref advertisement of the remote is read again. */
+  private void reopenRepository() {
+    repositoryProvider.closeRepository();
+    repositoryProvider.initialize(
+        local.getRepository().getWorkTree(),
+        remote.getRepository().getDirectory().toURI().toString(),
+        "user",
+        "secret");
+  }
+}
@@ -0,0 +1,75 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class SemanticVersionTest {
+
+  @Test
+  public void parse() {
+    SemanticVersion version = SemanticVersion.parse("1.20.300-alpha.1+build.7");
+    assertEquals(1, version.getMajor());
+    assertEquals(20, version.getMinor());
+    assertEquals(300, version.getPatch());
+    assertEquals("alpha.1", version.getPreRelease());
+    assertEquals("build.7", version.getBuildMetaData());
+    assertEquals("1.20.300-alpha.1+build.7", version.toString());
+    assertEquals("1.20.300", version.toRelease().toString());
+    assertTrue(SemanticVersion.parse("1.0.0-SNAPSHOT").isSnapshot());
+    assertFalse(SemanticVersion.parse("1.0.0-SNAPSHOTS").isSnapshot());
+  }
+
+  @Test
+  public void invalidVersions() {
+    for (String text :
+        Arrays.asList(
+            "", "1", "1.0", "1.0.0.0", "01.0.0", "1.0.0-", "1.0.0-01", "1.0.0+", "1.0.0-a..b",
+            "1.0.0-SNAPSHOT_1", "v1.0.0", "99999999999.0.0")) {
+      assertNull(text, SemanticVersion.tryParse(text));
+    }
+    assertNull(SemanticVersion.tryParse(null));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseInvalidVersion() {
+    SemanticVersion.parse("1.0");
+  }
+
+  @Test
+  public void nextVersions() {
+    SemanticVersion version = SemanticVersion.parse("1.2.3-SNAPSHOT");
+    assertEquals("2.0.0", version.nextMajor().toString());
+    assertEquals("1.3.0", version.nextMinor().toString());
+    assertEquals("1.2.4", version.nextPatch().toString());
+    assertEquals(
+        "1.2.3-SNAPSHOT+42",
+        SemanticVersion.parse("1.2.3+42").withPreRelease("SNAPSHOT").toString());
+  }
+
+  @Test
+  public void precedence() {
+    List<String> ordered =
+        Arrays.asList(
+            "1.0.0-alpha",
+            "1.0.0-alpha.1",
+            "1.0.0-alpha.beta",
+            "1.0.0-beta",
+            "1.0.0-beta.2",
+            "1.0.0-beta.11",
+            "1.0.0-rc.1",
+            "1.0.0",
+            "1.0.1",
+            "1.10.0",
+            "2.0.0");
+    for (int i = 1; i < ordered.size(); i++) {
+      SemanticVersion lower = SemanticVersion.parse(ordered.get(i - 1));
+      SemanticVersion higher = SemanticVersion.parse(ordered.get(i));
+      assertTrue(lower + " < " + higher, lower.compareTo(higher) < 0);
+      assertTrue(higher + " > " + lower, higher.compareTo(lower) > 0);
+    }
+    assertEquals(0, SemanticVersion.parse("1.0.0+a").compareTo(SemanticVersion.parse("1.0.0+b")));
+  }
+}
@@ -0,0 +1,85 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SemverTagIndexTest {
+
+  private SemverTagIndex tagIndex;
+
+  @Before
+  public void setUp() {
+    tagIndex =
+        SemverTagIndex.of(
+            Arrays.asList(
+                "1.10.0", "1.2.0", "1.2.1", "1.2.1+build", "2.0.0", "1.9.3", "build-42", "v1"));
+  }
+
+  @Test
+  public void highestVersion() {
+    assertEquals("2.0.0", tagIndex.getHighestVersion());
+    assertEquals("1.10.0", tagIndex.getHighestVersionBelow("2.0.0"));
+    assertEquals("1.2.0", tagIndex.getHighestVersionBelow("1.2.1"));
+    assertNull(tagIndex.getHighestVersionBelow("1.2.0"));
+    assertNull(SemverTagIndex.of(Collections.emptyList()).getHighestVersion());
+  }
+
+  @Test
+  public void versionAbove() {
+    assertTrue(tagIndex.hasVersionAbove("1.10.0"));
+    assertFalse(tagIndex.hasVersionAbove("2.0.0"));
+    assertFalse(tagIndex.hasVersionAbove("no-version"));
+  }
+
+  @Test
+  public void versionAboveOnTheSameMajorMinorPatch() {
+    SemverTagIndex branchTags =
+        SemverTagIndex.of(Arrays.asList("6.3.9-2.0.0", "6.4.0-1.0.0", "6.4.0-1.0.1"));
+
+    assertTrue(branchTags.hasVersionAbove(SemanticVersion.parse("6.4.0-1.0.0")));
+    assertFalse(branchTags.hasVersionAbove(SemanticVersion.parse("6.4.0-1.0.1")));
+    assertFalse(branchTags.hasVersionAbove(SemanticVersion.parse("6.4.0-1.0.1+rpm")));
+  }
+
+  @Test
+  public void versionAboveWithPartsThatDoNotFitInAKey() {
+    SemverTagIndex largeTags = SemverTagIndex.of(Arrays.asList("1.0.0", "3000000.0.0"));
+
+    assertTrue(largeTags.hasVersionAbove(SemanticVersion.parse("2.0.0")));
+    assertTrue(largeTags.hasVersionAbove(SemanticVersion.parse("0.0.2200000")));
+    assertFalse(largeTags.hasVersionAbove(SemanticVersion.parse("3000000.0.0")));
+    assertFalse(largeTags.hasVersionAbove(SemanticVersion.parse("3000000.0.1")));
+  }
+
+  @Test
+  public void minorLine() {
+    assertEquals(Arrays.asList("1.2.0", "1.2.1", "1.2.1+build"), tagIndex.getTagsInMinorLine(1, 2));
+    assertTrue(tagIndex.getTagsInMinorLine(3, 0).isEmpty());
+  }
+
+  @Test
+  public void containsTag() {
+    assertTrue(tagIndex.contains("1.2.1+build"));
+    assertTrue(tagIndex.contains("build-42"));
+    assertFalse(tagIndex.contains("1.2.2"));
+    assertEquals(8, tagIndex.size());
+  }
+
+  @Test
+  public void findTags() {
+    assertEquals(Arrays.asList("1.2.1", "1.2.1+build"), tagIndex.findTags("1.2.1"));
+    assertEquals(Collections.singletonList("build-42"), tagIndex.findTags("-42"));
+  }
+
+  @Test
+  public void packedKey() {
+    assertEquals("1.2.3", SemverTagIndex.toVersion(SemverTagIndex.toKey("1.2.3-SNAPSHOT")));
+    assertEquals(SemverTagIndex.NO_VERSION, SemverTagIndex.toKey("1.2"));
+    assertEquals(SemverTagIndex.NO_VERSION, SemverTagIndex.toKey("1.2.x"));
+    assertTrue(SemverTagIndex.toKey("1.10.0") > SemverTagIndex.toKey("1.9.99"));
+  }
+}
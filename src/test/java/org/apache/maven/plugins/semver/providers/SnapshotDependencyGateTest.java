@@ -0,0 +1,107 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static org.apache.maven.plugins.semver.providers.ConversionCircuitBreaker.readProperties;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SnapshotDependencyGateTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path baseDir;
+  private SnapshotDependencyGate gate;
+
+  @Before
+  public void setUp() throws IOException {
+    baseDir = folder.newFolder("semver").toPath();
+    gate = new SnapshotDependencyGate(baseDir);
+  }
+
+  @Test
+  public void allSnapshotsOutsideTheReactorAreReported() throws IOException {
+    MavenProject lib = project("lib");
+    MavenProject app = project("app");
+    app.getDependencies().add(dependency("lib", "1.0.0-SNAPSHOT"));
+    app.getDependencies().add(dependency("external", "2.0.0-SNAPSHOT"));
+    app.getDependencies().add(dependency("released", "2.0.0"));
+    Plugin plugin = new Plugin();
+    plugin.setGroupId("org.example");
+    plugin.setArtifactId("tool-plugin");
+    plugin.setVersion("3.0.0-20201010.101010-1");
+    app.getBuild().addPlugin(plugin);
+
+    assertEquals(
+        Arrays.asList(
+            "org.example:app -> dependency org.example:external:2.0.0-SNAPSHOT",
+            "org.example:app -> plugin org.example:tool-plugin:3.0.0-20201010.101010-1"),
+        gate.findSnapshots(Arrays.asList(lib, app)));
+  }
+
+  @Test
+  public void cleanModuleIsRememberedByItsCoordinates() throws IOException {
+    MavenProject app = project("app");
+    app.getDependencies().add(dependency("released", "2.0.0"));
+    List<MavenProject> reactor = Collections.singletonList(app);
+    assertTrue(gate.findSnapshots(reactor).isEmpty());
+    assertTrue(gate.findSnapshots(reactor).isEmpty());
+
+    Properties cache = readProperties(baseDir.resolve("snapshot-gate.properties"));
+    assertEquals(Collections.singleton("org.example:app"), new HashSet<>(cache.values()));
+  }
+
+  @Test
+  public void snapshotAddedWithoutAPomChangeIsReported() throws IOException {
+    MavenProject app = project("app");
+    List<MavenProject> reactor = Collections.singletonList(app);
+    assertTrue(gate.findSnapshots(reactor).isEmpty());
+
+    app.getDependencies().add(dependency("external", "2.0.0-SNAPSHOT"));
+    assertEquals(
+        Collections.singletonList(
+            "org.example:app -> dependency org.example:external:2.0.0-SNAPSHOT"),
+        gate.findSnapshots(reactor));
+  }
+
+  @Test
+  public void snapshotThatLeftTheReactorIsReported() throws IOException {
+    MavenProject lib = project("lib");
+    MavenProject app = project("app");
+    app.getDependencies().add(dependency("lib", "1.0.0-SNAPSHOT"));
+    assertTrue(gate.findSnapshots(Arrays.asList(lib, app)).isEmpty());
+
+    assertEquals(1, gate.findSnapshots(Collections.singletonList(app)).size());
+  }
+
+  private MavenProject project(String artifactId) {
+    Model model = new Model();
+    model.setGroupId("org.example");
+    model.setArtifactId(artifactId);
+    model.setVersion("1.0.0-SNAPSHOT");
+    model.setBuild(new Build());
+    return new MavenProject(model);
+  }
+
+  private static Dependency dependency(String artifactId, String version) {
+    Dependency dependency = new Dependency();
+    dependency.setGroupId("org.example");
+    dependency.setArtifactId(artifactId);
+    dependency.setVersion(version);
+    return dependency;
+  }
+}
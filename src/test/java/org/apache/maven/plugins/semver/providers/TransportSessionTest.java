@@ -0,0 +1,188 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.Collections;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.transport.ReceivePack;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.RemoteRefUpdate;
+import org.eclipse.jgit.transport.RemoteSession;
+import org.eclipse.jgit.transport.SshSessionFactory;
+import org.eclipse.jgit.transport.TagOpt;
+import org.eclipse.jgit.transport.URIish;
+import org.eclipse.jgit.transport.UploadPack;
+import org.eclipse.jgit.util.FS;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TransportSessionTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void oneTransportForAllOperations() throws Exception {
+    File remoteDir = folder.newFolder("remote.git");
+    try (Git remote = Git.init().setBare(true).setDirectory(remoteDir).call();
+        Git local =
+            Git.cloneRepository()
+                .setURI(remoteDir.toURI().toString())
+                .setDirectory(folder.newFolder("local"))
+                .call();
+        TransportSession session =
+            new TransportSession(local.getRepository(), "origin", null)) {
+      local.commit().setAllowEmpty(true).setMessage("initial").call();
+      local.tag().setName("1.0.0").call();
+
+      assertTrue(session.listRemote().isEmpty());
+      RefSpec tag = new RefSpec("refs/tags/1.0.0:refs/tags/1.0.0");
+      RemoteRefUpdate.Status status =
+          session
+              .push(Collections.singletonList(tag), false)
+              .getRemoteUpdate("refs/tags/1.0.0")
+              .getStatus();
+      session.fetch(null, TagOpt.AUTO_FOLLOW);
+
+      assertEquals(RemoteRefUpdate.Status.OK, status);
+      assertTrue(session.listRemote().containsKey("refs/tags/1.0.0"));
+      assertEquals(1, session.getTransportsOpened());
+      assertEquals(4, session.getOperations());
+      assertEquals(0, session.getHandshakes());
+      assertEquals(0, session.getCredentialRequests());
+      assertTrue(remote.getRepository().getTags().containsKey("1.0.0"));
+    }
+  }
+
+  @Test
+  public void oneSshHandshakeForAllOperations() throws Exception {
+    File remoteDir = folder.newFolder("remote.git");
+    SshSessionFactory previous = SshSessionFactory.getInstance();
+    try (Git remote = Git.init().setBare(true).setDirectory(remoteDir).call();
+        Git local = Git.init().setDirectory(folder.newFolder("local")).call()) {
+      local.commit().setAllowEmpty(true).setMessage("initial").call();
+      local.tag().setName("1.0.0").call();
+      local.remoteAdd().setName("origin").setUri(new URIish("ssh://localhost/remote.git")).call();
+      InProcessSshSessionFactory sshSessions = new InProcessSshSessionFactory(remote);
+      SshSessionFactory.setInstance(sshSessions);
+
+      try (TransportSession session =
+          new TransportSession(local.getRepository(), "origin", null)) {
+        assertTrue(session.listRemote().isEmpty());
+        RefSpec tag = new RefSpec("refs/tags/1.0.0:refs/tags/1.0.0");
+        session.push(Collections.singletonList(tag), false);
+        session.fetch(null, TagOpt.AUTO_FOLLOW);
+        assertTrue(session.listRemote().containsKey("refs/tags/1.0.0"));
+
+        assertEquals(1, sshSessions.sessions);
+        assertEquals(4, sshSessions.channels);
+        assertEquals(4, session.getOperations());
+        assertEquals(1, session.getHandshakes());
+        assertTrue(session.getHandshakeMillisSaved() >= 3 * session.getHandshakeMillis());
+      }
+    } finally {
+      SshSessionFactory.setInstance(previous);
+    }
+  }
+
+  /** Serves the remote in-process, each exec is a channel of the one SSH-session. */
+  private static final class InProcessSshSessionFactory extends SshSessionFactory {
+
+    private final Git remote;
+    private int sessions = 0;
+    private int channels = 0;
+
+    private InProcessSshSessionFactory(Git remote) {
+      this.remote = remote;
+    }
+
+    @Override
+    public RemoteSession getSession(
+        URIish uri, CredentialsProvider credentials, FS fs, int timeout) {
+      sessions++;
+      return new RemoteSession() {
+        @Override
+        public Process exec(String command, int timeout) throws IOException {
+          channels++;
+          return new InProcessChannel(remote.getRepository(), command);
+        }
+
+        @Override
+        public void disconnect() {}
+      };
+    }
+
+    @Override
+    public String getType() {
+      return "in-process";
+    }
+  }
+
+  /** Runs upload-pack or receive-pack on piped streams. */
+  private static final class InProcessChannel extends Process {
+
+    private final PipedOutputStream stdin = new PipedOutputStream();
+    private final PipedInputStream stdout = new PipedInputStream(65536);
+    private final Thread server;
+
+    private InProcessChannel(Repository repository, String command) throws IOException {
+      InputStream serverIn = new PipedInputStream(stdin, 65536);
+      OutputStream serverOut = new PipedOutputStream(stdout);
+      server =
+          new Thread(
+              () -> {
+                try (InputStream in = serverIn;
+                    OutputStream out = serverOut) {
+                  if (command.startsWith("git-receive-pack")) {
+                    new ReceivePack(repository).receive(in, out, null);
+                  } else {
+                    new UploadPack(repository).upload(in, out, null);
+                  }
+                } catch (IOException err) {
+                  // the client hung up
+                }
+              });
+      server.start();
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+      return stdin;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+      return stdout;
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+      return new ByteArrayInputStream(new byte[0]);
+    }
+
+    @Override
+    public int waitFor() throws InterruptedException {
+      server.join();
+      return 0;
+    }
+
+    @Override
+    public int exitValue() {
+      return 0;
+    }
+
+    @Override
+    public void destroy() {
+      server.interrupt();
+    }
+  }
+}
@@ -3,28 +3,20 @@ package org.apache.maven.plugins.semver.providers;
 import static org.apache.maven.plugins.semver.runmodes.RunMode.RUN_MODE.*;
 import static org.junit.Assert.assertEquals;
 
-import java.util.EnumMap;
 import java.util.Map;
 import org.apache.maven.plugins.semver.configuration.SemverConfiguration;
 import org.apache.maven.plugins.semver.providers.VersionProvider.FINAL_VERSION;
-import org.apache.maven.plugins.semver.providers.VersionProvider.RAW_VERSION;
 import org.apache.maven.plugins.semver.runmodes.RunMode;
 import org.junit.Before;
 import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.mockito.Mock;
-import org.mockito.junit.MockitoJUnitRunner;
 
-@RunWith(MockitoJUnitRunner.class)
 public class VersionProviderImplTest {
 
-  @Mock private RepositoryProvider repositoryProvider;
-
   private VersionProvider versionProvider;
 
   @Before
   public void setUp() {
-    versionProvider = new VersionProviderImpl(repositoryProvider);
+    versionProvider = new VersionProviderImpl();
   }
 
   private SemverConfiguration getConfigurationRelease() {
@@ -62,93 +54,66 @@ public class VersionProviderImplTest {
 
   @Test
   public void createReleaseTest() {
-    EnumMap<RAW_VERSION, String> rawVersions = new EnumMap<>(RAW_VERSION.class);
-    rawVersions.put(RAW_VERSION.DEVELOPMENT, "1.0.1-SNAPSHOT");
-    rawVersions.put(RAW_VERSION.RELEASE, "1.0.0");
-    rawVersions.put(RAW_VERSION.PATCH, "0");
-    rawVersions.put(RAW_VERSION.MINOR, "0");
-    rawVersions.put(RAW_VERSION.MAJOR, "1");
+    SemanticVersion version = SemanticVersion.of(1, 0, 0);
 
-    Map<FINAL_VERSION, String> finalVersions =
-        versionProvider.determineReleaseVersions(rawVersions);
+    Map<FINAL_VERSION, String> finalVersions = versionProvider.determineReleaseVersions(version);
     assertEquals("1.0.0", finalVersions.get(FINAL_VERSION.RELEASE));
-    assertEquals("1.0.1-SNAPSHOT", finalVersions.get(FINAL_VERSION.DEVELOPMENT));
+    assertEquals("1.0.0-SNAPSHOT", finalVersions.get(FINAL_VERSION.DEVELOPMENT));
     assertEquals("1.0.0", finalVersions.get(FINAL_VERSION.SCM));
   }
 
   @Test
   public void createReleaseBranchTest() {
-    EnumMap<RAW_VERSION, String> rawVersions = new EnumMap<>(RAW_VERSION.class);
-    rawVersions.put(RAW_VERSION.DEVELOPMENT, "1.0.1-SNAPSHOT");
-    rawVersions.put(RAW_VERSION.RELEASE, "1.0.0");
-    rawVersions.put(RAW_VERSION.PATCH, "0");
-    rawVersions.put(RAW_VERSION.MINOR, "0");
-    rawVersions.put(RAW_VERSION.MAJOR, "1");
+    SemanticVersion version = SemanticVersion.of(1, 0, 0);
 
     Map<FINAL_VERSION, String> finalVersions =
         versionProvider.determineReleaseBranchVersions(
-            rawVersions,
+            version,
             getConfigurationReleaseBranch().getRunMode(),
             getConfigurationReleaseBranch().getMetaData(),
             getConfigurationReleaseBranch().getBranchVersion());
     assertEquals("6.4.0-1.0.0", finalVersions.get(FINAL_VERSION.RELEASE));
-    assertEquals("1.0.1-SNAPSHOT", finalVersions.get(FINAL_VERSION.DEVELOPMENT));
+    assertEquals("1.0.0-SNAPSHOT", finalVersions.get(FINAL_VERSION.DEVELOPMENT));
     assertEquals("6.4.0-1.0.0", finalVersions.get(FINAL_VERSION.SCM));
   }
 
   @Test
   public void createReleaseBranchRpmTest() {
-    EnumMap<RAW_VERSION, String> rawVersions = new EnumMap<>(RAW_VERSION.class);
-    rawVersions.put(RAW_VERSION.DEVELOPMENT, "1.0.1-SNAPSHOT");
-    rawVersions.put(RAW_VERSION.RELEASE, "1.0.0");
-    rawVersions.put(RAW_VERSION.PATCH, "0");
-    rawVersions.put(RAW_VERSION.MINOR, "0");
-    rawVersions.put(RAW_VERSION.MAJOR, "1");
+    SemanticVersion version = SemanticVersion.of(1, 0, 0);
 
     Map<FINAL_VERSION, String> finalVersions =
         versionProvider.determineReleaseBranchVersions(
-            rawVersions,
+            version,
             getConfigurationReleaseBranchRpm().getRunMode(),
             getConfigurationReleaseBranchRpm().getMetaData(),
             getConfigurationReleaseBranchRpm().getBranchVersion());
     assertEquals("6.4.0-001000000", finalVersions.get(FINAL_VERSION.RELEASE));
-    assertEquals("1.0.1-SNAPSHOT", finalVersions.get(FINAL_VERSION.DEVELOPMENT));
+    assertEquals("1.0.0-SNAPSHOT", finalVersions.get(FINAL_VERSION.DEVELOPMENT));
     assertEquals("6.4.0-001000000+1.0.0", finalVersions.get(FINAL_VERSION.SCM));
   }
 
   @Test
   public void createNativeTest() {
-    EnumMap<RAW_VERSION, String> rawVersions = new EnumMap<>(RAW_VERSION.class);
-    rawVersions.put(RAW_VERSION.DEVELOPMENT, "1.0.1-SNAPSHOT");
-    rawVersions.put(RAW_VERSION.RELEASE, "1.0.0");
-    rawVersions.put(RAW_VERSION.PATCH, "0");
-    rawVersions.put(RAW_VERSION.MINOR, "0");
-    rawVersions.put(RAW_VERSION.MAJOR, "1");
+    SemanticVersion version = SemanticVersion.of(1, 0, 0);
 
-    Map<FINAL_VERSION, String> finalVersions =
-        versionProvider.determineReleaseVersions(rawVersions);
+    Map<FINAL_VERSION, String> finalVersions = versionProvider.determineReleaseVersions(version);
     assertEquals("1.0.0", finalVersions.get(FINAL_VERSION.RELEASE));
-    assertEquals("1.0.1-SNAPSHOT", finalVersions.get(FINAL_VERSION.DEVELOPMENT));
+    assertEquals("1.0.0-SNAPSHOT", finalVersions.get(FINAL_VERSION.DEVELOPMENT));
     assertEquals("1.0.0", finalVersions.get(FINAL_VERSION.SCM));
   }
 
   @Test
   public void createNativeBranchTest() {
-    EnumMap<RAW_VERSION, String> rawVersions = new EnumMap<>(RAW_VERSION.class);
-    rawVersions.put(RAW_VERSION.DEVELOPMENT, "1.0.1-SNAPSHOT");
-    rawVersions.put(RAW_VERSION.RELEASE, "1.0.0");
-    rawVersions.put(RAW_VERSION.PATCH, "0");
-    rawVersions.put(RAW_VERSION.MINOR, "0");
-    rawVersions.put(RAW_VERSION.MAJOR, "1");
+    SemanticVersion version = SemanticVersion.of(1, 0, 0);
 
     Map<FINAL_VERSION, String> finalVersions =
         versionProvider.determineReleaseBranchVersions(
-            rawVersions,
+            version,
             getConfigurationNativeBranch().getRunMode(),
             getConfigurationNativeBranch().getMetaData(),
             getConfigurationNativeBranch().getBranchVersion());
     assertEquals("6.4.0-1.0.0", finalVersions.get(FINAL_VERSION.RELEASE));
-    assertEquals("1.0.1-SNAPSHOT", finalVersions.get(FINAL_VERSION.DEVELOPMENT));
+    assertEquals("1.0.0-SNAPSHOT", finalVersions.get(FINAL_VERSION.DEVELOPMENT));
     assertEquals("6.4.0-1.0.0", finalVersions.get(FINAL_VERSION.SCM));
   }
 }
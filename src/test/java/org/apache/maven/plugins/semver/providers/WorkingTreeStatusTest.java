@@ -0,0 +1,96 @@
+package org.apache.maven.plugins.semver.providers;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.jgit.api.Git;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WorkingTreeStatusTest {
+
+  private static final List<String> POMS = Collections.singletonList("pom.xml");
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private Git git;
+  private File workTree;
+
+  @Before
+  public void setUp() throws Exception {
+    workTree = folder.newFolder("work");
+    git = Git.init().setDirectory(workTree).call();
+    write(".gitignore", "target/\n");
+    write("pom.xml", "<project/>");
+    write("module-a/pom.xml", "<project/>");
+    write("module-a/src/App.java", "class App {}");
+    write("module-b/pom.xml", "<project/>");
+    git.add().addFilepattern(".").call();
+    git.commit().setMessage("initial").call();
+  }
+
+  @After
+  public void tearDown() {
+    git.close();
+  }
+
+  @Test
+  public void cleanTree() throws Exception {
+    write("target/classes/App.class", "ignored");
+
+    WorkingTreeStatus status = WorkingTreeStatus.check(git.getRepository(), POMS);
+
+    assertTrue(status.isClean());
+    assertEquals(3, status.getEntriesChecked());
+  }
+
+  @Test
+  public void changedPomIsFound() throws Exception {
+    write("module-b/pom.xml", "<project><version>1</version></project>");
+
+    WorkingTreeStatus status = WorkingTreeStatus.check(git.getRepository(), POMS);
+
+    assertFalse(status.isClean());
+    assertEquals("module-b/pom.xml", status.getFirstChange());
+  }
+
+  @Test
+  public void onlyCheckedPathsAreConsidered() throws Exception {
+    write("module-a/src/App.java", "class App { int changed; }");
+    write("module-a/src/New.java", "class New {}");
+
+    assertTrue(WorkingTreeStatus.check(git.getRepository(), POMS).isClean());
+    assertFalse(
+        WorkingTreeStatus.check(git.getRepository(), Arrays.asList("pom.xml", "module-a/src"))
+            .isClean());
+    assertFalse(
+        WorkingTreeStatus.check(
+                git.getRepository(), Collections.singletonList(WorkingTreeStatus.ALL_PATHS))
+            .isClean());
+  }
+
+  @Test
+  public void stagedAndUntrackedPomsAreFound() throws Exception {
+    write("module-c/pom.xml", "<project/>");
+    assertEquals(
+        "module-c/pom.xml", WorkingTreeStatus.check(git.getRepository(), POMS).getFirstChange());
+
+    git.add().addFilepattern("module-c/pom.xml").call();
+    assertEquals(
+        "module-c/pom.xml", WorkingTreeStatus.check(git.getRepository(), POMS).getFirstChange());
+  }
+
+  private void write(String path, String content) throws Exception {
+    File file = new File(workTree, path);
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+}